@@ -0,0 +1,256 @@
+import dao.OverflowPolicy;
+import datasource.MariaDbConnection;
+import model.core.Country;
+import model.simulation.EnsembleResult;
+import model.simulation.EnsembleRunner;
+import model.simulation.ParameterSweep;
+import model.simulation.PopulationMode;
+import model.simulation.Scenario;
+import model.simulation.ScenarioLoader;
+import model.simulation.SimulationConfig;
+import model.simulation.SimulationContext;
+import model.simulation.SimulationParameters;
+import model.simulation.Simulator;
+import model.simulation.SweepParameter;
+import model.simulation.SweepPoint;
+import model.simulation.SweepRunner;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a simulation without the JavaFX user interface and reports its throughput.
+ * <p>
+ * Usage: {@code HeadlessMain [--scenario <file>] [--days <n>] [--segment-size <n>] [--archive-time <n>]
+ * [--delay <ms>] [--parallelism <threads>] [--seed <seed>] [--fused] [--cohorts | --aggregate] [--progress]
+ * [--no-metrics | --metrics-batch-days <n> [--metrics-queue <days>] [--metrics-overflow block|drop-oldest|spill]]
+ * [--runs <n> [--threads <n>] [--sample-interval <days>] [--bands <file>]]
+ * [--grid <parameter>=<v1>,<v2>,... | --lhs <parameter>=<min>:<max> [--samples <n>]]
+ * [--threads <n>] [--divergence-factor <f>] [--summary <file>]}
+ * <p>
+ * Without {@code --scenario} the resources and countries are loaded from the database.
+ * The simulation runs without a delay between days unless {@code --delay} is given, and without printing each
+ * completed day unless {@code --progress} is given, so that the reported throughput is not that of the output.
+ * The metrics of each day are written in one transaction, or of several days with {@code --metrics-batch-days}.
+ * They are written on a background thread, and when {@code --metrics-queue} days are waiting the simulation
+ * waits, the oldest day is dropped or the day is spilled to disk, as chosen with {@code --metrics-overflow}.
+ * With {@code --cohorts} segments with the same state are simulated together as weighted cohorts sharing their
+ * random draws, and with {@code --aggregate} the population is simulated as a happiness distribution instead of
+ * segment by segment. Both approximate the per-segment model.
+ * With {@code --runs} an ensemble of differently seeded runs is executed without saving metrics,
+ * and the confidence bands of the countries are written to the bands file, or printed if none is given.
+ * Without {@code --sample-interval} about {@value #DEFAULT_SAMPLED_DAYS} days of the run are sampled.
+ * With {@code --grid} or {@code --lhs}, which can be repeated for several parameters, a parameter sweep is run
+ * over a full grid or a Latin hypercube sample. One summary row per run is written to the summary file,
+ * or printed if none is given. The parameter names are the keys of {@link SweepParameter}.
+ */
+public class HeadlessMain {
+    private static final int DEFAULT_SAMPLED_DAYS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        Path scenarioFile = null;
+        boolean metricsEnabled = true;
+        boolean progressLogged = false;
+        int metricsBatchDays = 1;
+        int metricsQueueCapacity = 64;
+        OverflowPolicy metricsOverflowPolicy = OverflowPolicy.BLOCK;
+        int runs = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int sampleInterval = 0;
+        Path bandsFile = null;
+        Map<SweepParameter, double[]> gridValues = new EnumMap<>(SweepParameter.class);
+        Map<SweepParameter, double[]> hypercubeRanges = new EnumMap<>(SweepParameter.class);
+        int samples = 100;
+        double divergenceFactor = 10;
+        Path summaryFile = null;
+        SimulationConfig.setSimulationDelay(0);
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--scenario" -> scenarioFile = Path.of(args[++i]);
+                case "--days" -> SimulationConfig.setSimulationTime(Integer.parseInt(args[++i]));
+                case "--segment-size" -> SimulationConfig.setPopulationSegmentSize(Integer.parseInt(args[++i]));
+                case "--archive-time" -> SimulationConfig.setSupplyArchiveTime(Integer.parseInt(args[++i]));
+                case "--delay" -> SimulationConfig.setSimulationDelay(Integer.parseInt(args[++i]));
+                case "--parallelism" -> SimulationConfig.setParallelism(Integer.parseInt(args[++i]));
+                case "--seed" -> SimulationConfig.setSeed(Long.parseLong(args[++i]));
+                case "--fused" -> SimulationConfig.setFusedTick(true);
+                case "--cohorts" -> SimulationConfig.setPopulationMode(PopulationMode.COHORTS);
+                case "--aggregate" -> SimulationConfig.setPopulationMode(PopulationMode.AGGREGATE);
+                case "--progress" -> progressLogged = true;
+                case "--no-metrics" -> metricsEnabled = false;
+                case "--metrics-batch-days" -> metricsBatchDays = Integer.parseInt(args[++i]);
+                case "--metrics-queue" -> metricsQueueCapacity = Integer.parseInt(args[++i]);
+                case "--metrics-overflow" -> metricsOverflowPolicy = parseOverflowPolicy(args[++i]);
+                case "--runs" -> runs = Integer.parseInt(args[++i]);
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--sample-interval" -> sampleInterval = Integer.parseInt(args[++i]);
+                case "--bands" -> bandsFile = Path.of(args[++i]);
+                case "--grid" -> putSweepValues(gridValues, args[++i], ",");
+                case "--lhs" -> putSweepValues(hypercubeRanges, args[++i], ":");
+                case "--samples" -> samples = Integer.parseInt(args[++i]);
+                case "--divergence-factor" -> divergenceFactor = Double.parseDouble(args[++i]);
+                case "--summary" -> summaryFile = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        if (!gridValues.isEmpty() && !hypercubeRanges.isEmpty()) {
+            throw new IllegalArgumentException("A sweep is either a grid or a Latin hypercube, not both.");
+        }
+        boolean sweep = !gridValues.isEmpty() || !hypercubeRanges.isEmpty();
+        if (runs > 1 || sweep) {
+            metricsEnabled = false;
+        }
+        boolean databaseUsed = scenarioFile == null || metricsEnabled;
+        if (databaseUsed) {
+            try (Connection ignored = MariaDbConnection.getConnection()) {
+                MariaDbConnection.executeSqlFile("scripts/simulationDb.sql");
+                MariaDbConnection.executeSqlFile("scripts/simulationMetrics.sql");
+            }
+        }
+
+        Scenario scenario = scenarioFile != null ? ScenarioLoader.fromFile(scenarioFile) : ScenarioLoader.fromDatabase();
+        if (sweep) {
+            List<SweepPoint> points = gridValues.isEmpty()
+                    ? ParameterSweep.latinHypercube(hypercubeRanges, samples, SimulationConfig.getSeed())
+                    : ParameterSweep.grid(gridValues);
+            runSweep(scenario, points, threads, divergenceFactor, summaryFile);
+            if (databaseUsed) {
+                MariaDbConnection.terminate();
+            }
+            return;
+        }
+        if (runs > 1) {
+            runEnsemble(scenario, runs, threads, sampleInterval, bandsFile);
+            if (databaseUsed) {
+                MariaDbConnection.terminate();
+            }
+            return;
+        }
+
+        SimulationContext context = scenario.createContext(SimulationParameters.fromConfig());
+        List<Country> countries = scenario.createCountries(context);
+        Simulator simulator = new Simulator(context, null, scenario.resources(), countries, metricsEnabled);
+        simulator.setProgressLogged(progressLogged);
+        simulator.setMetricsBatchDays(metricsBatchDays);
+        simulator.setMetricsQueue(metricsQueueCapacity, metricsOverflowPolicy);
+
+        long startTime = System.nanoTime();
+        simulator.runSimulation();
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+
+        int days = context.getParameters().simulationTime();
+        System.out.printf("%nSimulated %d days for %d countries in %.3f s (%.1f days/sec)%n",
+                days, countries.size(), elapsedSeconds, days / elapsedSeconds);
+
+        if (databaseUsed) {
+            MariaDbConnection.terminate();
+        }
+    }
+
+    /**
+     * Runs an ensemble of the scenario and writes its confidence bands.
+     * @param scenario the scenario to run
+     * @param runs the number of runs
+     * @param threads the number of runs executed at the same time
+     * @param sampleInterval the number of days between recorded days, or 0 to sample about
+     *                       {@value #DEFAULT_SAMPLED_DAYS} days
+     * @param bandsFile the file to write the bands to, or null to print them
+     */
+    private static void runEnsemble(Scenario scenario, int runs, int threads, int sampleInterval, Path bandsFile)
+            throws Exception {
+        SimulationParameters parameters = SimulationParameters.fromConfig();
+        if (sampleInterval == 0) {
+            sampleInterval = Math.max(1, parameters.simulationTime() / DEFAULT_SAMPLED_DAYS);
+        }
+        EnsembleRunner ensembleRunner = new EnsembleRunner(scenario, parameters, runs, threads, sampleInterval);
+
+        long startTime = System.nanoTime();
+        EnsembleResult result = ensembleRunner.run();
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+
+        if (bandsFile != null) {
+            try (Writer writer = Files.newBufferedWriter(bandsFile)) {
+                result.writeCsv(writer);
+            }
+        } else {
+            Writer writer = new PrintWriter(System.out);
+            result.writeCsv(writer);
+            writer.flush();
+        }
+
+        System.out.printf("%nSimulated %d runs of %d days for %d countries in %.3f s (%.1f run-days/sec)%n",
+                runs, parameters.simulationTime(), scenario.countries().size(), elapsedSeconds,
+                (double) runs * parameters.simulationTime() / elapsedSeconds);
+    }
+
+    /**
+     * Runs a parameter sweep of the scenario and writes its summary.
+     * @param scenario the scenario to run
+     * @param points the points of the sweep
+     * @param threads the number of runs executed at the same time
+     * @param divergenceFactor the factor by which a metric may change before a run is stopped
+     * @param summaryFile the file to write the summary to, or null to print it
+     */
+    private static void runSweep(Scenario scenario, List<SweepPoint> points, int threads, double divergenceFactor,
+                                 Path summaryFile) throws Exception {
+        SimulationParameters parameters = SimulationParameters.fromConfig();
+        SweepRunner sweepRunner = new SweepRunner(scenario, parameters, points, threads, divergenceFactor);
+
+        long startTime = System.nanoTime();
+        if (summaryFile != null) {
+            try (Writer writer = Files.newBufferedWriter(summaryFile)) {
+                sweepRunner.run(writer);
+            }
+        } else {
+            sweepRunner.run(new PrintWriter(System.out));
+        }
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+
+        System.out.printf("%nSwept %d points of up to %d days for %d countries in %.3f s (%.1f runs/sec)%n",
+                points.size(), parameters.simulationTime(), scenario.countries().size(), elapsedSeconds,
+                points.size() / elapsedSeconds);
+    }
+
+    /**
+     * Parses the values of a swept parameter from an argument of the form {@code <parameter>=<values>}.
+     * @param sweepValues the map to put the values into
+     * @param argument the argument to parse
+     * @param separator the separator between the values
+     * @throws IllegalArgumentException if the argument is malformed or names an unknown parameter
+     */
+    private static void putSweepValues(Map<SweepParameter, double[]> sweepValues, String argument, String separator) {
+        int equalsIndex = argument.indexOf('=');
+        if (equalsIndex < 0) {
+            throw new IllegalArgumentException("Expected <parameter>=<values>: " + argument);
+        }
+        SweepParameter parameter = SweepParameter.fromKey(argument.substring(0, equalsIndex));
+        double[] values = Arrays.stream(argument.substring(equalsIndex + 1).split(separator))
+                .mapToDouble(Double::parseDouble)
+                .toArray();
+        sweepValues.put(parameter, values);
+    }
+
+    /**
+     * Parses the overflow policy of the metrics queue.
+     * @param argument the argument to parse, one of {@code block}, {@code drop-oldest} and {@code spill}
+     * @return the parsed policy
+     * @throws IllegalArgumentException if the argument names an unknown policy
+     */
+    private static OverflowPolicy parseOverflowPolicy(String argument) {
+        return switch (argument) {
+            case "block" -> OverflowPolicy.BLOCK;
+            case "drop-oldest" -> OverflowPolicy.DROP_OLDEST;
+            case "spill" -> OverflowPolicy.SPILL_TO_DISK;
+            default -> throw new IllegalArgumentException("Unknown overflow policy: " + argument);
+        };
+    }
+}
@@ -22,7 +22,10 @@ import javafx.stage.Stage;
 import model.core.Country;
 import model.core.Resource;
 import model.core.ResourceNodeDTO;
+import model.core.ResourceRegistry;
 import model.simulation.SimulationConfig;
+import model.simulation.SimulationContext;
+import model.simulation.SimulationParameters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -193,7 +196,7 @@ public class SettingsViewController {
 		simulationDelayField.focusedProperty().addListener((observable, oldValue, newValue) -> {
 			if (!newValue) {
 				validateGeneralField(simulationDelayField, simulationDelayErrorLabel,
-				                     SimulationConfig.getSimulationDelay(), 1, "Simulation delay must be positive");
+				                     SimulationConfig.getSimulationDelay(), 0, "Simulation delay cannot be negative");
 			}
 		});
 		countrySupplySampleField.focusedProperty().addListener((observable, oldValue, newValue) -> {
@@ -1081,7 +1084,9 @@ public class SettingsViewController {
 		Parent root = fxmlLoader.load();
 
 		SimulationController simulationController = fxmlLoader.getController();
-		simulationController.initialize(resourceList, convertCountriesForSimulation());
+		SimulationContext context =
+				new SimulationContext(SimulationParameters.fromConfig(), new ResourceRegistry(resourceList));
+		simulationController.initialize(context, resourceList, convertCountriesForSimulation(context));
 
 		Scene scene = new Scene(root);
 		Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
@@ -1094,7 +1099,7 @@ public class SettingsViewController {
 		Platform.runLater(simulationController::beginSimulation);
 	}
 
-	private List<Country> convertCountriesForSimulation() {
+	private List<Country> convertCountriesForSimulation(SimulationContext context) {
 		List<Country> countries = new ArrayList<>();
 		countryList.forEach(country -> {
 			Map<Resource, Integer> starterResources = new HashMap<>();
@@ -1103,7 +1108,7 @@ public class SettingsViewController {
             Map<Resource, ResourceNodeDTO> ownedResources = countryResourceNodes.computeIfAbsent(country, k -> new HashMap<>());
             countries.add(
 					new Country(country.getName(), country.getMoney(), country.getPopulation(), starterResources,
-					            ownedResources));
+					            ownedResources, context));
 		});
 		return countries;
 	}
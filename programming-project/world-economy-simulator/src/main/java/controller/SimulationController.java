@@ -13,13 +13,15 @@ import javafx.scene.control.TextField;
 import model.core.Country;
 import model.core.Resource;
 import model.simulation.Clock;
-import model.simulation.SimulationConfig;
+import model.simulation.SimulationContext;
+import model.simulation.SimulationListener;
 import model.simulation.Simulator;
+import model.simulation.TickMode;
 
 import java.util.ArrayList;
 import java.util.List;
 
-public class SimulationController {
+public class SimulationController implements SimulationListener {
 	private Simulator simulator;
 
 	private CountryEntity selectedCountry;
@@ -41,10 +43,16 @@ public class SimulationController {
 	@FXML
 	private TextField daysTextField;
 	@FXML
+	private TextField stepTextField;
+	@FXML
+	private Label stepWarningLabel;
+	@FXML
 	private Label delayWarningLabel;
 	@FXML
 	private TextField delayTextField;
 	@FXML
+	private ComboBox<String> tickModeComboBox;
+	@FXML
 	private ComboBox<String> countryComboBox;
 	@FXML
 	private ComboBox<String> resourceComboBox;
@@ -59,14 +67,21 @@ public class SimulationController {
 	private void initialize() {
 		delayWarningLabel.setVisible(false);
 		delayWarningLabel.setManaged(false);
+		stepWarningLabel.setVisible(false);
+		stepWarningLabel.setManaged(false);
 	}
 
-	public void initialize(List<Resource> resources, List<Country> countries) {
+	public void initialize(SimulationContext context, List<Resource> resources, List<Country> countries) {
 		countryComboBox.getItems().addAll(countries.stream().map(Country::getName).toList());
 		resourceComboBox.getItems().addAll(resources.stream().map(Resource::name).toList());
 
 
-		this.simulator = new Simulator(this, resources, countries);
+		this.simulator = new Simulator(context, this, resources, countries);
+
+		for (TickMode tickMode : TickMode.values()) {
+			tickModeComboBox.getItems().add(tickMode.getDisplayName());
+		}
+		tickModeComboBox.setValue(context.getTickMode().getDisplayName());
 	}
 
 	public void beginSimulation() {
@@ -77,15 +92,28 @@ public class SimulationController {
 		simulationThread.start();
 	}
 
+	@Override
+	public void onDayCompleted(int day) {
+		updateData();
+	}
+
+	@Override
+	public void onSimulationEnded() {
+		endSimulation();
+	}
+
 	public void endSimulation() {
 		Platform.runLater(() -> informationLabel.setText("Simulation has ended."));
 	}
 
 	public synchronized void updateData() {
 		Platform.runLater(() -> {
-			int currentDay = Clock.getInstance().getTime();
+			Clock clock = simulator.getContext().getClock();
+			int currentDay = clock.getTime();
 			this.currentDay = currentDay;
 			daysTextField.setText(String.valueOf(currentDay));
+			// A step or run to a day pauses the clock once its last day is done
+			toggleSimulationButton.setText(clock.isPaused() || clock.hasReachedTarget() ? "Resume" : "Pause");
 		});
 
 		if (currentSeriesName == null) {
@@ -162,26 +190,62 @@ public class SimulationController {
 
 	@FXML
 	public void toggleSimulation() {
-		if (Clock.getInstance().isPaused()) {
-			Clock.getInstance().resume();
+		Clock clock = simulator.getContext().getClock();
+		if (clock.isPaused()) {
+			clock.resume();
 			toggleSimulationButton.setText("Pause");
 		} else {
-			Clock.getInstance().pause();
+			clock.pause();
 			toggleSimulationButton.setText("Resume");
 		}
 	}
 
+	@FXML
+	public void stepSimulation() {
+		try {
+			simulator.getContext().getClock().step(Integer.parseInt(stepTextField.getText()));
+			toggleSimulationButton.setText("Pause");
+			stepWarningLabel.setVisible(false);
+			stepWarningLabel.setManaged(false);
+		} catch (IllegalArgumentException e) {
+			stepWarningLabel.setVisible(true);
+			stepWarningLabel.setManaged(true);
+		}
+	}
+
+	@FXML
+	public void runSimulationUntil() {
+		try {
+			simulator.getContext().getClock().runUntil(Integer.parseInt(stepTextField.getText()));
+			toggleSimulationButton.setText("Pause");
+			stepWarningLabel.setVisible(false);
+			stepWarningLabel.setManaged(false);
+		} catch (IllegalArgumentException e) {
+			stepWarningLabel.setVisible(true);
+			stepWarningLabel.setManaged(true);
+		}
+	}
+
+	@FXML
+	public void updateTickMode() {
+		for (TickMode tickMode : TickMode.values()) {
+			if (tickMode.getDisplayName().equals(tickModeComboBox.getValue())) {
+				simulator.getContext().setTickMode(tickMode);
+			}
+		}
+	}
+
 	@FXML
 	public void updateDelay() {
 		try {
 			int newDelay = Integer.parseInt(delayTextField.getText());
-			SimulationConfig.setSimulationDelay(newDelay);
+			simulator.getContext().setSimulationDelay(newDelay);
 			delayWarningLabel.setVisible(false);
 			delayWarningLabel.setManaged(false);
 		} catch (IllegalArgumentException e) {
 			delayWarningLabel.setVisible(true);
 			delayWarningLabel.setManaged(true);
-			delayTextField.setText(String.valueOf(SimulationConfig.getSimulationDelay()));
+			delayTextField.setText(String.valueOf(simulator.getContext().getSimulationDelay()));
 		}
 	}
 
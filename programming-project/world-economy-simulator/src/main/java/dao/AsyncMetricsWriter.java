@@ -0,0 +1,415 @@
+package dao;
+
+import entity.CountryEntity;
+import entity.CountryMetricsEntity;
+import entity.ResourceEntity;
+import entity.ResourceMetricsEntity;
+import entity.ResourceNodeMetricsEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes the daily metrics of a simulation on a background thread, so that the simulation does not wait for the
+ * database. Each day is handed over as a {@link MetricsSnapshot} through a bounded queue, and the writer thread
+ * writes the days with a {@link MetricsBatchWriter}. When the queue is full, the configured {@link OverflowPolicy}
+ * decides whether the simulation waits, the oldest day is discarded or the day is spilled to disk.
+ * <p>
+ * Days are submitted from a single thread, the simulation thread. {@link #flush()} waits until every submitted day
+ * has been written, and {@link #close()} does the same before stopping the writer thread.
+ */
+public class AsyncMetricsWriter implements AutoCloseable {
+
+	/**
+	 * Marker queued by {@link #flush()}, the writer thread commits everything before it when it reaches it.
+	 */
+	private static final MetricsSnapshot FLUSH = new MetricsSnapshot(-1, List.of(), List.of(), List.of());
+
+	/**
+	 * Logger for logging debug and error messages.
+	 */
+	private static final Logger logger = LoggerFactory.getLogger(AsyncMetricsWriter.class);
+
+	private final MetricsBatchWriter batchWriter;
+	private final BlockingQueue<MetricsSnapshot> queue;
+	private final OverflowPolicy overflowPolicy;
+	private final Path spillFile;
+	private final Thread writerThread;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition flushed = lock.newCondition();
+	private final Object spillLock = new Object();
+	private long flushesRequested = 0;
+	private long flushesCompleted = 0;
+
+	private volatile boolean running = true;
+	private volatile long droppedDays = 0;
+	private volatile long spilledDays = 0;
+	private volatile long writtenDays = 0;
+
+	/**
+	 * Constructs a new AsyncMetricsWriter and starts its writer thread.
+	 *
+	 * @param batchWriter    The {@link MetricsBatchWriter} writing the days, used only by the writer thread.
+	 * @param capacity       The number of days the queue holds, must be positive.
+	 * @param overflowPolicy The {@link OverflowPolicy} applied when the queue is full.
+	 * @throws IllegalArgumentException If capacity is not positive.
+	 * @throws UncheckedIOException     If the spill file cannot be created.
+	 */
+	public AsyncMetricsWriter(MetricsBatchWriter batchWriter, int capacity, OverflowPolicy overflowPolicy) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Queue capacity must be positive");
+		}
+		this.batchWriter = batchWriter;
+		this.queue = new ArrayBlockingQueue<>(capacity);
+		this.overflowPolicy = overflowPolicy;
+
+		if (overflowPolicy == OverflowPolicy.SPILL_TO_DISK) {
+			try {
+				spillFile = Files.createTempFile("metrics-spill", ".csv");
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		} else {
+			spillFile = null;
+		}
+
+		writerThread = new Thread(this::run, "metrics-writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	/**
+	 * Hands the metrics of a day to the writer thread. Waits only if the queue is full and the policy is
+	 * {@link OverflowPolicy#BLOCK}.
+	 *
+	 * @param snapshot The {@link MetricsSnapshot} of the day.
+	 * @throws InterruptedException If the thread is interrupted while waiting for room in the queue.
+	 */
+	public void submit(MetricsSnapshot snapshot) throws InterruptedException {
+		if (queue.offer(snapshot)) {
+			return;
+		}
+
+		switch (overflowPolicy) {
+			case BLOCK -> queue.put(snapshot);
+			case DROP_OLDEST -> {
+				while (!queue.offer(snapshot)) {
+					if (queue.poll() != null) {
+						droppedDays++;
+					}
+				}
+			}
+			case SPILL_TO_DISK -> {
+				spill(snapshot);
+				spilledDays++;
+			}
+		}
+	}
+
+	/**
+	 * Waits until every day submitted so far has been written and committed. Must be called from the thread
+	 * submitting the days.
+	 *
+	 * @throws InterruptedException If the thread is interrupted while waiting.
+	 */
+	public void flush() throws InterruptedException {
+		long flush = requestFlush();
+		queue.put(FLUSH);
+
+		lock.lock();
+		try {
+			while (flushesCompleted < flush) {
+				flushed.await();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Gets the number of days discarded because the queue was full.
+	 *
+	 * @return The number of discarded days.
+	 */
+	public long getDroppedDays() {
+		return droppedDays;
+	}
+
+	/**
+	 * Gets the number of days spilled to disk because the queue was full.
+	 *
+	 * @return The number of spilled days.
+	 */
+	public long getSpilledDays() {
+		return spilledDays;
+	}
+
+	/**
+	 * Gets the number of days handed to the {@link MetricsBatchWriter} so far.
+	 *
+	 * @return The number of written days.
+	 */
+	public long getWrittenDays() {
+		return writtenDays;
+	}
+
+	/**
+	 * Writes all submitted days, stops the writer thread and closes the {@link MetricsBatchWriter}. An interrupt
+	 * does not cut this short, so that no submitted day is lost; the interrupt status is restored before returning.
+	 *
+	 * @throws SQLException If the batch writer cannot be closed.
+	 */
+	@Override
+	public void close() throws SQLException {
+		if (!running) {
+			return;
+		}
+
+		boolean interrupted = false;
+		long flush = requestFlush();
+		while (true) {
+			try {
+				queue.put(FLUSH);
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		lock.lock();
+		try {
+			while (flushesCompleted < flush) {
+				flushed.awaitUninterruptibly();
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		running = false;
+		writerThread.interrupt();
+		while (true) {
+			try {
+				writerThread.join();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		batchWriter.close();
+
+		if (spillFile != null) {
+			try {
+				Files.deleteIfExists(spillFile);
+			} catch (IOException e) {
+				logger.error("Error deleting metrics spill file", e);
+			}
+		}
+		logger.debug("Metrics writer closed, {} days written, {} dropped, {} spilled",
+				writtenDays, droppedDays, spilledDays);
+	}
+
+	/**
+	 * Numbers the next flush, which is complete once the writer thread has committed its {@link #FLUSH} marker.
+	 *
+	 * @return The number of the flush.
+	 */
+	private long requestFlush() {
+		lock.lock();
+		try {
+			return ++flushesRequested;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Takes the days from the queue and writes them until the writer is closed. Spilled days are written once the
+	 * queue is empty.
+	 */
+	private void run() {
+		while (running) {
+			MetricsSnapshot snapshot = queue.poll();
+			if (snapshot == null) {
+				if (replaySpill()) {
+					continue;
+				}
+				try {
+					snapshot = queue.take();
+				} catch (InterruptedException e) {
+					continue;
+				}
+			}
+
+			if (snapshot == FLUSH) {
+				replaySpill();
+				commit();
+			} else {
+				write(snapshot);
+			}
+		}
+	}
+
+	/**
+	 * Writes the rows of a day. Errors are logged and the day is discarded, so that the simulation continues.
+	 *
+	 * @param snapshot The {@link MetricsSnapshot} of the day.
+	 */
+	private void write(MetricsSnapshot snapshot) {
+		try {
+			for (CountryMetricsEntity countryMetrics : snapshot.countryMetrics()) {
+				batchWriter.add(countryMetrics);
+			}
+			for (ResourceMetricsEntity resourceMetrics : snapshot.resourceMetrics()) {
+				batchWriter.add(resourceMetrics);
+			}
+			for (ResourceNodeMetricsEntity resourceNodeMetrics : snapshot.resourceNodeMetrics()) {
+				batchWriter.add(resourceNodeMetrics);
+			}
+			batchWriter.endDay();
+			writtenDays++;
+		} catch (SQLException | RuntimeException e) {
+			logger.error("Error writing metrics of day " + snapshot.day(), e);
+		}
+	}
+
+	/**
+	 * Commits the written days and wakes up the threads waiting in {@link #flush()}.
+	 */
+	private void commit() {
+		try {
+			batchWriter.flush();
+		} catch (SQLException | RuntimeException e) {
+			logger.error("Error committing metrics", e);
+		}
+
+		lock.lock();
+		try {
+			flushesCompleted++;
+			flushed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Appends the rows of a day to the spill file. Only the ids of the countries and resources are kept.
+	 *
+	 * @param snapshot The {@link MetricsSnapshot} of the day.
+	 */
+	private void spill(MetricsSnapshot snapshot) {
+		synchronized (spillLock) {
+			try (BufferedWriter writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+					StandardOpenOption.APPEND)) {
+				for (CountryMetricsEntity m : snapshot.countryMetrics()) {
+					writer.write("C," + m.getDay() + "," + m.getCountry().getId() + "," + m.getPopulation() + ","
+							+ m.getMoney() + "," + m.getAverageHappiness() + "," + m.getIndividualBudget());
+					writer.newLine();
+				}
+				for (ResourceMetricsEntity m : snapshot.resourceMetrics()) {
+					writer.write("R," + m.getDay() + "," + m.getCountry().getId() + "," + m.getResource().getId()
+							+ "," + m.getQuantity() + "," + m.getValue());
+					writer.newLine();
+				}
+				for (ResourceNodeMetricsEntity m : snapshot.resourceNodeMetrics()) {
+					writer.write("N," + m.getDay() + "," + m.getCountry().getId() + "," + m.getResource().getId()
+							+ "," + m.getMaxCapacity() + "," + m.getProductionCost() + "," + m.getTier());
+					writer.newLine();
+				}
+				writer.write("D," + snapshot.day());
+				writer.newLine();
+			} catch (IOException e) {
+				logger.error("Error spilling metrics of day " + snapshot.day(), e);
+			}
+		}
+	}
+
+	/**
+	 * Writes the days in the spill file and empties it.
+	 *
+	 * @return Whether there were spilled days.
+	 */
+	private boolean replaySpill() {
+		if (spillFile == null) {
+			return false;
+		}
+
+		List<String> lines;
+		synchronized (spillLock) {
+			try {
+				lines = Files.readAllLines(spillFile, StandardCharsets.UTF_8);
+				if (lines.isEmpty()) {
+					return false;
+				}
+				Files.write(spillFile, new byte[0]);
+			} catch (IOException e) {
+				logger.error("Error reading metrics spill file", e);
+				return false;
+			}
+		}
+
+		for (String line : lines) {
+			String[] fields = line.split(",");
+			try {
+				switch (fields[0]) {
+					case "C" -> batchWriter.add(new CountryMetricsEntity(Integer.parseInt(fields[1]),
+							country(fields[2]), Long.parseLong(fields[3]), Double.parseDouble(fields[4]),
+							Double.parseDouble(fields[5]), Double.parseDouble(fields[6])));
+					case "R" -> batchWriter.add(new ResourceMetricsEntity(Integer.parseInt(fields[1]),
+							country(fields[2]), resource(fields[3]), Integer.parseInt(fields[4]),
+							Double.parseDouble(fields[5])));
+					case "N" -> batchWriter.add(new ResourceNodeMetricsEntity(Integer.parseInt(fields[1]),
+							country(fields[2]), resource(fields[3]), Integer.parseInt(fields[4]),
+							Double.parseDouble(fields[5]), Integer.parseInt(fields[6])));
+					case "D" -> {
+						batchWriter.endDay();
+						writtenDays++;
+					}
+					default -> throw new IllegalArgumentException("Unknown spill line: " + line);
+				}
+			} catch (SQLException | RuntimeException e) {
+				logger.error("Error writing spilled metrics", e);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Creates a {@link CountryEntity} holding only the id of a spilled row.
+	 *
+	 * @param id The id of the country.
+	 * @return The created {@link CountryEntity}.
+	 */
+	private static CountryEntity country(String id) {
+		CountryEntity country = new CountryEntity();
+		country.setId(Long.parseLong(id));
+		return country;
+	}
+
+	/**
+	 * Creates a {@link ResourceEntity} holding only the id of a spilled row.
+	 *
+	 * @param id The id of the resource.
+	 * @return The created {@link ResourceEntity}.
+	 */
+	private static ResourceEntity resource(String id) {
+		ResourceEntity resource = new ResourceEntity();
+		resource.setId(Long.parseLong(id));
+		return resource;
+	}
+}
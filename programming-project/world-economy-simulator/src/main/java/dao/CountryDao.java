@@ -1,5 +1,6 @@
 package dao;
 
+import datasource.MariaDbConnection;
 import entity.CountryEntity;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
@@ -28,27 +29,20 @@ public class CountryDao {
 	 * @param country The {@link CountryEntity} to be persisted or updated.
 	 */
 	public void persist(CountryEntity country) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
-		em.getTransaction().begin();
 		try {
-			CountryEntity existingCountry = findByName(country.getName());
-			if (existingCountry != null) {
-				// Update the existing country's fields
-				existingCountry.setMoney(country.getMoney());
-				existingCountry.setPopulation(country.getPopulation());
-				em.merge(existingCountry);
-			} else {
-				em.persist(country); // Insert new country
-			}
-			em.getTransaction().commit();
+			MariaDbConnection.runInTransaction(em -> {
+				CountryEntity existingCountry = findByName(country.getName());
+				if (existingCountry != null) {
+					// Update the existing country's fields
+					existingCountry.setMoney(country.getMoney());
+					existingCountry.setPopulation(country.getPopulation());
+				} else {
+					em.persist(country); // Insert new country
+				}
+			});
 		} catch (Exception e) {
-			em.getTransaction().rollback();
 			logger.error("Error persisting country: {}", country.getName(), e);
 			throw e;
-		} finally {
-			if (em.isOpen()) {
-				em.close();
-			}
 		}
 	}
 
@@ -59,20 +53,19 @@ public class CountryDao {
 	 * @return The {@link CountryEntity} with the given name, or {@code null} if not found.
 	 */
 	public CountryEntity findByName(String name) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
 		try {
-			return em.createQuery("SELECT c FROM CountryEntity c WHERE c.name = :name", CountryEntity.class)
-			         .setParameter("name", name).getSingleResult();
-		} catch (NoResultException e) {
-			logger.debug("Country not found: {}", name);
-			return null;
+			return MariaDbConnection.withEntityManager(em -> {
+				try {
+					return em.createQuery("SELECT c FROM CountryEntity c WHERE c.name = :name", CountryEntity.class)
+					         .setParameter("name", name).getSingleResult();
+				} catch (NoResultException e) {
+					logger.debug("Country not found: {}", name);
+					return null;
+				}
+			});
 		} catch (Exception e) {
 			logger.error("Error finding country by name: {}", name, e);
 			throw e;
-		} finally {
-			if (em.isOpen()) {
-				em.close();
-			}
 		}
 	}
 
@@ -82,16 +75,12 @@ public class CountryDao {
 	 * @return A list of all {@link CountryEntity} instances.
 	 */
 	public List<CountryEntity> findAll() {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
 		try {
-			return em.createQuery("SELECT c FROM CountryEntity c", CountryEntity.class).getResultList();
+			return MariaDbConnection.withEntityManager(
+					em -> em.createQuery("SELECT c FROM CountryEntity c", CountryEntity.class).getResultList());
 		} catch (Exception e) {
 			logger.error("Error finding all countries", e);
 			throw e;
-		} finally {
-			if (em.isOpen()) {
-				em.close();
-			}
 		}
 	}
 
@@ -102,22 +91,16 @@ public class CountryDao {
 	 * @param name The name of the country to delete.
 	 */
 	public void deleteByName(String name) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
-		em.getTransaction().begin();
 		try {
-			CountryEntity countryEntity = findByName(name);
-			if (countryEntity != null) {
-				em.remove(em.contains(countryEntity) ? countryEntity : em.merge(countryEntity));
-			}
-			em.getTransaction().commit();
+			MariaDbConnection.runInTransaction(em -> {
+				CountryEntity countryEntity = findByName(name);
+				if (countryEntity != null) {
+					em.remove(countryEntity);
+				}
+			});
 		} catch (Exception e) {
-			em.getTransaction().rollback();
 			logger.error("Error deleting country by name: {}", name, e);
 			throw e;
-		} finally {
-			if (em.isOpen()) {
-				em.close();
-			}
 		}
 	}
 }
\ No newline at end of file
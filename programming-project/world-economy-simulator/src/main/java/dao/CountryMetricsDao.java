@@ -1,5 +1,6 @@
 package dao;
 
+import datasource.MariaDbConnection;
 import entity.CountryEntity;
 import entity.CountryMetricsEntity;
 import jakarta.persistence.EntityManager;
@@ -27,14 +28,9 @@ public class CountryMetricsDao {
 	 * @throws RuntimeException If an error occurs during the persistence operation.
 	 */
 	public void persist(CountryMetricsEntity countryMetrics) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
-
-		em.getTransaction().begin();
 		try {
-			em.persist(countryMetrics);
-			em.getTransaction().commit();
+			MariaDbConnection.runInTransaction(em -> em.persist(countryMetrics));
 		} catch (Exception e) {
-			em.getTransaction().rollback();
 			logger.error("Error persisting country metrics", e);
 			throw e;
 		}
@@ -48,13 +44,12 @@ public class CountryMetricsDao {
 	 * @throws RuntimeException If an error occurs during the query operation.
 	 */
 	public List<CountryMetricsEntity> findByCountry(CountryEntity country) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
-
 		try {
-			return em.createQuery("SELECT c FROM CountryMetricsEntity c WHERE c.country.id = :countryId",
-			                      CountryMetricsEntity.class)
-			         .setParameter("countryId", country.getId())
-			         .getResultList();
+			return MariaDbConnection.withEntityManager(
+					em -> em.createQuery("SELECT c FROM CountryMetricsEntity c WHERE c.country.id = :countryId",
+					                     CountryMetricsEntity.class)
+					        .setParameter("countryId", country.getId())
+					        .getResultList());
 		} catch (Exception e) {
 			logger.error("Error finding country metrics by country", e);
 			throw e;
@@ -70,15 +65,13 @@ public class CountryMetricsDao {
 	 * @throws RuntimeException If an error occurs during the query operation.
 	 */
 	public CountryMetricsEntity findByCountryAndDay(CountryEntity country, int day) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
-
 		try {
-			return em.createQuery(
-					         "SELECT c FROM CountryMetricsEntity c WHERE c.country.id = :countryId AND c.day = :day",
-					         CountryMetricsEntity.class)
-			         .setParameter("countryId", country.getId())
-			         .setParameter("day", day)
-			         .getSingleResult();
+			return MariaDbConnection.withEntityManager(em -> em
+					.createQuery("SELECT c FROM CountryMetricsEntity c WHERE c.country.id = :countryId AND c.day = :day",
+					             CountryMetricsEntity.class)
+					.setParameter("countryId", country.getId())
+					.setParameter("day", day)
+					.getSingleResult());
 		} catch (Exception e) {
 			logger.error("Error finding country metrics by country and day", e);
 			throw e;
@@ -92,10 +85,10 @@ public class CountryMetricsDao {
 	 * @throws RuntimeException If an error occurs during the query operation.
 	 */
 	public List<CountryMetricsEntity> findAll() {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
 		try {
-			return em.createQuery("SELECT c FROM CountryMetricsEntity c", CountryMetricsEntity.class)
-			         .getResultList();
+			return MariaDbConnection.withEntityManager(
+					em -> em.createQuery("SELECT c FROM CountryMetricsEntity c", CountryMetricsEntity.class)
+					        .getResultList());
 		} catch (Exception e) {
 			logger.error("Error finding all country metrics", e);
 			throw e;
@@ -0,0 +1,223 @@
+package dao;
+
+import datasource.MariaDbConnection;
+import entity.CountryMetricsEntity;
+import entity.ResourceMetricsEntity;
+import entity.ResourceNodeMetricsEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Writes the daily metrics of a simulation with JDBC batch inserts. The rows of one or more days are collected
+ * in batches and written in a single transaction, instead of a transaction per row as with
+ * {@link CountryMetricsDao}, {@link ResourceMetricsDao} and {@link ResourceNodeMetricsDao}.
+ * <p>
+ * The metrics tables generate their ids, which keeps Hibernate from batching inserts, so the rows are written
+ * through a JDBC connection borrowed from {@link MariaDbConnection} instead.
+ */
+public class MetricsBatchWriter implements AutoCloseable {
+
+	/**
+	 * SQL statements inserting a row into each metrics table.
+	 */
+	private static final String INSERT_COUNTRY_METRICS =
+			"INSERT INTO country_metrics (day, country_id, population, money, average_happiness, individual_budget) "
+					+ "VALUES (?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_RESOURCE_METRICS =
+			"INSERT INTO resource_metrics (day, country_id, resource_id, quantity, value) VALUES (?, ?, ?, ?, ?)";
+	private static final String INSERT_RESOURCE_NODE_METRICS =
+			"INSERT INTO resource_node_metrics (day, country_id, resource_id, production_cost, max_capacity, tier) "
+					+ "VALUES (?, ?, ?, ?, ?, ?)";
+
+	/**
+	 * Logger for logging debug and error messages.
+	 */
+	private static final Logger logger = LoggerFactory.getLogger(MetricsBatchWriter.class);
+
+	private final int daysPerTransaction;
+	private Connection connection;
+	private PreparedStatement countryMetricsStatement;
+	private PreparedStatement resourceMetricsStatement;
+	private PreparedStatement resourceNodeMetricsStatement;
+	private boolean previousAutoCommit;
+
+	private int pendingDays = 0;
+	private int pendingRows = 0;
+	private long rowsWritten = 0;
+	private long transactions = 0;
+
+	/**
+	 * Constructs a new MetricsBatchWriter. The connection is opened when the first row is added.
+	 *
+	 * @param daysPerTransaction The number of days written in each transaction, must be positive.
+	 * @throws IllegalArgumentException If daysPerTransaction is not positive.
+	 */
+	public MetricsBatchWriter(int daysPerTransaction) {
+		if (daysPerTransaction <= 0) {
+			throw new IllegalArgumentException("Days per transaction must be positive");
+		}
+		this.daysPerTransaction = daysPerTransaction;
+	}
+
+	/**
+	 * Adds a {@link CountryMetricsEntity} row to the current batch.
+	 *
+	 * @param countryMetrics The {@link CountryMetricsEntity} to be written. Its country must already be persisted.
+	 * @throws SQLException If the row cannot be added to the batch.
+	 */
+	public void add(CountryMetricsEntity countryMetrics) throws SQLException {
+		open();
+		countryMetricsStatement.setInt(1, countryMetrics.getDay());
+		countryMetricsStatement.setLong(2, countryMetrics.getCountry().getId());
+		countryMetricsStatement.setLong(3, countryMetrics.getPopulation());
+		countryMetricsStatement.setDouble(4, countryMetrics.getMoney());
+		countryMetricsStatement.setDouble(5, countryMetrics.getAverageHappiness());
+		countryMetricsStatement.setDouble(6, countryMetrics.getIndividualBudget());
+		countryMetricsStatement.addBatch();
+		pendingRows++;
+	}
+
+	/**
+	 * Adds a {@link ResourceMetricsEntity} row to the current batch.
+	 *
+	 * @param resourceMetrics The {@link ResourceMetricsEntity} to be written. Its country and resource must
+	 *                        already be persisted.
+	 * @throws SQLException If the row cannot be added to the batch.
+	 */
+	public void add(ResourceMetricsEntity resourceMetrics) throws SQLException {
+		open();
+		resourceMetricsStatement.setInt(1, resourceMetrics.getDay());
+		resourceMetricsStatement.setLong(2, resourceMetrics.getCountry().getId());
+		resourceMetricsStatement.setLong(3, resourceMetrics.getResource().getId());
+		resourceMetricsStatement.setInt(4, resourceMetrics.getQuantity());
+		resourceMetricsStatement.setDouble(5, resourceMetrics.getValue());
+		resourceMetricsStatement.addBatch();
+		pendingRows++;
+	}
+
+	/**
+	 * Adds a {@link ResourceNodeMetricsEntity} row to the current batch.
+	 *
+	 * @param resourceNodeMetrics The {@link ResourceNodeMetricsEntity} to be written. Its country and resource
+	 *                            must already be persisted.
+	 * @throws SQLException If the row cannot be added to the batch.
+	 */
+	public void add(ResourceNodeMetricsEntity resourceNodeMetrics) throws SQLException {
+		open();
+		resourceNodeMetricsStatement.setInt(1, resourceNodeMetrics.getDay());
+		resourceNodeMetricsStatement.setLong(2, resourceNodeMetrics.getCountry().getId());
+		resourceNodeMetricsStatement.setLong(3, resourceNodeMetrics.getResource().getId());
+		resourceNodeMetricsStatement.setDouble(4, resourceNodeMetrics.getProductionCost());
+		resourceNodeMetricsStatement.setInt(5, resourceNodeMetrics.getMaxCapacity());
+		resourceNodeMetricsStatement.setInt(6, resourceNodeMetrics.getTier());
+		resourceNodeMetricsStatement.addBatch();
+		pendingRows++;
+	}
+
+	/**
+	 * Marks the end of a day. The collected rows are written once the configured number of days is reached.
+	 *
+	 * @throws SQLException If the rows cannot be written. The transaction is rolled back.
+	 */
+	public void endDay() throws SQLException {
+		pendingDays++;
+		if (pendingDays >= daysPerTransaction) {
+			flush();
+		}
+	}
+
+	/**
+	 * Writes all collected rows in a single transaction.
+	 *
+	 * @throws SQLException If the rows cannot be written. The transaction is rolled back and the rows are discarded.
+	 */
+	public void flush() throws SQLException {
+		pendingDays = 0;
+		if (pendingRows == 0) {
+			return;
+		}
+
+		try {
+			countryMetricsStatement.executeBatch();
+			resourceMetricsStatement.executeBatch();
+			resourceNodeMetricsStatement.executeBatch();
+			connection.commit();
+			rowsWritten += pendingRows;
+			transactions++;
+		} catch (SQLException e) {
+			connection.rollback();
+			countryMetricsStatement.clearBatch();
+			resourceMetricsStatement.clearBatch();
+			resourceNodeMetricsStatement.clearBatch();
+			logger.error("Error writing metrics batch", e);
+			throw e;
+		} finally {
+			pendingRows = 0;
+		}
+	}
+
+	/**
+	 * Gets the number of rows written so far.
+	 *
+	 * @return The number of rows written in committed transactions.
+	 */
+	public long getRowsWritten() {
+		return rowsWritten;
+	}
+
+	/**
+	 * Gets the number of transactions committed so far.
+	 *
+	 * @return The number of committed transactions.
+	 */
+	public long getTransactions() {
+		return transactions;
+	}
+
+	/**
+	 * Writes the remaining rows, closes the statements and returns the connection to the pool.
+	 *
+	 * @throws SQLException If the remaining rows cannot be written.
+	 */
+	@Override
+	public void close() throws SQLException {
+		if (connection == null) {
+			return;
+		}
+
+		try {
+			flush();
+		} finally {
+			countryMetricsStatement.close();
+			resourceMetricsStatement.close();
+			resourceNodeMetricsStatement.close();
+			connection.setAutoCommit(previousAutoCommit);
+			connection.close();
+			connection = null;
+		}
+	}
+
+	/**
+	 * Opens the connection and prepares the statements, if not done yet.
+	 *
+	 * @throws SQLException If the connection cannot be established.
+	 */
+	private void open() throws SQLException {
+		if (connection != null) {
+			return;
+		}
+
+		Connection newConnection = MariaDbConnection.getConnection();
+		previousAutoCommit = newConnection.getAutoCommit();
+		newConnection.setAutoCommit(false);
+		countryMetricsStatement = newConnection.prepareStatement(INSERT_COUNTRY_METRICS);
+		resourceMetricsStatement = newConnection.prepareStatement(INSERT_RESOURCE_METRICS);
+		resourceNodeMetricsStatement = newConnection.prepareStatement(INSERT_RESOURCE_NODE_METRICS);
+		connection = newConnection;
+		logger.debug("Prepared metrics batch statements");
+	}
+}
@@ -0,0 +1,27 @@
+package dao;
+
+import entity.CountryMetricsEntity;
+import entity.ResourceMetricsEntity;
+import entity.ResourceNodeMetricsEntity;
+
+import java.util.List;
+
+/**
+ * The metrics of a single day of a simulation, handed from the simulation thread to {@link AsyncMetricsWriter}.
+ * The lists are copied, so the snapshot does not change after it has been created.
+ *
+ * @param day                 The day of the metrics.
+ * @param countryMetrics      The metrics of the countries.
+ * @param resourceMetrics     The metrics of the resources in the storages of the countries.
+ * @param resourceNodeMetrics The metrics of the resource nodes of the countries.
+ */
+public record MetricsSnapshot(int day, List<CountryMetricsEntity> countryMetrics,
+                              List<ResourceMetricsEntity> resourceMetrics,
+                              List<ResourceNodeMetricsEntity> resourceNodeMetrics) {
+
+	public MetricsSnapshot {
+		countryMetrics = List.copyOf(countryMetrics);
+		resourceMetrics = List.copyOf(resourceMetrics);
+		resourceNodeMetrics = List.copyOf(resourceNodeMetrics);
+	}
+}
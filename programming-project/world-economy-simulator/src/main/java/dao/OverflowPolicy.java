@@ -0,0 +1,19 @@
+package dao;
+
+/**
+ * What {@link AsyncMetricsWriter} does with a day of metrics when its queue is full.
+ */
+public enum OverflowPolicy {
+	/**
+	 * The simulation waits until the writer thread has made room in the queue.
+	 */
+	BLOCK,
+	/**
+	 * The oldest queued day is discarded to make room for the new one.
+	 */
+	DROP_OLDEST,
+	/**
+	 * The day is appended to a file on disk and written once the queue has been drained.
+	 */
+	SPILL_TO_DISK
+}
@@ -1,5 +1,6 @@
 package dao;
 
+import datasource.MariaDbConnection;
 import entity.ResourceEntity;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
@@ -28,19 +29,11 @@ public class ResourceDao {
 	 * @throws RuntimeException If an error occurs during the persistence operation.
 	 */
 	public void persist(ResourceEntity resourceEntity) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
-		em.getTransaction().begin();
 		try {
-			em.merge(resourceEntity);
-			em.getTransaction().commit();
+			MariaDbConnection.runInTransaction(em -> em.merge(resourceEntity));
 		} catch (Exception e) {
-			em.getTransaction().rollback();
 			logger.error("Error persisting resource: {}", resourceEntity.getName(), e);
 			throw e;
-		} finally {
-			if (em.isOpen()) {
-				em.close();
-			}
 		}
 	}
 
@@ -52,21 +45,20 @@ public class ResourceDao {
 	 * @throws RuntimeException If an error occurs during the query execution.
 	 */
 	public ResourceEntity findByName(String name) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
 		try {
-			return em.createQuery("SELECT r FROM ResourceEntity r WHERE r.name = :name", ResourceEntity.class)
-			         .setParameter("name", name)
-			         .getSingleResult();
-		} catch (NoResultException e) {
-			logger.debug("Resource not found: {}", name);
-			return null;
+			return MariaDbConnection.withEntityManager(em -> {
+				try {
+					return em.createQuery("SELECT r FROM ResourceEntity r WHERE r.name = :name", ResourceEntity.class)
+					         .setParameter("name", name)
+					         .getSingleResult();
+				} catch (NoResultException e) {
+					logger.debug("Resource not found: {}", name);
+					return null;
+				}
+			});
 		} catch (Exception e) {
 			logger.error("Error finding resource by name: {}", name, e);
 			throw e;
-		} finally {
-			if (em.isOpen()) {
-				em.close();
-			}
 		}
 	}
 
@@ -78,22 +70,16 @@ public class ResourceDao {
 	 * @throws RuntimeException If an error occurs during the delete operation.
 	 */
 	public void deleteByName(String name) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
-		em.getTransaction().begin();
 		try {
-			ResourceEntity resourceEntity = findByName(name);
-			if (resourceEntity != null) {
-				em.remove(em.contains(resourceEntity) ? resourceEntity : em.merge(resourceEntity));
-			}
-			em.getTransaction().commit();
+			MariaDbConnection.runInTransaction(em -> {
+				ResourceEntity resourceEntity = findByName(name);
+				if (resourceEntity != null) {
+					em.remove(resourceEntity);
+				}
+			});
 		} catch (Exception e) {
-			em.getTransaction().rollback();
 			logger.error("Error deleting resource by name: {}", name, e);
 			throw e;
-		} finally {
-			if (em.isOpen()) {
-				em.close();
-			}
 		}
 	}
 
@@ -104,16 +90,12 @@ public class ResourceDao {
 	 * @throws RuntimeException If an error occurs during the query execution.
 	 */
 	public List<ResourceEntity> findAll() {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
 		try {
-			return em.createQuery("SELECT r FROM ResourceEntity r", ResourceEntity.class).getResultList();
+			return MariaDbConnection.withEntityManager(
+					em -> em.createQuery("SELECT r FROM ResourceEntity r", ResourceEntity.class).getResultList());
 		} catch (Exception e) {
 			logger.error("Error finding all resources", e);
 			throw e;
-		} finally {
-			if (em.isOpen()) {
-				em.close();
-			}
 		}
 	}
 }
\ No newline at end of file
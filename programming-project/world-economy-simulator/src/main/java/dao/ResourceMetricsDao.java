@@ -1,5 +1,6 @@
 package dao;
 
+import datasource.MariaDbConnection;
 import entity.CountryEntity;
 import entity.ResourceEntity;
 import entity.ResourceMetricsEntity;
@@ -29,13 +30,9 @@ public class ResourceMetricsDao {
 	 * @throws RuntimeException If an error occurs during the transaction.
 	 */
 	public void persist(ResourceMetricsEntity resourceMetrics) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
-		em.getTransaction().begin();
 		try {
-			em.merge(resourceMetrics);
-			em.getTransaction().commit();
+			MariaDbConnection.runInTransaction(em -> em.merge(resourceMetrics));
 		} catch (Exception e) {
-			em.getTransaction().rollback();
 			logger.error("Error persisting resource metrics", e);
 			throw e;
 		}
@@ -51,14 +48,13 @@ public class ResourceMetricsDao {
 	 * @throws RuntimeException If an error occurs during the query execution.
 	 */
 	public List<ResourceMetricsEntity> findByResource(CountryEntity country, ResourceEntity resource) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
 		try {
-			return em.createQuery(
-					         "SELECT r FROM ResourceMetricsEntity r WHERE r.country.id = :countryId AND r.resource.id = :resourceId",
-					         ResourceMetricsEntity.class)
-			         .setParameter("countryId", country.getId())
-			         .setParameter("resourceId", resource.getId())
-			         .getResultList();
+			return MariaDbConnection.withEntityManager(em -> em
+					.createQuery("SELECT r FROM ResourceMetricsEntity r WHERE r.country.id = :countryId AND r.resource.id = :resourceId",
+					             ResourceMetricsEntity.class)
+					.setParameter("countryId", country.getId())
+					.setParameter("resourceId", resource.getId())
+					.getResultList());
 		} catch (Exception e) {
 			logger.error("Error finding resource metrics by resource", e);
 			throw e;
@@ -76,15 +72,14 @@ public class ResourceMetricsDao {
 	 * @throws RuntimeException If an error occurs during the query execution.
 	 */
 	public ResourceMetricsEntity findByResourceAndDay(CountryEntity country, ResourceEntity resource, int day) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
 		try {
-			return em.createQuery(
-					         "SELECT r FROM ResourceMetricsEntity r WHERE r.country.id = :countryId AND r.resource.id = :resourceId AND r.day = :day",
-					         ResourceMetricsEntity.class)
-			         .setParameter("countryId", country.getId())
-			         .setParameter("resourceId", resource.getId())
-			         .setParameter("day", day)
-			         .getSingleResult();
+			return MariaDbConnection.withEntityManager(em -> em
+					.createQuery("SELECT r FROM ResourceMetricsEntity r WHERE r.country.id = :countryId AND r.resource.id = :resourceId AND r.day = :day",
+					             ResourceMetricsEntity.class)
+					.setParameter("countryId", country.getId())
+					.setParameter("resourceId", resource.getId())
+					.setParameter("day", day)
+					.getSingleResult());
 		} catch (Exception e) {
 			logger.error("Error finding resource metrics by resource and day", e);
 			throw e;
@@ -98,9 +93,10 @@ public class ResourceMetricsDao {
 	 * @throws RuntimeException If an error occurs during the query execution.
 	 */
 	public List<ResourceMetricsEntity> findAll() {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
 		try {
-			return em.createQuery("SELECT r FROM ResourceMetricsEntity r", ResourceMetricsEntity.class).getResultList();
+			return MariaDbConnection.withEntityManager(
+					em -> em.createQuery("SELECT r FROM ResourceMetricsEntity r", ResourceMetricsEntity.class)
+					        .getResultList());
 		} catch (Exception e) {
 			logger.error("Error finding all resource metrics", e);
 			throw e;
@@ -30,19 +30,11 @@ public class ResourceNodeDao {
 	 * @throws RuntimeException If an error occurs during the transaction.
 	 */
 	public void persist(ResourceNodeEntity resourceNode) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
-		em.getTransaction().begin();
 		try {
-			em.merge(resourceNode);
-			em.getTransaction().commit();
+			MariaDbConnection.runInTransaction(em -> em.merge(resourceNode));
 		} catch (Exception e) {
-			em.getTransaction().rollback();
 			logger.error("Error persisting resource node", e);
 			throw e;
-		} finally {
-			if (em.isOpen()) {
-				em.close();
-			}
 		}
 	}
 
@@ -54,19 +46,15 @@ public class ResourceNodeDao {
 	 * @throws RuntimeException If an error occurs during the query execution.
 	 */
 	public List<ResourceNodeEntity> findByCountry(CountryEntity country) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
 		try {
-			return em.createQuery(
-					"SELECT r FROM ResourceNodeEntity r WHERE r.country.id = :countryId",
-					ResourceNodeEntity.class
-			).setParameter("countryId", country.getId()).getResultList();
+			return MariaDbConnection.withEntityManager(em -> em
+					.createQuery("SELECT r FROM ResourceNodeEntity r WHERE r.country.id = :countryId",
+					             ResourceNodeEntity.class)
+					.setParameter("countryId", country.getId())
+					.getResultList());
 		} catch (Exception e) {
 			logger.error("Error finding resource nodes by country", e);
 			throw e;
-		} finally {
-			if (em.isOpen()) {
-				em.close();
-			}
 		}
 	}
 
@@ -77,16 +65,13 @@ public class ResourceNodeDao {
 	 * @throws RuntimeException If an error occurs during the query execution.
 	 */
 	public List<ResourceNodeEntity> findAll() {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
 		try {
-			return em.createQuery("SELECT r FROM ResourceNodeEntity r", ResourceNodeEntity.class).getResultList();
+			return MariaDbConnection.withEntityManager(
+					em -> em.createQuery("SELECT r FROM ResourceNodeEntity r", ResourceNodeEntity.class)
+					        .getResultList());
 		} catch (Exception e) {
 			logger.error("Error finding all resource nodes", e);
 			throw e;
-		} finally {
-			if (em.isOpen()) {
-				em.close();
-			}
 		}
 	}
 
@@ -99,25 +84,19 @@ public class ResourceNodeDao {
 	 * @throws RuntimeException If an error occurs during the delete operation.
 	 */
 	public void delete(Long countryId, Long resourceId) {
-		EntityManager em = MariaDbConnection.getEntityManager();
-		em.getTransaction().begin();
 		try {
-			ResourceNodeEntityId id = new ResourceNodeEntityId();
-			id.setCountryId(countryId);
-			id.setResourceId(resourceId);
-			ResourceNodeEntity resourceNodeEntity = em.find(ResourceNodeEntity.class, id);
-			if (resourceNodeEntity != null) {
-				em.remove(em.contains(resourceNodeEntity) ? resourceNodeEntity : em.merge(resourceNodeEntity));
-			}
-			em.getTransaction().commit();
+			MariaDbConnection.runInTransaction(em -> {
+				ResourceNodeEntityId id = new ResourceNodeEntityId();
+				id.setCountryId(countryId);
+				id.setResourceId(resourceId);
+				ResourceNodeEntity resourceNodeEntity = em.find(ResourceNodeEntity.class, id);
+				if (resourceNodeEntity != null) {
+					em.remove(resourceNodeEntity);
+				}
+			});
 		} catch (Exception e) {
-			em.getTransaction().rollback();
 			logger.error("Error deleting resource node by country and resource", e);
 			throw e;
-		} finally {
-			if (em.isOpen()) {
-				em.close();
-			}
 		}
 	}
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package dao;
 
+import datasource.MariaDbConnection;
 import entity.CountryEntity;
 import entity.ResourceEntity;
 import entity.ResourceNodeMetricsEntity;
@@ -28,13 +29,9 @@ public class ResourceNodeMetricsDao {
 	 * @throws RuntimeException If an error occurs during the persistence operation.
 	 */
 	public void persist(ResourceNodeMetricsEntity resourceNodeMetrics) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
-		em.getTransaction().begin();
 		try {
-			em.persist(resourceNodeMetrics);
-			em.getTransaction().commit();
+			MariaDbConnection.runInTransaction(em -> em.persist(resourceNodeMetrics));
 		} catch (Exception e) {
-			em.getTransaction().rollback();
 			logger.error("Error persisting resource node metrics", e);
 			throw e;
 		}
@@ -51,14 +48,13 @@ public class ResourceNodeMetricsDao {
 	 */
 	public List<ResourceNodeMetricsEntity> findByResourceNode(CountryEntity countryEntity,
 	                                                          ResourceEntity resourceEntity) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
 		try {
-			return em.createQuery(
-					         "SELECT r FROM ResourceNodeMetricsEntity r WHERE r.country.id = :countryId AND r.resource.id = :resourceId",
-					         ResourceNodeMetricsEntity.class)
-			         .setParameter("countryId", countryEntity.getId())
-			         .setParameter("resourceId", resourceEntity.getId())
-			         .getResultList();
+			return MariaDbConnection.withEntityManager(em -> em
+					.createQuery("SELECT r FROM ResourceNodeMetricsEntity r WHERE r.country.id = :countryId AND r.resource.id = :resourceId",
+					             ResourceNodeMetricsEntity.class)
+					.setParameter("countryId", countryEntity.getId())
+					.setParameter("resourceId", resourceEntity.getId())
+					.getResultList());
 		} catch (Exception e) {
 			logger.error("Error finding resource node metrics by resource node", e);
 			throw e;
@@ -77,15 +73,14 @@ public class ResourceNodeMetricsDao {
 	 */
 	public ResourceNodeMetricsEntity findByResourceNodeAndDay(CountryEntity countryEntity,
 	                                                          ResourceEntity resourceEntity, int day) {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
 		try {
-			return em.createQuery(
-					         "SELECT r FROM ResourceNodeMetricsEntity r WHERE r.country.id = :country AND r.resource.id = :resource AND r.day = :day",
-					         ResourceNodeMetricsEntity.class)
-			         .setParameter("country", countryEntity.getId())
-			         .setParameter("resource", resourceEntity.getId())
-			         .setParameter("day", day)
-			         .getSingleResult();
+			return MariaDbConnection.withEntityManager(em -> em
+					.createQuery("SELECT r FROM ResourceNodeMetricsEntity r WHERE r.country.id = :country AND r.resource.id = :resource AND r.day = :day",
+					             ResourceNodeMetricsEntity.class)
+					.setParameter("country", countryEntity.getId())
+					.setParameter("resource", resourceEntity.getId())
+					.setParameter("day", day)
+					.getSingleResult());
 		} catch (Exception e) {
 			logger.error("Error finding resource node metrics by resource node and day", e);
 			throw e;
@@ -99,10 +94,10 @@ public class ResourceNodeMetricsDao {
 	 * @throws RuntimeException If an error occurs during the query execution.
 	 */
 	public List<ResourceNodeMetricsEntity> findAll() {
-		EntityManager em = datasource.MariaDbConnection.getEntityManager();
 		try {
-			return em.createQuery("SELECT r FROM ResourceNodeMetricsEntity r", ResourceNodeMetricsEntity.class)
-			         .getResultList();
+			return MariaDbConnection.withEntityManager(
+					em -> em.createQuery("SELECT r FROM ResourceNodeMetricsEntity r", ResourceNodeMetricsEntity.class)
+					        .getResultList());
 		} catch (Exception e) {
 			logger.error("Error finding all resource node metrics", e);
 			throw e;
@@ -1,7 +1,11 @@
 package datasource;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
 import jakarta.persistence.Persistence;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,24 +18,33 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Utility class for managing database connections and executing SQL scripts in MariaDB.
- * This class provides functions to establish a JDBC connection with MariaDB, create an
+ * This class provides functions to borrow JDBC connections from a connection pool, create an
  * EntityManager for use with JPA, execute SQL scripts, and terminate database resources.
+ * The JDBC connections and the JPA entity managers share the same pool.
  */
 public class MariaDbConnection {
 
 	/**
-	 * Singleton connection to the MariaDB database.
+	 * Singleton connection pool of the MariaDB database.
 	 */
-	private static Connection conn = null;
+	private static HikariDataSource dataSource = null;
 
 	/**
 	 * Singleton {@link EntityManagerFactory} for managing JPA entity managers.
 	 */
 	private static EntityManagerFactory emf = null;
 
+	/**
+	 * The {@link EntityManager} of the unit of work running on the current thread, if any.
+	 */
+	private static final ThreadLocal<EntityManager> currentEntityManager = new ThreadLocal<>();
+
 	/**
 	 * Credentials and connection URLs for the MariaDB database.
 	 */
@@ -40,35 +53,87 @@ public class MariaDbConnection {
 	private static final String BASE_URL = "jdbc:mariadb://localhost:3306/";
 	private static final String URL = "jdbc:mariadb://localhost:3306/simulation";
 
+	/**
+	 * Settings of the connection pool. Idle connections above the minimum are closed after the idle timeout,
+	 * and every connection is replaced after the maximum lifetime. Idle connections are validated at the
+	 * keepalive interval, so that connections closed by the server are not handed out.
+	 */
+	private static final int MAXIMUM_POOL_SIZE = 10;
+	private static final int MINIMUM_IDLE = 2;
+	private static final long CONNECTION_TIMEOUT_MS = 30_000;
+	private static final long VALIDATION_TIMEOUT_MS = 5_000;
+	private static final long IDLE_TIMEOUT_MS = 600_000;
+	private static final long KEEPALIVE_TIME_MS = 300_000;
+	private static final long MAX_LIFETIME_MS = 1_800_000;
+
 	/**
 	 * Logger for logging debug and error information.
 	 */
 	private static final Logger logger = LoggerFactory.getLogger(MariaDbConnection.class);
 
 	/**
-	 * Retrieves a JDBC {@link Connection} to the MariaDB database. If the connection does not exist
-	 * or is closed, a new connection is established. If the database does not exist, it is created.
+	 * Borrows a JDBC {@link Connection} to the MariaDB database from the connection pool. The pool is created
+	 * on first use, and the database is created then if it does not exist. Closing the connection returns
+	 * it to the pool.
 	 *
 	 * @return A {@link Connection} object connected to the MariaDB database.
 	 * @throws SQLException If the connection cannot be established or if an SQL error occurs.
 	 */
 	public static Connection getConnection() throws SQLException {
-		if (conn == null || conn.isClosed()) {
-			try {
-				// Ensure the "simulation" database exists
-				try (Connection baseConn = DriverManager.getConnection(BASE_URL, USER, PASSWORD)) {
-					baseConn.createStatement().executeUpdate("CREATE DATABASE IF NOT EXISTS `simulation`");
-				}
+		try {
+			return getDataSource().getConnection();
+		} catch (SQLException e) {
+			logger.error("Failed to connect to MariaDB!", e);
+			throw new SQLException(e);
+		}
+	}
 
-				// Establish connection to the "simulation" database
-				conn = DriverManager.getConnection(URL, USER, PASSWORD);
-				logger.debug("Connected to MariaDB");
-			} catch (SQLException e) {
-				logger.error("Failed to connect to MariaDB!", e);
-				throw new SQLException(e);
+	/**
+	 * Retrieves the connection pool of the MariaDB database, creating it if it does not exist yet.
+	 * If the database does not exist, it is created before the pool.
+	 *
+	 * @return The {@link HikariDataSource} pooling the connections to the database.
+	 * @throws SQLException If the database cannot be created.
+	 */
+	private static synchronized HikariDataSource getDataSource() throws SQLException {
+		if (dataSource == null || dataSource.isClosed()) {
+			// Ensure the "simulation" database exists
+			try (Connection baseConn = DriverManager.getConnection(BASE_URL, USER, PASSWORD);
+			     Statement stmt = baseConn.createStatement()) {
+				stmt.executeUpdate("CREATE DATABASE IF NOT EXISTS `simulation`");
 			}
+
+			HikariConfig config = new HikariConfig();
+			config.setPoolName("simulation");
+			config.setJdbcUrl(URL);
+			config.setUsername(USER);
+			config.setPassword(PASSWORD);
+			config.setMaximumPoolSize(MAXIMUM_POOL_SIZE);
+			config.setMinimumIdle(MINIMUM_IDLE);
+			config.setConnectionTimeout(CONNECTION_TIMEOUT_MS);
+			config.setValidationTimeout(VALIDATION_TIMEOUT_MS);
+			config.setIdleTimeout(IDLE_TIMEOUT_MS);
+			config.setKeepaliveTime(KEEPALIVE_TIME_MS);
+			config.setMaxLifetime(MAX_LIFETIME_MS);
+			config.setRegisterMbeans(true);
+			dataSource = new HikariDataSource(config);
+			logger.debug("Connected to MariaDB");
+		}
+		return dataSource;
+	}
+
+	/**
+	 * Retrieves the current statistics of the connection pool.
+	 *
+	 * @return The {@link PoolStatistics} of the pool, all zero if the pool has not been created.
+	 */
+	public static synchronized PoolStatistics getPoolStatistics() {
+		if (dataSource == null || dataSource.isClosed()) {
+			return new PoolStatistics(0, 0, 0, 0);
 		}
-		return conn;
+		HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+		return new PoolStatistics(pool.getActiveConnections(), pool.getIdleConnections(),
+				pool.getTotalConnections(), pool.getThreadsAwaitingConnection());
 	}
 
 	/**
@@ -79,10 +144,12 @@ public class MariaDbConnection {
 	 * @throws SQLException If an error occurs while resetting the database.
 	 */
 	public static void resetDatabaseForTests() throws SQLException {
-		try (Connection conn = getConnection()) {
-			conn.createStatement().executeUpdate("DROP SCHEMA IF EXISTS `simulation`");
-			conn.createStatement().executeUpdate("CREATE DATABASE `simulation`");
-			conn.createStatement().executeUpdate("USE `simulation`");
+		try (Connection baseConn = DriverManager.getConnection(BASE_URL, USER, PASSWORD);
+		     Statement stmt = baseConn.createStatement()) {
+			stmt.executeUpdate("DROP SCHEMA IF EXISTS `simulation`");
+			stmt.executeUpdate("CREATE DATABASE `simulation`");
+			// Pooled connections opened before the schema was dropped have no database selected
+			getDataSource().getHikariPoolMXBean().softEvictConnections();
 			executeSqlFile("scripts/simulationDb.sql");
 			executeSqlFile("scripts/simulationMetrics.sql");
 		} catch (SQLException e) {
@@ -92,22 +159,98 @@ public class MariaDbConnection {
 	}
 
 	/**
-	 * Retrieves a JPA {@link EntityManager}, which provides operations for querying
+	 * Retrieves a new JPA {@link EntityManager}, which provides operations for querying
 	 * and persisting database entities. If the {@link EntityManagerFactory} does not exist, it
-	 * is initialized using the "Simulation" persistence unit.
+	 * is initialized using the "Simulation" persistence unit and the connection pool.
+	 * The caller must close the {@link EntityManager}; {@link #inTransaction(Function)} and
+	 * {@link #withEntityManager(Function)} do so for a unit of work.
 	 *
 	 * @return An {@link EntityManager} instance for managing database entities.
+	 * @throws IllegalStateException If the connection pool cannot be created.
 	 */
-	public static EntityManager getEntityManager() {
+	public static synchronized EntityManager getEntityManager() {
 		if (emf == null) {
-			emf = Persistence.createEntityManagerFactory("Simulation");
+			try {
+				emf = Persistence.createEntityManagerFactory("Simulation",
+						Map.of("jakarta.persistence.nonJtaDataSource", getDataSource()));
+			} catch (SQLException e) {
+				logger.error("Failed to connect to MariaDB!", e);
+				throw new IllegalStateException(e);
+			}
 		}
 		return emf.createEntityManager();
 	}
 
+	/**
+	 * Runs a unit of work with an {@link EntityManager}. If a unit of work is already running on the current
+	 * thread, its {@link EntityManager} is used, so that nested operations share one persistence context.
+	 * Otherwise, a new {@link EntityManager} is created for the unit of work and closed when it ends.
+	 *
+	 * @param work The work to run.
+	 * @param <T>  The type of the result of the work.
+	 * @return The result of the work.
+	 */
+	public static <T> T withEntityManager(Function<EntityManager, T> work) {
+		EntityManager current = currentEntityManager.get();
+		if (current != null) {
+			return work.apply(current);
+		}
+
+		EntityManager em = getEntityManager();
+		currentEntityManager.set(em);
+		try {
+			return work.apply(em);
+		} finally {
+			currentEntityManager.remove();
+			em.close();
+		}
+	}
+
+	/**
+	 * Runs a unit of work in a transaction, like {@link #withEntityManager(Function)}. If a transaction is already
+	 * active on the current thread, the work joins it. Otherwise, a new transaction is committed when the work
+	 * completes, and rolled back if it throws.
+	 *
+	 * @param work The work to run.
+	 * @param <T>  The type of the result of the work.
+	 * @return The result of the work.
+	 */
+	public static <T> T inTransaction(Function<EntityManager, T> work) {
+		return withEntityManager(em -> {
+			EntityTransaction transaction = em.getTransaction();
+			if (transaction.isActive()) {
+				return work.apply(em);
+			}
+
+			transaction.begin();
+			try {
+				T result = work.apply(em);
+				transaction.commit();
+				return result;
+			} catch (RuntimeException e) {
+				if (transaction.isActive()) {
+					transaction.rollback();
+				}
+				throw e;
+			}
+		});
+	}
+
+	/**
+	 * Runs a unit of work without a result in a transaction, see {@link #inTransaction(Function)}.
+	 *
+	 * @param work The work to run.
+	 */
+	public static void runInTransaction(Consumer<EntityManager> work) {
+		inTransaction(em -> {
+			work.accept(em);
+			return null;
+		});
+	}
+
 	/**
 	 * Executes an SQL script file. The method processes the file's contents line by line
-	 * and executes the SQL statements using the established {@link Connection}.
+	 * and executes the SQL statements using a {@link Connection} borrowed from the pool.
 	 * Supports SQL procedures defined using the `DELIMITER` keyword.
 	 *
 	 * @param filePath The path to the SQL file to execute. The file is expected to be located
@@ -115,7 +258,8 @@ public class MariaDbConnection {
 	 * @throws SQLException If there is an error executing the SQL file.
 	 */
 	public static void executeSqlFile(String filePath) throws SQLException {
-		try (InputStream input = MariaDbConnection.class.getClassLoader().getResourceAsStream(filePath)) {
+		try (InputStream input = MariaDbConnection.class.getClassLoader().getResourceAsStream(filePath);
+		     Connection conn = getConnection()) {
 			assert input != null;
 			try (BufferedReader br = new BufferedReader(new InputStreamReader(input))) {
 				StringBuilder sb = new StringBuilder();
@@ -161,23 +305,25 @@ public class MariaDbConnection {
 	}
 
 	/**
-	 * Terminates the database connection and the JPA {@link EntityManagerFactory}.
+	 * Terminates the JPA {@link EntityManagerFactory} and the connection pool.
 	 * Ensures proper cleanup of resources to prevent resource leaks.
 	 *
-	 * @throws SQLException If an error occurs while closing the database connection.
+	 * @throws SQLException If an error occurs while closing the connection pool.
 	 */
-	public static void terminate() throws SQLException {
+	public static synchronized void terminate() throws SQLException {
 		try {
-			if (conn != null && !conn.isClosed()) {
-				conn.close();
-				logger.debug("Connection closed");
-			}
 			if (emf != null) {
 				emf.close();
+				emf = null;
 				logger.debug("EntityManagerFactory closed");
 			}
-		} catch (SQLException e) {
-			logger.error("Failed to close connection!", e);
+			if (dataSource != null && !dataSource.isClosed()) {
+				logger.debug("Closing connection pool: {}", getPoolStatistics());
+				dataSource.close();
+				logger.debug("Connection pool closed");
+			}
+		} catch (RuntimeException e) {
+			logger.error("Failed to close connection pool!", e);
 			throw new SQLException(e);
 		}
 	}
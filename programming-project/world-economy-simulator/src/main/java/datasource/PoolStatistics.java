@@ -0,0 +1,13 @@
+package datasource;
+
+/**
+ * A snapshot of the state of the connection pool of {@link MariaDbConnection}.
+ *
+ * @param activeConnections         The number of connections currently in use.
+ * @param idleConnections           The number of connections waiting in the pool.
+ * @param totalConnections          The number of open connections, active or idle.
+ * @param threadsAwaitingConnection The number of threads waiting for a connection.
+ */
+public record PoolStatistics(int activeConnections, int idleConnections, int totalConnections,
+                             int threadsAwaitingConnection) {
+}
@@ -0,0 +1,539 @@
+package model.core;
+
+import model.simulation.EconomyParameters;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * AggregatePopulation represents the population of a country by the distribution of its happiness instead of
+ * the state of every segment, so that the work per day depends on the number of resources, not of segments.
+ * <p>
+ * Segments with similar happiness form a cohort, one per happiness bin, which keeps its number of segments,
+ * their mean happiness and their combined demand. The preferences of the segments are described by their mean
+ * and variance for each resource. A segment demands each resource with the probability that its weighted draws
+ * pick the resource at least once, averaged over the spread of preferences, so the demand of a cohort for
+ * a resource is sampled from a binomial distribution over its segments, which has close to the same mean as
+ * drawing the demand of every segment.
+ * <p>
+ * The cohorts are served from the happiest down, as the segments that were served before stay at the front.
+ * When a resource runs short, the segments of a cohort that miss out move as a separate group, so shortages
+ * spread the happiness distribution. This is an approximation of serving segments one by one: every segment
+ * of a group moves by the share of demand served to the group as a whole, so during lasting shortages the mean
+ * and the variance of the happiness can differ from the per-segment model by a few hundredths.
+ * <p>
+ * The sums of happiness and squared happiness of the cohorts, the demand for each resource and the demand served
+ * during the current day are kept up to date as the cohorts change, so reading them does not require a pass over
+ * the cohorts.
+ */
+class AggregatePopulation implements Population {
+    // Constants
+    private static final int HAPPINESS_BINS = 200;
+    private static final double NORMAL_APPROXIMATION_MIN_MEAN = 16;
+    private static final double UNIFORM_VARIANCE = 1.0 / 12.0;
+    private static final double QUADRATURE_OFFSET = Math.sqrt(3.0);
+    private static final double QUADRATURE_CENTER_WEIGHT = 2.0 / 3.0;
+    private static final double QUADRATURE_SIDE_WEIGHT = 1.0 / 6.0;
+
+    // Variables initialized in the constructor
+    private final Country country;
+    private final EconomyParameters economy;
+    private final SplittableRandom random;
+    private final Resource[] resources;
+    private final int[] resourceOrdinals;
+    private final int resourceCount;
+    private final double[] preferences;
+    private final double[] preferenceVariances;
+    private final double[] demandProbabilities;
+
+    // Serving state of the cohort being served, indexed by resource
+    private final int[] cohortDemand;
+    private final double[] servedFractions;
+    private final double[] servedThresholds;
+
+    // Cohort state, indexed by happiness bin
+    private int size = 0;
+    private int[] counts = new int[HAPPINESS_BINS];
+    private double[] happiness = new double[HAPPINESS_BINS];
+    private int[] demand;
+    private int[] nextCounts = new int[HAPPINESS_BINS];
+    private double[] nextHappiness = new double[HAPPINESS_BINS];
+    private int[] nextDemand;
+
+    // Aggregates over all cohorts, kept up to date with the cohort state
+    private double happinessSum = 0.0;
+    private double happinessSquareSum = 0.0;
+    private final long[] demandTotals;
+    private long demandedToday = 0;
+    private long servedToday = 0;
+
+    /**
+     * Constructs a new, empty AggregatePopulation.
+     * @param country the country the population belongs to
+     * @param resources the resources available in the country
+     * @param random the random stream of the country
+     */
+    AggregatePopulation(Country country, Collection<Resource> resources, SplittableRandom random) {
+        this.country = country;
+        this.economy = country.getEconomy();
+        this.random = random;
+        this.resources = resources.toArray(new Resource[0]);
+        this.resourceCount = this.resources.length;
+        this.resourceOrdinals = new int[resourceCount];
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            resourceOrdinals[resourceIndex] = country.getResourceRegistry().ordinalOf(this.resources[resourceIndex]);
+        }
+        this.preferences = new double[resourceCount];
+        this.preferenceVariances = new double[resourceCount];
+        this.demandProbabilities = new double[resourceCount];
+        this.cohortDemand = new int[resourceCount];
+        this.servedFractions = new double[resourceCount];
+        this.servedThresholds = new double[resourceCount + 1];
+        this.demand = new int[HAPPINESS_BINS * resourceCount];
+        this.nextDemand = new int[HAPPINESS_BINS * resourceCount];
+        this.demandTotals = new long[resourceCount];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void addSegments(int count, double initialHappiness) {
+        if (count <= 0) {
+            return;
+        }
+
+        // The mean of the uniform preferences of the new segments is close to normally distributed
+        double deviation = Math.sqrt(UNIFORM_VARIANCE / count);
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            double newPreference = clamp(0.5 + random.nextGaussian() * deviation, 0.0, 1.0);
+            double oldPreference = preferences[resourceIndex];
+            double mean = (oldPreference * size + newPreference * count) / (size + count);
+            double oldSpread = preferenceVariances[resourceIndex] + (oldPreference - mean) * (oldPreference - mean);
+            double newSpread = UNIFORM_VARIANCE + (newPreference - mean) * (newPreference - mean);
+            preferences[resourceIndex] = mean;
+            preferenceVariances[resourceIndex] = (oldSpread * size + newSpread * count) / (size + count);
+        }
+
+        int bin = binOf(initialHappiness);
+        addToCohort(counts, happiness, bin, count, initialHappiness);
+        size += count;
+
+        updateDemandProbabilities(initialHappiness);
+        int offset = bin * resourceCount;
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            int sampled = sampleBinomial(count, demandProbabilities[resourceIndex]);
+            demand[offset + resourceIndex] += sampled;
+            demandTotals[resourceIndex] += sampled;
+        }
+    }
+
+    /**
+     * Removes segments from every cohort in proportion to its size, together with their demand. The segments left
+     * over after rounding down are removed from the cohorts with the largest remainders, so the happiness
+     * distribution keeps its shape.
+     * @param newSize the number of segments to keep
+     */
+    @Override
+    public void truncate(int newSize) {
+        if (newSize >= size) {
+            return;
+        }
+
+        int toRemove = size - newSize;
+        int[] binRemoved = new int[HAPPINESS_BINS];
+        double[] remainders = new double[HAPPINESS_BINS];
+        int removed = 0;
+        for (int bin = 0; bin < HAPPINESS_BINS; bin++) {
+            double exact = (double) counts[bin] * toRemove / size;
+            binRemoved[bin] = (int) exact;
+            remainders[bin] = counts[bin] > binRemoved[bin] ? exact - binRemoved[bin] : -1.0;
+            removed += binRemoved[bin];
+        }
+        for (; removed < toRemove; removed++) {
+            int largest = 0;
+            for (int bin = 1; bin < HAPPINESS_BINS; bin++) {
+                if (remainders[bin] > remainders[largest]) {
+                    largest = bin;
+                }
+            }
+            binRemoved[largest]++;
+            remainders[largest] = -1.0;
+        }
+
+        for (int bin = 0; bin < HAPPINESS_BINS; bin++) {
+            if (binRemoved[bin] == 0) {
+                continue;
+            }
+            int remaining = counts[bin] - binRemoved[bin];
+            int offset = bin * resourceCount;
+            for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+                int remainingDemand = (int) Math.round(
+                        (double) demand[offset + resourceIndex] * remaining / counts[bin]);
+                demandTotals[resourceIndex] += remainingDemand - demand[offset + resourceIndex];
+                demand[offset + resourceIndex] = remainingDemand;
+            }
+            happinessSum -= happiness[bin] * binRemoved[bin];
+            happinessSquareSum -= happiness[bin] * happiness[bin] * binRemoved[bin];
+            counts[bin] = remaining;
+        }
+        size = newSize;
+    }
+
+    @Override
+    public double getAverageHappiness() {
+        return happinessSum / size;
+    }
+
+    /**
+     * Gets the variance of the happiness of all segments, counting every segment at the mean happiness of its cohort.
+     * @return the variance of the happiness
+     */
+    @Override
+    public double getHappinessVariance() {
+        double mean = happinessSum / size;
+        return Math.max(0.0, happinessSquareSum / size - mean * mean);
+    }
+
+    @Override
+    public double getUnmetDemandRate() {
+        return demandedToday == 0 ? 0.0 : 1.0 - (double) servedToday / demandedToday;
+    }
+
+    @Override
+    public void addDemandTo(int[] totalDemand) {
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            totalDemand[resourceOrdinals[resourceIndex]] += (int) demandTotals[resourceIndex];
+        }
+    }
+
+    /**
+     * Gets views of the segments as {@link Person} objects. The aggregate population does not keep the state of
+     * individual segments, so there are none.
+     * @return an empty list
+     */
+    @Override
+    public List<Person> getPeople() {
+        return List.of();
+    }
+
+    @Override
+    public void updateSegments() {
+        adjustPreferences();
+        Arrays.fill(demandTotals, 0);
+
+        for (int bin = 0; bin < HAPPINESS_BINS; bin++) {
+            if (counts[bin] == 0) {
+                continue;
+            }
+            updateDemandProbabilities(happiness[bin]);
+            int offset = bin * resourceCount;
+            for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+                int sampled = sampleBinomial(counts[bin], demandProbabilities[resourceIndex]);
+                demand[offset + resourceIndex] = sampled;
+                demandTotals[resourceIndex] += sampled;
+            }
+        }
+    }
+
+    /**
+     * Serves every cohort with the available budget of its segments, moving the cohorts to the bins of their new
+     * happiness.
+     * <p>
+     * Segments are served in a fixed order, so the segments served first every day are the happiest. The cohorts
+     * are therefore served from the happiest down, and within a cohort a resource that runs short goes to the
+     * segments at the front. A cohort splits into groups at the points where its resources run out, and each group
+     * is moved by the share of its demand it was served.
+     * @param budget the budget available to serve each segment
+     * @param prices the prices and available quantities of the country's resources
+     */
+    @Override
+    public void serveSegments(double budget, PriceTable prices) {
+        Arrays.fill(nextCounts, 0);
+        Arrays.fill(nextHappiness, 0.0);
+        Arrays.fill(nextDemand, 0);
+        Arrays.fill(demandTotals, 0);
+        happinessSum = 0.0;
+        happinessSquareSum = 0.0;
+        demandedToday = 0;
+        servedToday = 0;
+        long populationChange = (long) (country.getPopulationSegmentSize() * economy.populationChangePercentage());
+        double maxChange = economy.maxHappinessChange();
+
+        for (int bin = HAPPINESS_BINS - 1; bin >= 0; bin--) {
+            int count = counts[bin];
+            if (count == 0) {
+                continue;
+            }
+
+            int offset = bin * resourceCount;
+            double cohortBudget = budget * count;
+            long totalDemand = 0;
+            long servedDemand = 0;
+            int thresholdCount = 0;
+
+            for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+                int demanded = demand[offset + resourceIndex];
+                cohortDemand[resourceIndex] = demanded;
+                servedFractions[resourceIndex] = 1.0;
+                if (demanded == 0) {
+                    continue;
+                }
+                totalDemand += demanded;
+
+                int ordinal = resourceOrdinals[resourceIndex];
+                double price = prices.getPrice(ordinal);
+                long affordable = price > 0 ? (long) Math.min(demanded, cohortBudget / price) : demanded;
+                int served = (int) Math.max(0, Math.min(affordable, prices.getAvailable(ordinal)));
+                if (served > 0) {
+                    prices.sell(ordinal, served);
+                    cohortBudget -= served * price;
+                    servedDemand += served;
+                }
+                if (served < demanded) {
+                    servedFractions[resourceIndex] = (double) served / demanded;
+                    if (served > 0) {
+                        servedThresholds[thresholdCount++] = servedFractions[resourceIndex];
+                    }
+                }
+            }
+
+            demandedToday += totalDemand;
+            servedToday += servedDemand;
+
+            if (totalDemand == 0) {
+                moveCohort(bin, count, happiness[bin], 1.0, 1.0, populationChange);
+                continue;
+            }
+
+            // The segments between two consecutive thresholds are served the same resources
+            servedThresholds[thresholdCount++] = 1.0;
+            Arrays.sort(servedThresholds, 0, thresholdCount);
+            int groupStart = 0;
+            for (int threshold = 0; threshold < thresholdCount; threshold++) {
+                double servedUpTo = servedThresholds[threshold];
+                int groupEnd = (int) Math.round(count * servedUpTo);
+                if (groupEnd <= groupStart) {
+                    continue;
+                }
+
+                long groupServed = 0;
+                for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+                    if (servedFractions[resourceIndex] >= servedUpTo) {
+                        groupServed += cohortDemand[resourceIndex];
+                    }
+                }
+                double percentageFilled = (double) groupServed / totalDemand;
+                int groupCount = groupEnd - groupStart;
+                moveCohort(bin, groupCount, happiness[bin] + (percentageFilled * 2 - 1) * maxChange,
+                        (double) groupCount / count, servedUpTo, populationChange);
+                groupStart = groupEnd;
+            }
+        }
+
+        int[] swapCounts = counts;
+        counts = nextCounts;
+        nextCounts = swapCounts;
+        double[] swapHappiness = happiness;
+        happiness = nextHappiness;
+        nextHappiness = swapHappiness;
+        int[] swapDemand = demand;
+        demand = nextDemand;
+        nextDemand = swapDemand;
+    }
+
+    @Override
+    public void updateAndServeSegments(double budget, PriceTable prices) {
+        updateSegments();
+        serveSegments(budget, prices);
+    }
+
+    /**
+     * Moves part of a cohort to the bin of its new happiness, applying its population change. The moved segments
+     * take their share of the demand that was left unserved for them.
+     * @param bin the current bin of the cohort
+     * @param count the number of segments moved
+     * @param newHappiness the new happiness of the moved segments, clamped between -1 and 1
+     * @param share the share of the cohort's segments moved
+     * @param servedUpTo the share of the cohort up to which the moved segments are ordered, a resource whose
+     *                   served share reaches it was served to them
+     * @param populationChange the population change of a single segment
+     */
+    private void moveCohort(int bin, int count, double newHappiness, double share, double servedUpTo,
+                            long populationChange) {
+        newHappiness = clamp(newHappiness, -1.0, 1.0);
+        int newBin = binOf(newHappiness);
+
+        addToCohort(nextCounts, nextHappiness, newBin, count, newHappiness);
+
+        int newOffset = newBin * resourceCount;
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            if (servedFractions[resourceIndex] >= servedUpTo) {
+                continue;
+            }
+            int movedDemand = (int) Math.round(cohortDemand[resourceIndex] * share);
+            nextDemand[newOffset + resourceIndex] += movedDemand;
+            demandTotals[resourceIndex] += movedDemand;
+        }
+
+        if (newHappiness > economy.populationChangeThreshold()) {
+            country.addPopulation(populationChange * count);
+        } else if (newHappiness < -economy.populationChangeThreshold()) {
+            country.subtractPopulation(populationChange * count);
+        }
+    }
+
+    /**
+     * Adds segments to the cohort of a bin, which takes the mean happiness of its old and new segments, and updates
+     * the happiness sums.
+     * @param binCounts the number of segments of each bin
+     * @param binHappiness the mean happiness of each bin
+     * @param bin the bin of the cohort
+     * @param count the number of segments added
+     * @param segmentHappiness the happiness of the added segments
+     */
+    private void addToCohort(int[] binCounts, double[] binHappiness, int bin, int count, double segmentHappiness) {
+        double oldHappiness = binHappiness[bin];
+        int oldCount = binCounts[bin];
+        double newHappiness = (oldHappiness * oldCount + segmentHappiness * count) / (oldCount + count);
+
+        binHappiness[bin] = newHappiness;
+        binCounts[bin] = oldCount + count;
+        happinessSum += segmentHappiness * count;
+        happinessSquareSum += newHappiness * newHappiness * (oldCount + count) - oldHappiness * oldHappiness * oldCount;
+    }
+
+    /**
+     * Adjusts the shared preferences by the combined random adjustments of all segments.
+     */
+    private void adjustPreferences() {
+        if (size == 0 || resourceCount == 0) {
+            return;
+        }
+
+        // Each resource is adjusted in a share of the segments, each time by a uniform amount around zero
+        int preferencesToAdjust = (int) Math.ceil(economy.preferenceAdjustmentProbability() * resourceCount);
+        double adjustmentsPerResource = (double) size * preferencesToAdjust / resourceCount;
+        double range = economy.preferenceAdjustmentRange();
+        double adjustmentVariance = range * range * UNIFORM_VARIANCE;
+        double deviation = Math.sqrt(adjustmentsPerResource * adjustmentVariance) / size;
+
+        // The adjustments also spread the preferences, until the bounds keep them close to uniform
+        double addedVariance = adjustmentsPerResource / size * adjustmentVariance;
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            preferences[resourceIndex] = clamp(preferences[resourceIndex] + random.nextGaussian() * deviation,
+                    0.0, 1.0);
+            preferenceVariances[resourceIndex] = Math.min(UNIFORM_VARIANCE,
+                    preferenceVariances[resourceIndex] + addedVariance);
+        }
+    }
+
+    /**
+     * Computes the probability that a segment with a given happiness demands each resource. A segment draws
+     * a number of resources that grows with its happiness, weighted by preference and priority, and demands
+     * every resource drawn at least once. The probability is averaged over the preferences of the segments for the
+     * resource with a three point quadrature, since it is not linear in the preference.
+     * @param segmentHappiness the happiness of the segment
+     */
+    private void updateDemandProbabilities(double segmentHappiness) {
+        int numberOfResources = Math.max(1, (int) Math.round((segmentHappiness + 1) / 2 * resourceCount));
+
+        double totalWeight = 0.0;
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            totalWeight += preferences[resourceIndex] * resources[resourceIndex].priority();
+        }
+
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            double preference = preferences[resourceIndex];
+            double priority = resources[resourceIndex].priority();
+            double otherWeight = totalWeight - preference * priority;
+            double offset = QUADRATURE_OFFSET * Math.sqrt(preferenceVariances[resourceIndex]);
+            demandProbabilities[resourceIndex] =
+                    QUADRATURE_CENTER_WEIGHT * demandProbability(preference, priority, otherWeight, numberOfResources)
+                    + QUADRATURE_SIDE_WEIGHT
+                    * demandProbability(preference - offset, priority, otherWeight, numberOfResources)
+                    + QUADRATURE_SIDE_WEIGHT
+                    * demandProbability(preference + offset, priority, otherWeight, numberOfResources);
+        }
+    }
+
+    /**
+     * Computes the probability that a segment demands a resource.
+     * @param preference the segment's preference for the resource, clamped between 0 and 1
+     * @param priority the priority of the resource
+     * @param otherWeight the combined weight of the other resources
+     * @param numberOfResources the number of resources the segment draws
+     * @return the probability that the resource is drawn at least once
+     */
+    private static double demandProbability(double preference, double priority, double otherWeight,
+                                            int numberOfResources) {
+        double weight = clamp(preference, 0.0, 1.0) * priority;
+        if (weight + otherWeight <= 0) {
+            return 0.0;
+        }
+        double drawProbability = weight / (weight + otherWeight);
+        return 1.0 - Math.pow(1.0 - drawProbability, numberOfResources);
+    }
+
+    /**
+     * Samples the number of successes in a number of independent trials.
+     * @param trials the number of trials
+     * @param probability the probability of success of each trial
+     * @return the number of successes
+     */
+    private int sampleBinomial(int trials, double probability) {
+        if (trials == 0 || probability <= 0.0) {
+            return 0;
+        }
+        if (probability >= 1.0) {
+            return trials;
+        }
+        if (probability > 0.5) {
+            return trials - sampleBinomial(trials, 1.0 - probability);
+        }
+
+        double mean = trials * probability;
+        if (mean >= NORMAL_APPROXIMATION_MIN_MEAN) {
+            double deviation = Math.sqrt(mean * (1.0 - probability));
+            long sample = Math.round(mean + random.nextGaussian() * deviation);
+            return (int) Math.max(0, Math.min(trials, sample));
+        }
+
+        // Inversion: walk the cumulative distribution, which takes about as many steps as the mean
+        double failureProbability = 1.0 - probability;
+        double ratio = probability / failureProbability;
+        double pointProbability = Math.pow(failureProbability, trials);
+        double u = random.nextDouble();
+        int successes = 0;
+        while (u > pointProbability && successes < trials) {
+            u -= pointProbability;
+            successes++;
+            pointProbability *= ratio * (trials - successes + 1) / successes;
+        }
+        return successes;
+    }
+
+    /**
+     * Gets the bin of a happiness value.
+     * @param value the happiness, between -1 and 1
+     * @return the index of the bin
+     */
+    private static int binOf(double value) {
+        return Math.min(HAPPINESS_BINS - 1, Math.max(0, (int) ((value + 1) / 2 * HAPPINESS_BINS)));
+    }
+
+    /**
+     * Clamps a value to a range.
+     * @param value the value
+     * @param min the lower bound
+     * @param max the upper bound
+     * @return the clamped value
+     */
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,139 @@
+package model.core;
+
+import java.util.SplittableRandom;
+
+/**
+ * AliasTable samples indices from a discrete distribution in constant time using Vose's alias method.
+ * The table is built in linear time and can be rebuilt for new weights without allocating.
+ */
+class AliasTable {
+    private final double[] probability;
+    private final int[] alias;
+    private final double[] scaledWeights;
+    private final int[] small;
+    private final int[] large;
+    private int size = 0;
+
+    /**
+     * Constructs a new, empty AliasTable.
+     * @param capacity the maximum number of weights the table can hold
+     */
+    AliasTable(int capacity) {
+        this.probability = new double[capacity];
+        this.alias = new int[capacity];
+        this.scaledWeights = new double[capacity];
+        this.small = new int[capacity];
+        this.large = new int[capacity];
+    }
+
+    /**
+     * Gets the number of indices in the table.
+     * @return the number of indices
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Rebuilds the table for a set of weights.
+     * @param weights the non-negative weights, indexed by the sampled index
+     * @param count the number of weights to use
+     * @return true if the table was built, false if the total weight is not positive
+     * @throws IllegalArgumentException if count exceeds the capacity of the table
+     */
+    boolean build(double[] weights, int count) {
+        if (count > probability.length) {
+            throw new IllegalArgumentException("Count exceeds the capacity of the alias table.");
+        }
+
+        double totalWeight = 0.0;
+        for (int i = 0; i < count; i++) {
+            totalWeight += weights[i];
+        }
+        if (totalWeight <= 0) {
+            size = 0;
+            return false;
+        }
+
+        double scale = count / totalWeight;
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < count; i++) {
+            double scaledWeight = weights[i] * scale;
+            scaledWeights[i] = scaledWeight;
+
+            // Written to both worklists so that only the counters depend on the comparison
+            small[smallCount] = i;
+            large[largeCount] = i;
+            int isSmall = scaledWeight < 1.0 ? 1 : 0;
+            smallCount += isSmall;
+            largeCount += 1 - isSmall;
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+
+            probability[less] = scaledWeights[less];
+            alias[less] = more;
+
+            double remainingWeight = (scaledWeights[more] + scaledWeights[less]) - 1.0;
+            scaledWeights[more] = remainingWeight;
+
+            small[smallCount] = more;
+            large[largeCount] = more;
+            int isSmall = remainingWeight < 1.0 ? 1 : 0;
+            smallCount += isSmall;
+            largeCount += 1 - isSmall;
+        }
+
+        // Leftovers are only caused by rounding errors, weighted ones sample themselves
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            boolean weighted = weights[index] > 0;
+            probability[index] = weighted ? 1.0 : 0.0;
+            alias[index] = weighted ? index : heaviestIndex(weights, count);
+        }
+
+        size = count;
+        return true;
+    }
+
+    /**
+     * Finds the index of the largest weight.
+     * @param weights the weights to search
+     * @param count the number of weights to search
+     * @return the index of the largest weight
+     */
+    private static int heaviestIndex(double[] weights, int count) {
+        int heaviest = 0;
+        for (int i = 1; i < count; i++) {
+            if (weights[i] > weights[heaviest]) {
+                heaviest = i;
+            }
+        }
+        return heaviest;
+    }
+
+    /**
+     * Samples an index with probability proportional to its weight.
+     * @param random the random stream to draw from
+     * @return the sampled index
+     * @throws IllegalStateException if the table has not been built
+     */
+    int sample(SplittableRandom random) {
+        if (size == 0) {
+            throw new IllegalStateException("Alias table has not been built.");
+        }
+
+        // A single draw picks both the column and the coin flip within it
+        double draw = random.nextDouble() * size;
+        int index = (int) draw;
+        return draw - index < probability[index] ? index : alias[index];
+    }
+}
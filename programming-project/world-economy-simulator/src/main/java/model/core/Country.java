@@ -1,6 +1,8 @@
 package model.core;
 
-import model.simulation.SimulationConfig;
+import model.simulation.EconomyParameters;
+import model.simulation.SimulationContext;
+import model.simulation.SimulationParameters;
 
 import java.util.*;
 
@@ -9,26 +11,28 @@ import java.util.*;
  * It manages resources, people, and interactions with other countries.
  */
 public class Country {
-    // Constants
-    private static final int PERSON_INITIAL_HAPPINESS = 0;
-    private static final int PERSON_BASE_BUDGET = 10;
-    private static final double COUNTRY_PROFIT_MARGIN = 0.1;
-    private static final double COUNTRY_INDIVIDUAL_TAX = 0.3;
-    private static final double BASE_EXPORT_TAX = 0.2;
-
     // Variables immediately initialized
     private final Map<Resource, ResourceInfo> resourceStorage = new HashMap<>();
     private final List<ResourceNode> resourceNodes = new ArrayList<>();
-    private final List<Person> peopleObjects = new ArrayList<>();
 
     // Variables initialized in the constructor
-    private List<Country> allCountries;
+    private final SimulationContext context;
+    private final EconomyParameters economy;
+    private final int populationSegmentSize;
+    private final ResourceRegistry resourceRegistry;
+    private final ResourceInfo[] storageByOrdinal;
+    private final ResourceNode[] nodeByOrdinal;
+    private final int[] tradeBids;
+    private final SplittableRandom random;
+    private final Population populationSegments;
+    private PriceTable priceTable;
+    private int totalTier = 0;
     private final String name;
     private double money;
     private long population;
 
     /**
-     * Constructs a new Country.
+     * Constructs a new Country with its own simulation context, created from the current simulation settings.
      * @param name the name of the country
      * @param initialMoney the initial amount of money, cannot be negative
      * @param initialPopulation the initial population, must be positive
@@ -38,6 +42,25 @@ public class Country {
      */
     public Country(String name, double initialMoney, long initialPopulation,
                    Map<Resource, Integer> starterResources, Map<Resource, ResourceNodeDTO> ownedResources) {
+        this(name, initialMoney, initialPopulation, starterResources, ownedResources,
+                new SimulationContext(SimulationParameters.fromConfig(),
+                        createRegistry(starterResources.keySet(), ownedResources.keySet())));
+    }
+
+    /**
+     * Constructs a new Country.
+     * @param name the name of the country
+     * @param initialMoney the initial amount of money, cannot be negative
+     * @param initialPopulation the initial population, must be positive
+     * @param starterResources the initial resources of the country
+     * @param ownedResources the resources owned by the country
+     * @param context the context of the simulation, shared by all countries of a simulation
+     * @throws IllegalArgumentException if initialMoney is negative, initialPopulation is not positive,
+     *                                  or a resource is not registered in the context
+     */
+    public Country(String name, double initialMoney, long initialPopulation,
+                   Map<Resource, Integer> starterResources, Map<Resource, ResourceNodeDTO> ownedResources,
+                   SimulationContext context) {
         if (initialMoney < 0) {
             throw new IllegalArgumentException("Initial money cannot be negative.");
         }
@@ -48,6 +71,16 @@ public class Country {
         this.name = name;
         this.money = initialMoney;
         this.population = initialPopulation;
+        this.context = context;
+        this.economy = context.getParameters().economy();
+        this.populationSegmentSize = context.getParameters().populationSegmentSize();
+        this.resourceRegistry = context.getResourceRegistry();
+        this.storageByOrdinal = new ResourceInfo[resourceRegistry.size()];
+        this.nodeByOrdinal = new ResourceNode[resourceRegistry.size()];
+        this.tradeBids = new int[resourceRegistry.size()];
+
+        // Each country draws from its own random stream, derived from the run seed and the country name
+        this.random = context.createRandom(name);
 
         // Initialize the resource storage and supply changes
         for (Map.Entry<Resource, Integer> entry : starterResources.entrySet()) {
@@ -62,20 +95,28 @@ public class Country {
             }
 
 
-            resourceStorage.put(resource, new ResourceInfo(quantity, quantity * baseProductionCost,
-                    SimulationConfig.getSupplyArchiveTime()));
+            ResourceInfo resourceInfo = new ResourceInfo(quantity, quantity * baseProductionCost,
+                    context.getParameters().supplyArchiveTime());
+            resourceStorage.put(resource, resourceInfo);
+            storageByOrdinal[resourceRegistry.ordinalOf(resource)] = resourceInfo;
         }
 
         // Create resource nodes based on the owned resources
         for (Resource resource : ownedResources.keySet()) {
-            resourceNodes.add(new ResourceNode(this, resource, ownedResources.get(resource)));
+            ResourceNode resourceNode = new ResourceNode(this, resource, ownedResources.get(resource));
+            resourceNodes.add(resourceNode);
+            nodeByOrdinal[resourceNode.getResourceOrdinal()] = resourceNode;
+            totalTier += resourceNode.getTier();
         }
 
-        // Create people objects based on the initial population
-        int numberOfPeople = (int) Math.ceil((double) initialPopulation / SimulationConfig.getPopulationSegmentSize());
-        for (int i = 0; i < numberOfPeople; i++) {
-            peopleObjects.add(new Person(this, PERSON_INITIAL_HAPPINESS, starterResources.keySet()));
-        }
+        // Create population segments based on the initial population
+        populationSegments = switch (context.getParameters().populationMode()) {
+            case SEGMENTS -> new PopulationStore(this, starterResources.keySet(), random);
+            case COHORTS -> new PopulationStore(this, starterResources.keySet(), random, true);
+            case AGGREGATE -> new AggregatePopulation(this, starterResources.keySet(), random);
+        };
+        int numberOfPeople = (int) Math.ceil((double) initialPopulation / populationSegmentSize);
+        populationSegments.addSegments(numberOfPeople, economy.personInitialHappiness());
     }
 
     /**
@@ -104,18 +145,18 @@ public class Country {
 
     /**
      * Gets the list of resource nodes in the country.
-     * @return the list of resource nodes
+     * @return an unmodifiable list of resource nodes
      */
     public List<ResourceNode> getResourceNodes() {
-        return resourceNodes;
+        return Collections.unmodifiableList(resourceNodes);
     }
 
     /**
-     * Gets the list of people objects in the country.
+     * Gets the people objects in the country, as views of the population segments.
      * @return the list of people objects
      */
     public List<Person> getPeopleObjects() {
-        return peopleObjects;
+        return populationSegments.getPeople();
     }
 
     /**
@@ -127,11 +168,35 @@ public class Country {
     }
 
     /**
-     * Adds all countries to the list of countries.
-     * @param allCountries the list of all countries
+     * Gets the context of the simulation the country takes part in.
+     * @return the simulation context
+     */
+    public SimulationContext getContext() {
+        return context;
+    }
+
+    /**
+     * Gets the size of a population segment in the country's simulation.
+     * @return the population segment size
      */
-    public void addAllCountries(List<Country> allCountries) {
-        this.allCountries = allCountries;
+    int getPopulationSegmentSize() {
+        return populationSegmentSize;
+    }
+
+    /**
+     * Gets the constants of the economic model in the country's simulation.
+     * @return the economy parameters
+     */
+    EconomyParameters getEconomy() {
+        return economy;
+    }
+
+    /**
+     * Gets the registry assigning ordinals to the resources of the country.
+     * @return the resource registry
+     */
+    public ResourceRegistry getResourceRegistry() {
+        return resourceRegistry;
     }
 
     /**
@@ -140,23 +205,71 @@ public class Country {
      * @return the sell price of the resource
      */
     double getResourceSellPrice(Resource resource) {
-        return resourceStorage.get(resource).getValuePerUnit() * (1 + COUNTRY_PROFIT_MARGIN);
+        return getResourceSellPrice(resourceRegistry.ordinalOf(resource));
     }
 
     /**
-     * Gets the budget for a population segment.
-     * @return the budget for a population segment
+     * Gets the sell price of a resource.
+     * @param ordinal the ordinal of the resource to get the sell price for
+     * @return the sell price of the resource
      */
-    public double getSegmentBudget() {
-        int totalTier = 0;
+    double getResourceSellPrice(int ordinal) {
+        return storageByOrdinal[ordinal].getValuePerUnit() * (1 + economy.countryProfitMargin());
+    }
 
-        for (ResourceNode resourceNode : resourceNodes) {
-            totalTier += resourceNode.getTier();
+    /**
+     * Takes a snapshot of the sell prices and quantities of the resources in storage, to serve the people from.
+     * The sales must be settled with {@link PriceTable#settle()} before the storage is used otherwise.
+     * @return the price table of the country, created on the first snapshot and reused between snapshots
+     */
+    PriceTable snapshotPrices() {
+        if (priceTable == null) {
+            priceTable = new PriceTable(this, storageByOrdinal.length);
         }
+        for (int ordinal = 0; ordinal < storageByOrdinal.length; ordinal++) {
+            ResourceInfo resourceInfo = storageByOrdinal[ordinal];
+            if (resourceInfo != null) {
+                priceTable.set(ordinal, getResourceSellPrice(ordinal), resourceInfo.getQuantity());
+            }
+        }
+        return priceTable;
+    }
 
-        double calculatedBudget = Math.max(1, totalTier) * PERSON_BASE_BUDGET * (1 - COUNTRY_INDIVIDUAL_TAX)
-                * SimulationConfig.getPopulationSegmentSize();
-        return Math.max(calculatedBudget, PERSON_BASE_BUDGET);
+    /**
+     * Gets the price other countries pay for importing a resource from this country.
+     * @param ordinal the ordinal of the resource
+     * @return the export price of the resource
+     */
+    double getExportPrice(int ordinal) {
+        return storageByOrdinal[ordinal].getValuePerUnit() * (1 + economy.baseExportTax());
+    }
+
+    /**
+     * Gets the quantity of a resource the country bid for in its last resource request.
+     * @param ordinal the ordinal of the resource
+     * @return the quantity bid for, or 0 if the country did not bid for the resource
+     */
+    int getTradeBid(int ordinal) {
+        return tradeBids[ordinal];
+    }
+
+    /**
+     * Posts a bid for a resource, replacing any earlier bid for it until the next resource request.
+     * @param ordinal the ordinal of the resource
+     * @param quantity the quantity to bid for
+     */
+    void postTradeBid(int ordinal, int quantity) {
+        tradeBids[ordinal] = quantity;
+    }
+
+    /**
+     * Gets the budget for a population segment.
+     * @return the budget for a population segment
+     */
+    public double getSegmentBudget() {
+        double calculatedBudget = Math.max(1, totalTier) * economy.personBaseBudget()
+                * (1 - economy.countryIndividualTax()) * populationSegmentSize;
+        return Math.max(calculatedBudget, economy.personBaseBudget());
     }
 
     /**
@@ -164,13 +277,23 @@ public class Country {
      * @return the average happiness
      */
     public double getAverageHappiness() {
-        double totalHappiness = 0;
+        return populationSegments.getAverageHappiness();
+    }
 
-        for (Person person : peopleObjects) {
-            totalHappiness += person.getHappiness();
-        }
+    /**
+     * Gets the variance of the happiness of the people in the country.
+     * @return the variance of the happiness
+     */
+    public double getHappinessVariance() {
+        return populationSegments.getHappinessVariance();
+    }
 
-        return totalHappiness / peopleObjects.size();
+    /**
+     * Gets the share of the people's demand that was not served during the last day.
+     * @return the unmet share of the demand, between 0 and 1
+     */
+    public double getUnmetDemandRate() {
+        return populationSegments.getUnmetDemandRate();
     }
 
     /**
@@ -179,9 +302,7 @@ public class Country {
     public void updatePeople() {
         updateNumberOfPeople();
 
-        for (Person person : peopleObjects) {
-            person.updatePerson();
-        }
+        populationSegments.updateSegments();
     }
 
     /**
@@ -198,68 +319,69 @@ public class Country {
      */
     public void servePeople() {
         double budget = this.getSegmentBudget();
+        PriceTable prices = snapshotPrices();
+        populationSegments.serveSegments(budget, prices);
+        prices.settle();
+    }
 
-        for (Person person : peopleObjects) {
-            person.servePerson(budget);
-        }
+    /**
+     * Event type: Runs a whole day of the country in a single pass over its population.
+     * Produces the same result as obtaining resources, updating and serving the people, and requesting resources
+     * one after another, since serving a segment only depends on its own update and the segments served before it.
+     */
+    public void runDay() {
+        obtainResources();
+        updateNumberOfPeople();
+
+        double budget = this.getSegmentBudget();
+        PriceTable prices = snapshotPrices();
+        populationSegments.updateAndServeSegments(budget, prices);
+        prices.settle();
+
+        requestResources();
     }
 
     /**
      * Event type: Requests resources based on the demand and supply changes.
+     * Resources that can be neither taken from storage nor produced are posted as bids,
+     * which are filled when the {@link TradeMarket} is cleared.
+     * Only the state of this country is changed, so countries can request resources concurrently.
      */
     public void requestResources() {
-        for (ResourceInfo resourceInfo : resourceStorage.values()) {
-            resourceInfo.archiveSupply();
-        }
-
-        Map<Resource, Integer> totalDemand = new HashMap<>();
-        Map<Resource, Double> totalSupplyChange = new HashMap<>();
+        int resourceCount = resourceRegistry.size();
+        int[] totalDemand = new int[resourceCount];
+        double[] totalSupplyChange = new double[resourceCount];
         Set<ResourceNode> upgradedNodes = new HashSet<>();
+        Arrays.fill(tradeBids, 0);
 
         // Get the average supply change for each resource
-        for (Map.Entry<Resource, ResourceInfo> entry : resourceStorage.entrySet()) {
-            Resource resource = entry.getKey();
-            ResourceInfo resourceInfo = entry.getValue();
-
-            int[] supplyArchive = resourceInfo.getSupplyArchive();
-//            System.out.println("Supply archive: " + Arrays.toString(supplyArchive));
-            double totalChange = 0;
-
-            if (resourceInfo.getCurrentSize() > 1) {
-                totalChange = supplyArchive[0] - supplyArchive[resourceInfo.getCurrentSize() - 1];
+        for (int ordinal = 0; ordinal < resourceCount; ordinal++) {
+            ResourceInfo resourceInfo = storageByOrdinal[ordinal];
+            if (resourceInfo == null) {
+                continue;
             }
+            resourceInfo.archiveSupply();
 
-//            System.out.println("Total change: " + totalChange);
-            double averageChange = resourceInfo.getCurrentSize() > 1 ? totalChange / (resourceInfo.getCurrentSize() - 1) : 0;
-//            System.out.println("Average change: " + averageChange);
-            totalSupplyChange.put(resource, averageChange);
+            SupplyArchive supplyArchive = resourceInfo.getSupplyHistory();
+            if (supplyArchive.size() > 1) {
+                double totalChange = supplyArchive.newest() - supplyArchive.oldest();
+                totalSupplyChange[ordinal] = totalChange / (supplyArchive.size() - 1);
+            }
         }
 
         // Get the combined demand of all people for each resource
-        for (Person person : peopleObjects) {
-            for (Map.Entry<Resource, Integer> demandEntry : person.getDemand().entrySet()) {
-                Resource resource = demandEntry.getKey();
-                int demand = demandEntry.getValue();
-                totalDemand.put(resource, totalDemand.getOrDefault(resource, 0) + demand);
-            }
-        }
-//        System.out.println("Total demand: " + totalDemand);
+        populationSegments.addDemandTo(totalDemand);
 
-//        System.out.println("Country: " + this.name);
         // Periodic production based on supply change
         for (ResourceNode resourceNode : resourceNodes) {
-            Resource resource = resourceNode.getResource();
-            double supplyChange = totalSupplyChange.getOrDefault(resource, 0.0);
+            double supplyChange = totalSupplyChange[resourceNode.getResourceOrdinal()];
 
             int maxCapacity = resourceNode.getMaxCapacity();
-//            System.out.println("Supply change: " + supplyChange);
             int quantityToProduce = (int) Math.ceil(-supplyChange);
 
             if (quantityToProduce <= maxCapacity) {
-//                System.out.println("Producing " + quantityToProduce + " " + resource.name());
                 resourceNode.produceResources(quantityToProduce);
             } else {
-//                System.out.println("Producing " + maxCapacity + " " + resource.name());
                 resourceNode.produceResources(maxCapacity);
                 if (this.money >= resourceNode.getUpgradeCost() && !upgradedNodes.contains(resourceNode)) {
                     resourceNode.upgradeNode();
@@ -270,25 +392,20 @@ public class Country {
 
 
         // Decide on production, upgrades, and trading based on demand
-        for (Map.Entry<Resource, Integer> demandEntry : totalDemand.entrySet()) {
-            Resource resource = demandEntry.getKey();
-            int demand = demandEntry.getValue();
+        for (int ordinal = 0; ordinal < resourceCount; ordinal++) {
+            int demand = totalDemand[ordinal];
+            if (demand == 0) {
+                continue;
+            }
 
-            if (resourceStorage.get(resource).getQuantity() == 0) {
+            if (storageByOrdinal[ordinal].getQuantity() == 0) {
                 // Resource is not in storage, try to produce it
-                ResourceNode resourceNode = getNodeFromResource(resource);
+                ResourceNode resourceNode = getNodeFromResource(ordinal);
                 if (resourceNode != null) {
                     resourceNode.produceResources(resourceNode.getMaxCapacity());
                 } else {
-                    // Resource node not available, trade for the resource
-                    int currentQuantity = resourceStorage.get(resource).getQuantity();
-                    int targetQuantity = currentQuantity + demand;
-                    for (Country otherCountry : this.allCountries) {
-                        if (otherCountry != this && currentQuantity < targetQuantity) {
-                            otherCountry.requestTrade(this, resource, demand);
-                            currentQuantity = resourceStorage.get(resource).getQuantity();
-                        }
-                    }
+                    // Resource node not available, bid for the resource on the trade market
+                    postTradeBid(ordinal, demand);
                 }
             } else {
                 // People don't have enough money, upgrade an important resource node
@@ -303,19 +420,28 @@ public class Country {
      * @param quantity the quantity to add
      */
     void addResources(Resource resource, int quantity) {
-        ResourceInfo resourceInfo = this.resourceStorage.get(resource);
+        addResources(resourceRegistry.ordinalOf(resource), quantity);
+    }
+
+    /**
+     * Adds a specified quantity of a resource to the country's storage.
+     * @param ordinal the ordinal of the resource to add
+     * @param quantity the quantity to add
+     */
+    void addResources(int ordinal, int quantity) {
+        ResourceInfo resourceInfo = storageByOrdinal[ordinal];
         double productionCost;
 
         // Check if the country has a resource node of that resource type
-        ResourceNode resourceNode = getNodeFromResource(resource);
+        ResourceNode resourceNode = getNodeFromResource(ordinal);
         if (resourceNode != null) {
             productionCost = resourceNode.getProductionCost();
         } else {
-            productionCost = resource.productionCost();
+            productionCost = resourceRegistry.getResource(ordinal).productionCost();
         }
 
         // Calculate the value of the resources
-        double value = productionCost * quantity * SimulationConfig.getPopulationSegmentSize();
+        double value = productionCost * quantity * populationSegmentSize;
         resourceInfo.addQuantity(quantity);
         resourceInfo.addValue(value);
     }
@@ -326,7 +452,16 @@ public class Country {
      * @param quantity the quantity to remove
      */
     void removeResources(Resource resource, int quantity) {
-        this.resourceStorage.get(resource).subtractQuantityAndValue(quantity);
+        removeResources(resourceRegistry.ordinalOf(resource), quantity);
+    }
+
+    /**
+     * Removes a specified quantity of a resource from the country's storage.
+     * @param ordinal the ordinal of the resource to remove
+     * @param quantity the quantity to remove
+     */
+    void removeResources(int ordinal, int quantity) {
+        storageByOrdinal[ordinal].subtractQuantityAndValue(quantity);
     }
 
     /**
@@ -335,7 +470,16 @@ public class Country {
      * @return the quantity of the resource
      */
     double getResourceQuantity(Resource resource) {
-        return this.resourceStorage.get(resource).getQuantity();
+        return getResourceQuantity(resourceRegistry.ordinalOf(resource));
+    }
+
+    /**
+     * Gets the quantity of a specified resource in the country's storage.
+     * @param ordinal the ordinal of the resource to get the quantity for
+     * @return the quantity of the resource
+     */
+    double getResourceQuantity(int ordinal) {
+        return storageByOrdinal[ordinal].getQuantity();
     }
 
     /**
@@ -378,29 +522,30 @@ public class Country {
      * Updates the number of people in the country based on the population.
      */
     private void updateNumberOfPeople() {
-        int numberOfPeople = (int) Math.ceil((double) this.population / SimulationConfig.getPopulationSegmentSize());
+        int numberOfPeople = (int) Math.ceil((double) this.population / populationSegmentSize);
 
-        if (numberOfPeople > this.peopleObjects.size()) {
-            for (int i = this.peopleObjects.size(); i < numberOfPeople; i++) {
-                this.peopleObjects.add(new Person(this, PERSON_INITIAL_HAPPINESS, this.resourceStorage.keySet()));
-            }
-        } else if (numberOfPeople < this.peopleObjects.size()) {
-            this.peopleObjects.subList(numberOfPeople, this.peopleObjects.size()).clear();
+        if (numberOfPeople > populationSegments.size()) {
+            populationSegments.addSegments(numberOfPeople - populationSegments.size(),
+                    economy.personInitialHappiness());
+        } else if (numberOfPeople < populationSegments.size()) {
+            populationSegments.truncate(numberOfPeople);
         }
     }
 
     /**
      * Gets the resource node associated with a specified resource.
-     * @param resource the resource to get the node for
+     * @param ordinal the ordinal of the resource to get the node for
      * @return the resource node associated with the resource, or null if not found
      */
-    private ResourceNode getNodeFromResource(Resource resource) {
-        for (ResourceNode resourceNode : resourceNodes) {
-            if (resourceNode.getResource().equals(resource)) {
-                return resourceNode;
-            }
-        }
-        return null;
+    private ResourceNode getNodeFromResource(int ordinal) {
+        return nodeByOrdinal[ordinal];
+    }
+
+    /**
+     * Records that one of the country's resource nodes has been upgraded to the next tier.
+     */
+    void onNodeUpgraded() {
+        totalTier++;
     }
 
     /**
@@ -409,23 +554,24 @@ public class Country {
      * @param totalSupplyChange the total supply change for resources
      * @param upgradedNodes the set of already upgraded nodes
      */
-    private void upgradeImportantResourceNode(Map<Resource, Integer> totalDemand, Map<Resource, Double> totalSupplyChange, Set<ResourceNode> upgradedNodes) {
-        Resource mostImportantResource = null;
+    private void upgradeImportantResourceNode(int[] totalDemand, double[] totalSupplyChange, Set<ResourceNode> upgradedNodes) {
+        int mostImportantResource = -1;
         double maxDifference = Double.MIN_VALUE;
 
-        for (Map.Entry<Resource, Integer> entry : totalDemand.entrySet()) {
-            Resource resource = entry.getKey();
-            int demand = entry.getValue();
-            double supplyChange = totalSupplyChange.getOrDefault(resource, 0.0);
-            double difference = demand - supplyChange;
+        for (int ordinal = 0; ordinal < totalDemand.length; ordinal++) {
+            int demand = totalDemand[ordinal];
+            if (demand == 0) {
+                continue;
+            }
+            double difference = demand - totalSupplyChange[ordinal];
 
             if (difference > maxDifference) {
                 maxDifference = difference;
-                mostImportantResource = resource;
+                mostImportantResource = ordinal;
             }
         }
 
-        if (mostImportantResource != null) {
+        if (mostImportantResource != -1) {
             ResourceNode resourceNode = getNodeFromResource(mostImportantResource);
             if (resourceNode != null && this.money >= resourceNode.getUpgradeCost() && !upgradedNodes.contains(resourceNode)) {
                 resourceNode.upgradeNode();
@@ -435,23 +581,14 @@ public class Country {
     }
 
     /**
-     * Handles a trade request from another country.
-     * @param requestingCountry the country requesting the trade
-     * @param resource the resource to trade
-     * @param quantity the quantity of the resource to trade
+     * Creates a registry for the resources of a single country.
+     * @param starterResources the initial resources of the country
+     * @param ownedResources the resources owned by the country
+     * @return the created registry
      */
-    void requestTrade(Country requestingCountry, Resource resource, int quantity) {
-        ResourceInfo resourceInfo = resourceStorage.get(resource);
-        double exportPrice = resourceInfo.getValuePerUnit() * (1 + BASE_EXPORT_TAX);
-        int availableQuantity = resourceStorage.get(resource).getQuantity();
-        int quantityToTrade = (int) Math.min(quantity, Math.min(availableQuantity, requestingCountry.getMoney() / exportPrice));
-        double totalCost = quantityToTrade * exportPrice;
-
-        if (quantityToTrade > 0) {
-            removeResources(resource, quantityToTrade);
-            addMoney(totalCost);
-            requestingCountry.addResources(resource, quantityToTrade);
-            requestingCountry.subtractMoney(totalCost);
-        }
+    private static ResourceRegistry createRegistry(Set<Resource> starterResources, Set<Resource> ownedResources) {
+        Set<Resource> resources = new LinkedHashSet<>(starterResources);
+        resources.addAll(ownedResources);
+        return new ResourceRegistry(resources);
     }
 }
\ No newline at end of file
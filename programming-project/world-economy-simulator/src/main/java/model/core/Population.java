@@ -0,0 +1,78 @@
+package model.core;
+
+import java.util.List;
+
+/**
+ * Population is the population of a country, divided into segments of {@code populationSegmentSize} people.
+ * Each day the segments update their preferences and demand, and are served with the resources of the country.
+ */
+interface Population {
+    /**
+     * Gets the number of population segments.
+     * @return the number of segments
+     */
+    int size();
+
+    /**
+     * Adds new segments with random preferences and generates their initial demand.
+     * @param count the number of segments to add
+     * @param initialHappiness the initial happiness of the new segments
+     */
+    void addSegments(int count, double initialHappiness);
+
+    /**
+     * Removes segments.
+     * @param newSize the number of segments to keep
+     */
+    void truncate(int newSize);
+
+    /**
+     * Gets the average happiness of all segments.
+     * @return the average happiness
+     */
+    double getAverageHappiness();
+
+    /**
+     * Gets the variance of the happiness of all segments.
+     * @return the variance of the happiness
+     */
+    double getHappinessVariance();
+
+    /**
+     * Gets the share of the demand that was not served during the last day.
+     * @return the unmet share of the demand, between 0 and 1, or 0 if nothing was demanded
+     */
+    double getUnmetDemandRate();
+
+    /**
+     * Adds the current demand of every segment to a per-resource total.
+     * @param totalDemand the totals to add to, indexed by resource ordinal
+     */
+    void addDemandTo(int[] totalDemand);
+
+    /**
+     * Gets views of the segments as {@link Person} objects.
+     * @return the list of person views, empty if the population does not keep the state of individual segments
+     */
+    List<Person> getPeople();
+
+    /**
+     * Updates the preferences and demand of all segments.
+     */
+    void updateSegments();
+
+    /**
+     * Serves all segments with the available budget, updating their happiness and selling from the price table.
+     * @param budget the budget available to serve each segment
+     * @param prices the prices and available quantities of the country's resources
+     */
+    void serveSegments(double budget, PriceTable prices);
+
+    /**
+     * Updates and then serves all segments. Produces the same result as {@link #updateSegments()} followed by
+     * {@link #serveSegments(double, PriceTable)}, but may visit each segment only once.
+     * @param budget the budget available to serve each segment
+     * @param prices the prices and available quantities of the country's resources
+     */
+    void updateAndServeSegments(double budget, PriceTable prices);
+}
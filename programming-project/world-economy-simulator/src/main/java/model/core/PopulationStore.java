@@ -0,0 +1,778 @@
+package model.core;
+
+import model.simulation.EconomyParameters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * PopulationStore keeps the state of all population segments of a country in primitive arrays.
+ * Happiness is stored in a {@code double[]}, preferences in a flat {@code double[]} with one row per segment,
+ * and demand in a bitset with one row of words per segment. {@link Person} objects are views into this store.
+ * <p>
+ * Each stored row has a weight, the number of identical segments it stands for. Without cohorts every row is
+ * a single segment. With cohorts, segments that share their state are kept in one row and share their random
+ * draws, so the work per day grows with the number of distinct states instead of the number of segments.
+ * A cohort splits when serving treats its members differently, because a resource runs out part way through it,
+ * and cohorts whose happiness and preferences fall within the same cells of width {@code COHORT_TOLERANCE}
+ * and that have the same remaining demand are merged again after each day.
+ * <p>
+ * Cohorts are an approximation of the segments, not an equivalent representation. The members of a cohort draw
+ * their preference adjustments and demand once and share them, so their demand is perfectly correlated and they
+ * never diverge through their own random outcomes, only through serving. The day-to-day variance of demand and
+ * happiness is therefore larger than with independent segments. Splitting a cohort by the outcomes of its members
+ * would bring back close to one row per segment with many resources, since almost every member draws a different
+ * set of them, which is why the draws are shared.
+ * <p>
+ * The number of segments demanding each resource and the demand served during the current day are updated with
+ * every change of state, so reading them does not require a pass over the segments. The sums of happiness and
+ * squared happiness are updated when segments are added or removed, but rebuilt from the rows once at the end of
+ * each serving pass instead of with every change of happiness, so that rounding errors do not accumulate over
+ * a long run.
+ */
+class PopulationStore implements Population {
+    // Constants
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int ALIAS_TABLE_MIN_DRAWS = 4;
+    private static final double COHORT_TOLERANCE = 0.01;
+
+    // Variables initialized in the constructor
+    private final Country country;
+    private final EconomyParameters economy;
+    private final SplittableRandom random;
+    private final Resource[] resources;
+    private final int[] resourceOrdinals;
+    private final int resourceCount;
+    private final int wordsPerSegment;
+    private final int[] shuffledResources;
+    private final double[] demandWeights;
+    private final double[] cumulativeWeights;
+    private final AliasTable demandTable;
+    private final boolean cohorts;
+
+    // Groups of a cohort that is split while it is served, at most one more than the number of resources
+    private final int[] groupRows;
+    private final double[] groupBudgets;
+    private final int[] groupServed;
+
+    // Open addressing table of row indices plus one, reused when merging cohorts
+    private int[] mergeTable = new int[0];
+
+    // Segment state, indexed by row
+    private int size = 0;
+    private int segmentCount = 0;
+    private int[] weights;
+    private double[] happiness;
+    private double[] preferences;
+    private long[] demand;
+
+    // Aggregates over all segments, kept up to date with the segment state
+    private double happinessSum = 0.0;
+    private double happinessSquareSum = 0.0;
+    private final long[] demandCounts;
+    private long demandedToday = 0;
+    private long servedToday = 0;
+
+    /**
+     * Constructs a new, empty PopulationStore.
+     * @param country the country the population belongs to
+     * @param resources the resources available in the country
+     * @param random the random stream of the country
+     */
+    PopulationStore(Country country, Collection<Resource> resources, SplittableRandom random) {
+        this(country, resources, random, false);
+    }
+
+    /**
+     * Constructs a new, empty PopulationStore.
+     * @param country the country the population belongs to
+     * @param resources the resources available in the country
+     * @param random the random stream of the country
+     * @param cohorts whether segments with the same state are kept together as weighted cohorts
+     */
+    PopulationStore(Country country, Collection<Resource> resources, SplittableRandom random, boolean cohorts) {
+        this.country = country;
+        this.economy = country.getEconomy();
+        this.random = random;
+        this.resources = resources.toArray(new Resource[0]);
+        this.resourceCount = this.resources.length;
+        this.resourceOrdinals = new int[resourceCount];
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            resourceOrdinals[resourceIndex] = country.getResourceRegistry().ordinalOf(this.resources[resourceIndex]);
+        }
+        this.wordsPerSegment = (resourceCount + Long.SIZE - 1) / Long.SIZE;
+        this.shuffledResources = new int[resourceCount];
+        this.demandWeights = new double[resourceCount];
+        this.cumulativeWeights = new double[resourceCount];
+        this.demandTable = new AliasTable(resourceCount);
+        this.demandCounts = new long[resourceCount];
+        this.cohorts = cohorts;
+        this.groupRows = new int[resourceCount + 1];
+        this.groupBudgets = new double[resourceCount + 1];
+        this.groupServed = new int[resourceCount + 1];
+
+        this.weights = new int[INITIAL_CAPACITY];
+        this.happiness = new double[INITIAL_CAPACITY];
+        this.preferences = new double[INITIAL_CAPACITY * resourceCount];
+        this.demand = new long[INITIAL_CAPACITY * wordsPerSegment];
+    }
+
+    @Override
+    public int size() {
+        return segmentCount;
+    }
+
+    /**
+     * Gets the number of stored rows, which is the number of cohorts, or the number of segments without cohorts.
+     * @return the number of rows
+     */
+    int getRowCount() {
+        return size;
+    }
+
+    /**
+     * Gets the number of segments a row stands for.
+     * @param segment the index of the row
+     * @return the weight of the row
+     */
+    int getWeight(int segment) {
+        return weights[segment];
+    }
+
+    /**
+     * Gets the number of resources each segment has preferences for.
+     * @return the number of resources
+     */
+    int getResourceCount() {
+        return resourceCount;
+    }
+
+    /**
+     * Gets the resource at a given resource index.
+     * @param resourceIndex the index of the resource
+     * @return the resource
+     */
+    Resource getResource(int resourceIndex) {
+        return resources[resourceIndex];
+    }
+
+    /**
+     * Gets the happiness of a segment.
+     * @param segment the index of the segment
+     * @return the happiness
+     */
+    double getHappiness(int segment) {
+        return happiness[segment];
+    }
+
+    /**
+     * Gets the preference of a segment for a resource.
+     * @param segment the index of the segment
+     * @param resourceIndex the index of the resource
+     * @return the preference, between 0 and 1
+     */
+    double getPreference(int segment, int resourceIndex) {
+        return preferences[segment * resourceCount + resourceIndex];
+    }
+
+    /**
+     * Checks whether a segment currently demands a resource.
+     * @param segment the index of the segment
+     * @param resourceIndex the index of the resource
+     * @return true if the resource is demanded, false otherwise
+     */
+    boolean isDemanded(int segment, int resourceIndex) {
+        return (demand[segment * wordsPerSegment + (resourceIndex >>> 6)] & (1L << resourceIndex)) != 0;
+    }
+
+    @Override
+    public double getAverageHappiness() {
+        return Math.max(-1.0, Math.min(1.0, happinessSum / segmentCount));
+    }
+
+    @Override
+    public double getHappinessVariance() {
+        double mean = happinessSum / segmentCount;
+        return Math.max(0.0, happinessSquareSum / segmentCount - mean * mean);
+    }
+
+    @Override
+    public double getUnmetDemandRate() {
+        return demandedToday == 0 ? 0.0 : 1.0 - (double) servedToday / demandedToday;
+    }
+
+    @Override
+    public void addDemandTo(int[] totalDemand) {
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            totalDemand[resourceOrdinals[resourceIndex]] += (int) demandCounts[resourceIndex];
+        }
+    }
+
+    @Override
+    public List<Person> getPeople() {
+        List<Person> people = new ArrayList<>(size);
+        for (int segment = 0; segment < size; segment++) {
+            people.add(new Person(this, segment));
+        }
+        return people;
+    }
+
+    /**
+     * Adds new segments with random preferences and generates their initial demand. With cohorts, the new segments
+     * form a new cohort with their own preferences, which is merged into an existing cohort after serving
+     * if their states fall into the same cells.
+     * @param count the number of segments to add
+     * @param initialHappiness the initial happiness of the new segments
+     */
+    @Override
+    public void addSegments(int count, double initialHappiness) {
+        if (count <= 0) {
+            return;
+        }
+        segmentCount += count;
+
+        if (cohorts) {
+            ensureCapacity(size + 1);
+            addRow(count, initialHappiness);
+            return;
+        }
+
+        ensureCapacity(size + count);
+        for (int i = 0; i < count; i++) {
+            addRow(1, initialHappiness);
+        }
+    }
+
+    /**
+     * Removes segments from the end of the store.
+     * @param newSize the number of segments to keep
+     */
+    @Override
+    public void truncate(int newSize) {
+        int toRemove = segmentCount - newSize;
+        while (toRemove > 0) {
+            int last = size - 1;
+            if (weights[last] > toRemove) {
+                weights[last] -= toRemove;
+                addToAggregates(last, -toRemove);
+                break;
+            }
+            toRemove -= weights[last];
+            addToAggregates(last, -weights[last]);
+            Arrays.fill(demand, last * wordsPerSegment, size * wordsPerSegment, 0L);
+            size = last;
+        }
+        segmentCount = Math.min(segmentCount, newSize);
+    }
+
+    @Override
+    public void updateSegments() {
+        for (int segment = 0; segment < size; segment++) {
+            updateSegment(segment);
+        }
+    }
+
+    @Override
+    public void serveSegments(double budget, PriceTable prices) {
+        demandedToday = 0;
+        servedToday = 0;
+
+        // Cohorts split off while serving are appended and have already been served
+        int rowCount = size;
+        for (int segment = 0; segment < rowCount; segment++) {
+            serveSegment(segment, budget, prices);
+        }
+        if (cohorts) {
+            mergeCohorts();
+        }
+        resyncHappinessSums();
+    }
+
+    /**
+     * Updates and then serves all segments in a single pass. Serving a segment only depends on its own update
+     * and the segments served before it, so the result is the same as updating all segments first.
+     * @param budget the budget available to serve each segment
+     * @param prices the prices and available quantities of the country's resources
+     */
+    @Override
+    public void updateAndServeSegments(double budget, PriceTable prices) {
+        demandedToday = 0;
+        servedToday = 0;
+
+        int rowCount = size;
+        for (int segment = 0; segment < rowCount; segment++) {
+            updateSegment(segment);
+            serveSegment(segment, budget, prices);
+        }
+        if (cohorts) {
+            mergeCohorts();
+        }
+        resyncHappinessSums();
+    }
+
+    /**
+     * Updates a segment's preferences and demand.
+     * @param segment the index of the segment
+     */
+    void updateSegment(int segment) {
+        adjustPreferences(segment);
+        generateDemand(segment);
+    }
+
+    /**
+     * Serves a segment with the available budget, updating its happiness and the country's resources.
+     * @param segment the index of the segment
+     * @param budget the budget available to serve the segment
+     */
+    void serveSegment(int segment, double budget) {
+        PriceTable prices = country.snapshotPrices();
+        serveSegment(segment, budget, prices);
+        prices.settle();
+        resyncHappinessSums();
+    }
+
+    /**
+     * Serves a segment with the available budget, updating its happiness and selling from the price table.
+     * @param segment the index of the segment
+     * @param budget the budget available to serve the segment
+     * @param prices the prices and available quantities of the country's resources
+     */
+    private void serveSegment(int segment, double budget, PriceTable prices) {
+        if (weights[segment] > 1) {
+            serveCohort(segment, budget, prices);
+            return;
+        }
+
+        int offset = segment * wordsPerSegment;
+        int totalDemand = 0;
+        int servedDemand = 0;
+
+        for (int word = 0; word < wordsPerSegment; word++) {
+            long bits = demand[offset + word];
+            totalDemand += Long.bitCount(bits);
+
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                int ordinal = resourceOrdinals[word * Long.SIZE + bit];
+                double totalCost = prices.getPrice(ordinal);
+
+                if (prices.getAvailable(ordinal) >= 1 && budget >= totalCost) {
+                    prices.sell(ordinal, 1);
+                    budget -= totalCost;
+                    demand[offset + word] &= ~(1L << bit);
+                    demandCounts[word * Long.SIZE + bit]--;
+                    servedDemand++;
+                }
+            }
+        }
+
+        demandedToday += totalDemand;
+        servedToday += servedDemand;
+        updateHappiness(segment, servedDemand, totalDemand);
+    }
+
+    /**
+     * Serves a cohort of several segments with the available budget of each. The members are served resource by
+     * resource, and when a resource runs out part way through a group of members, the group is split and
+     * the members that miss out are moved to a new cohort.
+     * @param segment the index of the cohort
+     * @param budget the budget available to serve each member
+     * @param prices the prices and available quantities of the country's resources
+     */
+    private void serveCohort(int segment, double budget, PriceTable prices) {
+        int totalDemand = 0;
+        for (int word = 0; word < wordsPerSegment; word++) {
+            totalDemand += Long.bitCount(demand[segment * wordsPerSegment + word]);
+        }
+        demandedToday += (long) totalDemand * weights[segment];
+
+        int groupCount = 1;
+        groupRows[0] = segment;
+        groupBudgets[0] = budget;
+        groupServed[0] = 0;
+
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            int word = resourceIndex >>> 6;
+            long bit = 1L << resourceIndex;
+            int ordinal = resourceOrdinals[resourceIndex];
+            double totalCost = prices.getPrice(ordinal);
+
+            for (int group = 0; group < groupCount; group++) {
+                int row = groupRows[group];
+                if ((demand[row * wordsPerSegment + word] & bit) == 0 || groupBudgets[group] < totalCost) {
+                    continue;
+                }
+                int served = Math.min(weights[row], prices.getAvailable(ordinal));
+                if (served == 0) {
+                    continue;
+                }
+
+                if (served < weights[row]) {
+                    // The members that miss out keep the state the group had before this resource
+                    int splitRow = addCopy(row, weights[row] - served);
+                    weights[row] = served;
+                    System.arraycopy(groupRows, group + 1, groupRows, group + 2, groupCount - group - 1);
+                    System.arraycopy(groupBudgets, group + 1, groupBudgets, group + 2, groupCount - group - 1);
+                    System.arraycopy(groupServed, group + 1, groupServed, group + 2, groupCount - group - 1);
+                    groupRows[group + 1] = splitRow;
+                    groupBudgets[group + 1] = groupBudgets[group];
+                    groupServed[group + 1] = groupServed[group];
+                    groupCount++;
+                }
+
+                prices.sell(ordinal, served);
+                groupBudgets[group] -= totalCost;
+                groupServed[group]++;
+                demand[row * wordsPerSegment + word] &= ~bit;
+                demandCounts[resourceIndex] -= served;
+                servedToday += served;
+            }
+        }
+
+        for (int group = 0; group < groupCount; group++) {
+            updateHappiness(groupRows[group], groupServed[group], totalDemand);
+        }
+    }
+
+    /**
+     * Recomputes the sums of happiness and squared happiness from the rows after serving has changed
+     * their happiness.
+     */
+    private void resyncHappinessSums() {
+        double sum = 0.0;
+        double squareSum = 0.0;
+        for (int segment = 0; segment < size; segment++) {
+            sum += happiness[segment] * weights[segment];
+            squareSum += happiness[segment] * happiness[segment] * weights[segment];
+        }
+        happinessSum = sum;
+        happinessSquareSum = squareSum;
+    }
+
+    /**
+     * Updates the happiness of a row from the share of its demand that was served, and changes the population
+     * of the country when the row is very happy or unhappy.
+     * @param segment the index of the row
+     * @param servedDemand the number of demanded resources served to each segment of the row
+     * @param totalDemand the number of resources demanded by each segment of the row
+     */
+    private void updateHappiness(int segment, int servedDemand, int totalDemand) {
+        double happinessChange = 0.0;
+        if (totalDemand > 0) {
+            double percentageFilled = (double) servedDemand / totalDemand;
+            happinessChange = (percentageFilled * 2 - 1) * economy.maxHappinessChange();
+        }
+
+        happiness[segment] = Math.max(-1.0, Math.min(1.0, happiness[segment] + happinessChange));
+
+        long populationChange = (long) (country.getPopulationSegmentSize() * economy.populationChangePercentage());
+        if (happiness[segment] > economy.populationChangeThreshold()) {
+            country.addPopulation(populationChange * weights[segment]);
+        } else if (happiness[segment] < -economy.populationChangeThreshold()) {
+            country.subtractPopulation(populationChange * weights[segment]);
+        }
+    }
+
+    /**
+     * Merges cohorts whose happiness and preferences fall into the same cells of width {@code COHORT_TOLERANCE}
+     * and that have the same remaining demand. A merged cohort takes the weighted mean of their states,
+     * which stays within the same cells.
+     */
+    private void mergeCohorts() {
+        int tableSize = Integer.highestOneBit(Math.max(1, size) * 2) * 2;
+        if (mergeTable.length < tableSize) {
+            mergeTable = new int[tableSize];
+        } else {
+            tableSize = mergeTable.length;
+            Arrays.fill(mergeTable, 0);
+        }
+        int[] table = mergeTable;
+        int tableMask = tableSize - 1;
+        boolean merged = false;
+
+        for (int segment = 0; segment < size; segment++) {
+            int slot = (int) mix(cellHash(segment)) & tableMask;
+            while (table[slot] != 0 && !sameCells(table[slot] - 1, segment)) {
+                slot = (slot + 1) & tableMask;
+            }
+            if (table[slot] == 0) {
+                table[slot] = segment + 1;
+                continue;
+            }
+
+            int target = table[slot] - 1;
+            double totalWeight = weights[target] + weights[segment];
+            double mergedHappiness = (happiness[target] * weights[target] + happiness[segment] * weights[segment])
+                    / totalWeight;
+            happiness[target] = mergedHappiness;
+            int targetOffset = target * resourceCount;
+            int offset = segment * resourceCount;
+            for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+                preferences[targetOffset + resourceIndex] = (preferences[targetOffset + resourceIndex]
+                        * weights[target] + preferences[offset + resourceIndex] * weights[segment]) / totalWeight;
+            }
+            weights[target] += weights[segment];
+            weights[segment] = 0;
+            merged = true;
+        }
+
+        if (merged) {
+            compact();
+        }
+    }
+
+    /**
+     * Checks whether two rows fall into the same cells and have the same remaining demand.
+     * @param first the index of the first row
+     * @param second the index of the second row
+     * @return true if the rows can be merged, false otherwise
+     */
+    private boolean sameCells(int first, int second) {
+        if (cellOf(happiness[first] + 1) != cellOf(happiness[second] + 1)) {
+            return false;
+        }
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            if (cellOf(preferences[first * resourceCount + resourceIndex])
+                    != cellOf(preferences[second * resourceCount + resourceIndex])) {
+                return false;
+            }
+        }
+        for (int word = 0; word < wordsPerSegment; word++) {
+            if (demand[first * wordsPerSegment + word] != demand[second * wordsPerSegment + word]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes a hash of the cells and remaining demand of a row.
+     * @param segment the index of the row
+     * @return the hash
+     */
+    private long cellHash(int segment) {
+        long hash = cellOf(happiness[segment] + 1);
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            hash = hash * 31 + cellOf(preferences[segment * resourceCount + resourceIndex]);
+        }
+        for (int word = 0; word < wordsPerSegment; word++) {
+            hash = hash * 31 + demand[segment * wordsPerSegment + word];
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the cell of a non-negative value.
+     * @param value the value
+     * @return the index of the cell
+     */
+    private static long cellOf(double value) {
+        return (long) Math.floor(value / COHORT_TOLERANCE);
+    }
+
+    /**
+     * Mixes the bits of a hash so that nearby cells spread over the table.
+     * @param hash the hash
+     * @return the mixed hash
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Removes the rows that were merged into others, keeping the order of the remaining rows.
+     */
+    private void compact() {
+        int newSize = 0;
+        for (int segment = 0; segment < size; segment++) {
+            if (weights[segment] == 0) {
+                continue;
+            }
+            if (newSize != segment) {
+                copyRow(segment, newSize);
+            }
+            newSize++;
+        }
+        Arrays.fill(demand, newSize * wordsPerSegment, size * wordsPerSegment, 0L);
+        size = newSize;
+    }
+
+    /**
+     * Appends a row for new segments with random preferences and generates their demand. The capacity must
+     * already be ensured.
+     * @param weight the number of segments of the row
+     * @param initialHappiness the initial happiness of the segments
+     */
+    private void addRow(int weight, double initialHappiness) {
+        int segment = size++;
+        weights[segment] = 0;
+        happiness[segment] = initialHappiness;
+
+        int offset = segment * resourceCount;
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            preferences[offset + resourceIndex] = random.nextDouble();
+        }
+        generateDemand(segment);
+        weights[segment] = weight;
+        addToAggregates(segment, weight);
+    }
+
+    /**
+     * Adds segments of a row to the aggregates, or removes them with a negative count.
+     * @param segment the index of the row
+     * @param count the number of segments with the state of the row to add
+     */
+    private void addToAggregates(int segment, int count) {
+        happinessSum += happiness[segment] * count;
+        happinessSquareSum += happiness[segment] * happiness[segment] * count;
+        addToDemandCounts(segment, count);
+    }
+
+    /**
+     * Adds the demand of segments of a row to the demand counts, or removes it with a negative count.
+     * @param segment the index of the row
+     * @param count the number of segments with the demand of the row to add
+     */
+    private void addToDemandCounts(int segment, int count) {
+        int offset = segment * wordsPerSegment;
+        for (int word = 0; word < wordsPerSegment; word++) {
+            long bits = demand[offset + word];
+            while (bits != 0) {
+                demandCounts[word * Long.SIZE + Long.numberOfTrailingZeros(bits)] += count;
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * Appends a copy of a row with a different weight.
+     * @param segment the index of the row to copy
+     * @param weight the weight of the copy
+     * @return the index of the copy
+     */
+    private int addCopy(int segment, int weight) {
+        ensureCapacity(size + 1);
+        int copy = size++;
+        copyRow(segment, copy);
+        weights[copy] = weight;
+        return copy;
+    }
+
+    /**
+     * Copies the state of a row to another row.
+     * @param from the index of the row to copy
+     * @param to the index of the row to overwrite
+     */
+    private void copyRow(int from, int to) {
+        weights[to] = weights[from];
+        happiness[to] = happiness[from];
+        System.arraycopy(preferences, from * resourceCount, preferences, to * resourceCount, resourceCount);
+        System.arraycopy(demand, from * wordsPerSegment, demand, to * wordsPerSegment, wordsPerSegment);
+    }
+
+    /**
+     * Adjusts a segment's preferences for randomly chosen resources.
+     * @param segment the index of the segment
+     */
+    private void adjustPreferences(int segment) {
+        int preferencesToAdjust = (int) Math.ceil(economy.preferenceAdjustmentProbability() * resourceCount);
+        int offset = segment * resourceCount;
+
+        // Partial Fisher-Yates shuffle to pick distinct resources
+        for (int i = 0; i < resourceCount; i++) {
+            shuffledResources[i] = i;
+        }
+
+        for (int i = 0; i < preferencesToAdjust; i++) {
+            int j = i + random.nextInt(resourceCount - i);
+            int resourceIndex = shuffledResources[j];
+            shuffledResources[j] = shuffledResources[i];
+            shuffledResources[i] = resourceIndex;
+
+            double adjustment = (random.nextDouble() - 0.5) * economy.preferenceAdjustmentRange();
+            double newPreference = Math.max(0.0, Math.min(1.0, preferences[offset + resourceIndex] + adjustment));
+            preferences[offset + resourceIndex] = newPreference;
+        }
+    }
+
+    /**
+     * Generates a segment's demand for resources based on its preferences and happiness, updating the demand
+     * counts.
+     * @param segment the index of the segment
+     */
+    private void generateDemand(int segment) {
+        addToDemandCounts(segment, -weights[segment]);
+        drawDemand(segment);
+        addToDemandCounts(segment, weights[segment]);
+    }
+
+    /**
+     * Draws a segment's demand for resources based on its preferences and happiness.
+     * @param segment the index of the segment
+     */
+    private void drawDemand(int segment) {
+        int numberOfResources = Math.max(1, (int) Math.round((happiness[segment] + 1) / 2 * resourceCount));
+        int demandOffset = segment * wordsPerSegment;
+        Arrays.fill(demand, demandOffset, demandOffset + wordsPerSegment, 0L);
+
+        double totalWeight = 0.0;
+        int offset = segment * resourceCount;
+        for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+            double weight = preferences[offset + resourceIndex] * resources[resourceIndex].priority();
+            demandWeights[resourceIndex] = weight;
+            totalWeight += weight;
+            cumulativeWeights[resourceIndex] = totalWeight;
+        }
+
+        // Without any weight no resource can be demanded
+        if (totalWeight <= 0) {
+            return;
+        }
+
+        if (numberOfResources < ALIAS_TABLE_MIN_DRAWS) {
+            // Building the table does not pay off for a few draws, scan the cumulative weights instead
+            for (int i = 0; i < numberOfResources; i++) {
+                double rand = random.nextDouble() * totalWeight;
+
+                for (int resourceIndex = 0; resourceIndex < resourceCount; resourceIndex++) {
+                    if (rand <= cumulativeWeights[resourceIndex]) {
+                        demand[demandOffset + (resourceIndex >>> 6)] |= 1L << resourceIndex;
+                        break;
+                    }
+                }
+            }
+            return;
+        }
+
+        // The preferences have changed since the last generation, so the table is rebuilt once here
+        demandTable.build(demandWeights, resourceCount);
+        for (int i = 0; i < numberOfResources; i++) {
+            int resourceIndex = demandTable.sample(random);
+            demand[demandOffset + (resourceIndex >>> 6)] |= 1L << resourceIndex;
+        }
+    }
+
+    /**
+     * Grows the arrays so that they can hold at least a given number of segments.
+     * @param requiredCapacity the required number of segments
+     */
+    private void ensureCapacity(int requiredCapacity) {
+        if (requiredCapacity <= happiness.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(requiredCapacity, happiness.length * 2);
+        weights = Arrays.copyOf(weights, newCapacity);
+        happiness = Arrays.copyOf(happiness, newCapacity);
+        preferences = Arrays.copyOf(preferences, newCapacity * resourceCount);
+        demand = Arrays.copyOf(demand, newCapacity * wordsPerSegment);
+    }
+}
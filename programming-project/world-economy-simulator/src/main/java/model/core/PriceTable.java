@@ -0,0 +1,84 @@
+package model.core;
+
+import java.util.Arrays;
+
+/**
+ * PriceTable is a snapshot of the sell prices and available quantities of a country's resources, indexed by
+ * resource ordinal, used while the population is served.
+ * <p>
+ * Selling stock removes its share of the value, so the sell price of a resource does not change while it is sold.
+ * Sales are recorded in the table and settled with the country's storage and funds once serving is done.
+ */
+class PriceTable {
+    private final Country country;
+    private final double[] prices;
+    private final int[] available;
+    private final int[] sold;
+    private double revenue = 0.0;
+
+    /**
+     * Constructs a new, empty PriceTable.
+     * @param country the country whose resources are sold
+     * @param resourceCount the number of registered resources
+     */
+    PriceTable(Country country, int resourceCount) {
+        this.country = country;
+        this.prices = new double[resourceCount];
+        this.available = new int[resourceCount];
+        this.sold = new int[resourceCount];
+    }
+
+    /**
+     * Sets the price and available quantity of a resource.
+     * @param ordinal the ordinal of the resource
+     * @param price the sell price of the resource
+     * @param quantity the quantity of the resource in storage
+     */
+    void set(int ordinal, double price, int quantity) {
+        prices[ordinal] = price;
+        available[ordinal] = quantity;
+    }
+
+    /**
+     * Gets the sell price of a resource.
+     * @param ordinal the ordinal of the resource
+     * @return the sell price of the resource
+     */
+    double getPrice(int ordinal) {
+        return prices[ordinal];
+    }
+
+    /**
+     * Gets the quantity of a resource that is still available to sell.
+     * @param ordinal the ordinal of the resource
+     * @return the available quantity
+     */
+    int getAvailable(int ordinal) {
+        return available[ordinal];
+    }
+
+    /**
+     * Sells a quantity of a resource at its price.
+     * @param ordinal the ordinal of the resource
+     * @param quantity the quantity to sell, at most the available quantity
+     */
+    void sell(int ordinal, int quantity) {
+        available[ordinal] -= quantity;
+        sold[ordinal] += quantity;
+        revenue += quantity * prices[ordinal];
+    }
+
+    /**
+     * Removes the sold resources from the country's storage and adds the revenue to its funds.
+     */
+    void settle() {
+        for (int ordinal = 0; ordinal < sold.length; ordinal++) {
+            if (sold[ordinal] > 0) {
+                country.removeResources(ordinal, sold[ordinal]);
+            }
+        }
+        Arrays.fill(sold, 0);
+        country.addMoney(revenue);
+        revenue = 0.0;
+    }
+}
@@ -6,8 +6,7 @@ package model.core;
 public class ResourceInfo {
     private int quantity;
     private double value;
-    private final int[] supplyArchive;
-    private int currentSize = 0;
+    private final SupplyArchive supplyArchive;
 
     /**
      * Constructs a new ResourceInfo.
@@ -18,7 +17,7 @@ public class ResourceInfo {
     public ResourceInfo(int quantity, double value, int archiveTime) {
         this.quantity = quantity;
         this.value = value;
-        this.supplyArchive = new int[archiveTime];
+        this.supplyArchive = new SupplyArchive(archiveTime);
     }
 
     /**
@@ -38,10 +37,18 @@ public class ResourceInfo {
     }
 
     /**
-     * Gets the supply archive of the resource.
-     * @return the supply archive
+     * Gets a copy of the supply archive of the resource.
+     * @return the archived supplies, newest first
      */
     public int[] getSupplyArchive() {
+        return supplyArchive.toArray();
+    }
+
+    /**
+     * Gets the supply archive of the resource, with constant time access to its samples and aggregates.
+     * @return the supply archive
+     */
+    public SupplyArchive getSupplyHistory() {
         return supplyArchive;
     }
 
@@ -50,7 +57,7 @@ public class ResourceInfo {
      * @return the current size
      */
     public int getCurrentSize() {
-        return currentSize;
+        return supplyArchive.size();
     }
 
     /**
@@ -93,12 +100,6 @@ public class ResourceInfo {
      * Archives the current supply of the resource.
      */
     public void archiveSupply() {
-        if (currentSize < supplyArchive.length) {
-            currentSize++;
-        }
-        for (int i = currentSize - 1; i > 0; i--) {
-            supplyArchive[i] = supplyArchive[i - 1];
-        }
-        supplyArchive[0] = this.getQuantity();
+        supplyArchive.add(this.getQuantity());
     }
 }
\ No newline at end of file
@@ -1,7 +1,5 @@
 package model.core;
 
-import model.simulation.SimulationConfig;
-
 /**
  * ResourceNode represents a node that produces and stores resources for a country.
  * It manages the production, temporary storage, and upgrading of resources.
@@ -20,6 +18,7 @@ public class ResourceNode {
     private final int baseCapacity;
     private final double baseProductionCost;
     private final Resource resource;
+    private final int resourceOrdinal;
     private int tier;
 
     /**
@@ -32,6 +31,7 @@ public class ResourceNode {
         this.country = country;
         this.baseCapacity = resourceNodeDTO.baseCapacity();
         this.resource = resource;
+        this.resourceOrdinal = country.getResourceRegistry().ordinalOf(resource);
         this.baseProductionCost = resourceNodeDTO.productionCost();
         this.tier = resourceNodeDTO.tier();
     }
@@ -68,6 +68,14 @@ public class ResourceNode {
         return resource;
     }
 
+    /**
+     * Gets the ordinal of the produced resource in the country's resource registry.
+     * @return the resource ordinal
+     */
+    int getResourceOrdinal() {
+        return resourceOrdinal;
+    }
+
     /**
      * Gets the base production cost of this resource node.
      * @return the base production cost
@@ -97,7 +105,7 @@ public class ResourceNode {
      * @return the upgrade cost
      */
     double getUpgradeCost() {
-        return (tier + 1) * baseProductionCost * SimulationConfig.getPopulationSegmentSize();
+        return (tier + 1) * baseProductionCost * country.getPopulationSegmentSize();
     }
 
     /**
@@ -114,7 +122,7 @@ public class ResourceNode {
      */
     void collectResources() {
         if (storedResources != 0) {
-            country.addResources(resource, storedResources);
+            country.addResources(resourceOrdinal, storedResources);
         } else {
             daysSinceLastProduction++;
         }
@@ -126,7 +134,7 @@ public class ResourceNode {
      */
     void produceResources(int quantity) {
         double availableMoney = country.getMoney();
-        double actualProductionCost = getProductionCost() * SimulationConfig.getPopulationSegmentSize();
+        double actualProductionCost = getProductionCost() * country.getPopulationSegmentSize();
         int producedQuantity = (int) Math.min(quantity, Math.min(getMaxCapacity(), availableMoney / actualProductionCost));
 
         if (quantity > 0) {
@@ -144,6 +152,7 @@ public class ResourceNode {
         if (country.getMoney() >= upgradeCost) {
             country.subtractMoney(upgradeCost);
             tier++;
+            country.onNodeUpgraded();
         }
     }
 }
\ No newline at end of file
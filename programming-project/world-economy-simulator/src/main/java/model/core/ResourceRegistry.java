@@ -0,0 +1,61 @@
+package model.core;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ResourceRegistry assigns each resource of a simulation a dense ordinal, starting from zero.
+ * Countries share one registry so that per-resource state can be kept in arrays indexed by ordinal
+ * instead of maps keyed by {@link Resource}.
+ */
+public class ResourceRegistry {
+    private final Resource[] resources;
+    private final Map<Resource, Integer> ordinals = new HashMap<>();
+
+    /**
+     * Constructs a new ResourceRegistry. Ordinals are assigned in iteration order, duplicates are ignored.
+     * @param resources the resources to register
+     */
+    public ResourceRegistry(Collection<Resource> resources) {
+        for (Resource resource : resources) {
+            ordinals.putIfAbsent(resource, ordinals.size());
+        }
+
+        this.resources = new Resource[ordinals.size()];
+        for (Map.Entry<Resource, Integer> entry : ordinals.entrySet()) {
+            this.resources[entry.getValue()] = entry.getKey();
+        }
+    }
+
+    /**
+     * Gets the number of registered resources.
+     * @return the number of resources
+     */
+    public int size() {
+        return resources.length;
+    }
+
+    /**
+     * Gets the resource with a given ordinal.
+     * @param ordinal the ordinal of the resource
+     * @return the resource
+     */
+    public Resource getResource(int ordinal) {
+        return resources[ordinal];
+    }
+
+    /**
+     * Gets the ordinal of a resource.
+     * @param resource the resource to get the ordinal for
+     * @return the ordinal of the resource
+     * @throws IllegalArgumentException if the resource is not registered
+     */
+    public int ordinalOf(Resource resource) {
+        Integer ordinal = ordinals.get(resource);
+        if (ordinal == null) {
+            throw new IllegalArgumentException("Resource is not registered: " + resource.name());
+        }
+        return ordinal;
+    }
+}
@@ -0,0 +1,233 @@
+package model.core;
+
+/**
+ * SupplyArchive keeps the most recent supply samples of a resource in a circular buffer.
+ * Appending a sample and reading the newest or oldest one take constant time, and the sum,
+ * exponentially weighted moving average and, optionally, the minimum and maximum of the archived
+ * samples are maintained incrementally as samples are added and evicted.
+ */
+public class SupplyArchive {
+    private final int[] samples;
+    private final double ewmaAlpha;
+    private int size = 0;
+    private long sum = 0;
+    private double ewma = 0.0;
+
+    // Sliding window extremes, kept as monotonic deques of sample sequence numbers
+    private final long[] minDeque;
+    private final long[] maxDeque;
+    private int minHead = 0;
+    private int minSize = 0;
+    private int maxHead = 0;
+    private int maxSize = 0;
+
+    // Number of samples added so far, the newest sample has sequence number sequence - 1
+    private long sequence = 0;
+
+    /**
+     * Constructs a new SupplyArchive without extremes tracking.
+     * The moving average uses the smoothing factor of a window of the same length, 2 / (capacity + 1).
+     * @param capacity the number of samples to keep, must be positive
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public SupplyArchive(int capacity) {
+        this(capacity, 2.0 / (capacity + 1), false);
+    }
+
+    /**
+     * Constructs a new SupplyArchive.
+     * @param capacity the number of samples to keep, must be positive
+     * @param ewmaAlpha the smoothing factor of the moving average, between 0 (exclusive) and 1 (inclusive)
+     * @param trackExtremes whether the minimum and maximum of the archived samples are tracked
+     * @throws IllegalArgumentException if capacity is not positive or ewmaAlpha is out of range
+     */
+    public SupplyArchive(int capacity, double ewmaAlpha, boolean trackExtremes) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        if (ewmaAlpha <= 0 || ewmaAlpha > 1) {
+            throw new IllegalArgumentException("Smoothing factor must be between 0 and 1.");
+        }
+
+        this.samples = new int[capacity];
+        this.ewmaAlpha = ewmaAlpha;
+        this.minDeque = trackExtremes ? new long[capacity] : null;
+        this.maxDeque = trackExtremes ? new long[capacity] : null;
+    }
+
+    /**
+     * Gets the maximum number of samples kept.
+     * @return the capacity
+     */
+    public int capacity() {
+        return samples.length;
+    }
+
+    /**
+     * Gets the number of archived samples.
+     * @return the number of samples
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends a sample, evicting the oldest one if the archive is full.
+     * @param sample the sample to append
+     */
+    public void add(int sample) {
+        int slot = slotOf(sequence);
+        if (size == samples.length) {
+            sum -= samples[slot];
+        } else {
+            size++;
+        }
+
+        samples[slot] = sample;
+        sum += sample;
+        ewma = sequence == 0 ? sample : ewma + ewmaAlpha * (sample - ewma);
+
+        if (minDeque != null) {
+            updateExtremes(sample);
+        }
+        sequence++;
+    }
+
+    /**
+     * Gets an archived sample by its age.
+     * @param age the age of the sample, 0 being the newest
+     * @return the sample
+     * @throws IndexOutOfBoundsException if age is not smaller than the size
+     */
+    public int get(int age) {
+        if (age < 0 || age >= size) {
+            throw new IndexOutOfBoundsException("Age " + age + " out of bounds for size " + size);
+        }
+        return samples[slotOf(sequence - 1 - age)];
+    }
+
+    /**
+     * Gets the most recently archived sample.
+     * @return the newest sample
+     * @throws IndexOutOfBoundsException if the archive is empty
+     */
+    public int newest() {
+        return get(0);
+    }
+
+    /**
+     * Gets the oldest archived sample.
+     * @return the oldest sample
+     * @throws IndexOutOfBoundsException if the archive is empty
+     */
+    public int oldest() {
+        return get(size - 1);
+    }
+
+    /**
+     * Gets the sum of the archived samples.
+     * @return the sum
+     */
+    public long sum() {
+        return sum;
+    }
+
+    /**
+     * Gets the average of the archived samples.
+     * @return the average, or 0 if the archive is empty
+     */
+    public double average() {
+        return size == 0 ? 0.0 : (double) sum / size;
+    }
+
+    /**
+     * Gets the exponentially weighted moving average of all samples added so far.
+     * @return the moving average, or 0 if no sample has been added
+     */
+    public double ewma() {
+        return ewma;
+    }
+
+    /**
+     * Gets the smallest archived sample.
+     * @return the minimum
+     * @throws IllegalStateException if extremes are not tracked or the archive is empty
+     */
+    public int min() {
+        checkExtremesAvailable();
+        return samples[slotOf(minDeque[minHead])];
+    }
+
+    /**
+     * Gets the largest archived sample.
+     * @return the maximum
+     * @throws IllegalStateException if extremes are not tracked or the archive is empty
+     */
+    public int max() {
+        checkExtremesAvailable();
+        return samples[slotOf(maxDeque[maxHead])];
+    }
+
+    /**
+     * Copies the archived samples into a new array.
+     * @return the samples, newest first
+     */
+    public int[] toArray() {
+        int[] copy = new int[size];
+        for (int age = 0; age < size; age++) {
+            copy[age] = samples[slotOf(sequence - 1 - age)];
+        }
+        return copy;
+    }
+
+    /**
+     * Adds the newest sample to the minimum and maximum deques and drops samples that left the window.
+     * @param sample the newest sample
+     */
+    private void updateExtremes(int sample) {
+        long oldestSequence = sequence - samples.length + 1;
+        int capacity = samples.length;
+
+        // Minimum: values increase from head to tail
+        if (minSize > 0 && minDeque[minHead] < oldestSequence) {
+            minHead = minHead + 1 == capacity ? 0 : minHead + 1;
+            minSize--;
+        }
+        while (minSize > 0 && samples[slotOf(minDeque[(minHead + minSize - 1) % capacity])] >= sample) {
+            minSize--;
+        }
+        minDeque[(minHead + minSize++) % capacity] = sequence;
+
+        // Maximum: values decrease from head to tail
+        if (maxSize > 0 && maxDeque[maxHead] < oldestSequence) {
+            maxHead = maxHead + 1 == capacity ? 0 : maxHead + 1;
+            maxSize--;
+        }
+        while (maxSize > 0 && samples[slotOf(maxDeque[(maxHead + maxSize - 1) % capacity])] <= sample) {
+            maxSize--;
+        }
+        maxDeque[(maxHead + maxSize++) % capacity] = sequence;
+    }
+
+    /**
+     * Checks that the minimum and maximum can be read.
+     * @throws IllegalStateException if extremes are not tracked or the archive is empty
+     */
+    private void checkExtremesAvailable() {
+        if (minDeque == null) {
+            throw new IllegalStateException("Extremes are not tracked by this archive.");
+        }
+        if (size == 0) {
+            throw new IllegalStateException("Supply archive is empty.");
+        }
+    }
+
+    /**
+     * Gets the buffer slot of a sample.
+     * @param sampleSequence the sequence number of the sample
+     * @return the slot in the buffer
+     */
+    private int slotOf(long sampleSequence) {
+        return (int) (sampleSequence % samples.length);
+    }
+}
@@ -0,0 +1,232 @@
+package model.core;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * TradeMarket matches the resource bids of countries with the stock other countries have available for export.
+ * <p>
+ * When the market is cleared, every country asks its export price for each resource it has in storage and
+ * bids for the resources it requested in {@link Country#requestResources()}. A buyer's money is split across
+ * its bids in proportion to the bid quantities. Each resource is then cleared in a single pass: bids are filled
+ * in country name order from the cheapest asks, with ties broken by the seller's name. Resources are cleared
+ * independently of each other, optionally in parallel, and the resulting trades are settled afterwards in
+ * resource order, so the outcome does not depend on the order of the country list or on the parallelism.
+ */
+public class TradeMarket {
+    private static final int SEQUENTIAL_THRESHOLD = 4;
+
+    private final List<Country> countries;
+    private final int resourceCount;
+
+    /**
+     * Constructs a new TradeMarket.
+     * @param countries the countries trading on the market
+     * @throws IllegalArgumentException if the countries do not share a resource registry
+     */
+    public TradeMarket(List<Country> countries) {
+        this.countries = new ArrayList<>(countries);
+        this.countries.sort(Comparator.comparing(Country::getName));
+
+        ResourceRegistry resourceRegistry = countries.isEmpty() ? null : countries.getFirst().getResourceRegistry();
+        for (Country country : countries) {
+            if (country.getResourceRegistry() != resourceRegistry) {
+                throw new IllegalArgumentException("Countries on a trade market must share a resource registry.");
+            }
+        }
+        this.resourceCount = resourceRegistry == null ? 0 : resourceRegistry.size();
+    }
+
+    /**
+     * Clears the market, trading resources between the countries based on their current bids and storage.
+     * @param forkJoinPool the pool used to clear resources in parallel, or null to clear them sequentially
+     */
+    public void clear(ForkJoinPool forkJoinPool) {
+        List<List<Ask>> asks = new ArrayList<>(resourceCount);
+        List<List<Bid>> bids = new ArrayList<>(resourceCount);
+        for (int ordinal = 0; ordinal < resourceCount; ordinal++) {
+            asks.add(new ArrayList<>());
+            bids.add(new ArrayList<>());
+        }
+        collectOrders(asks, bids);
+
+        List<List<Trade>> trades = new ArrayList<>(resourceCount);
+        for (int ordinal = 0; ordinal < resourceCount; ordinal++) {
+            trades.add(null);
+        }
+
+        ClearingTask clearingTask = new ClearingTask(asks, bids, trades, 0, resourceCount);
+        if (forkJoinPool == null) {
+            clearingTask.compute();
+        } else {
+            forkJoinPool.invoke(clearingTask);
+        }
+
+        for (int ordinal = 0; ordinal < resourceCount; ordinal++) {
+            for (Trade trade : trades.get(ordinal)) {
+                settle(trade, ordinal);
+            }
+        }
+    }
+
+    /**
+     * Collects the asks and bids of all countries for each resource.
+     * @param asks the asks to fill, indexed by resource ordinal
+     * @param bids the bids to fill, indexed by resource ordinal
+     */
+    private void collectOrders(List<List<Ask>> asks, List<List<Bid>> bids) {
+        for (Country country : countries) {
+            int totalBidQuantity = 0;
+            for (int ordinal = 0; ordinal < resourceCount; ordinal++) {
+                totalBidQuantity += country.getTradeBid(ordinal);
+            }
+
+            for (int ordinal = 0; ordinal < resourceCount; ordinal++) {
+                int bidQuantity = country.getTradeBid(ordinal);
+                if (bidQuantity > 0) {
+                    double budget = country.getMoney() * bidQuantity / totalBidQuantity;
+                    bids.get(ordinal).add(new Bid(country, bidQuantity, budget));
+                    continue;
+                }
+
+                int availableQuantity = (int) country.getResourceQuantity(ordinal);
+                if (availableQuantity > 0) {
+                    asks.get(ordinal).add(new Ask(country, country.getExportPrice(ordinal), availableQuantity));
+                }
+            }
+        }
+    }
+
+    /**
+     * Matches the bids for a resource with its asks.
+     * @param asks the asks for the resource, in country name order
+     * @param bids the bids for the resource, in country name order
+     * @return the resulting trades
+     */
+    private static List<Trade> clearResource(List<Ask> asks, List<Bid> bids) {
+        List<Trade> trades = new ArrayList<>();
+        if (asks.isEmpty() || bids.isEmpty()) {
+            return trades;
+        }
+
+        // The sort is stable, so asks with the same price stay in seller name order
+        asks.sort(Comparator.comparingDouble(Ask::price));
+        int[] remainingAsks = new int[asks.size()];
+        for (int i = 0; i < asks.size(); i++) {
+            remainingAsks[i] = asks.get(i).quantity();
+        }
+
+        int askIndex = 0;
+        for (Bid bid : bids) {
+            int remainingQuantity = bid.quantity();
+            double remainingBudget = bid.budget();
+
+            while (remainingQuantity > 0 && askIndex < asks.size()) {
+                Ask ask = asks.get(askIndex);
+                int quantity = (int) Math.min(remainingQuantity, Math.min(remainingAsks[askIndex], remainingBudget / ask.price()));
+
+                // Later asks are at least as expensive, so the buyer cannot afford any of them
+                if (quantity <= 0) {
+                    break;
+                }
+
+                trades.add(new Trade(ask.seller(), bid.buyer(), quantity, ask.price()));
+                remainingQuantity -= quantity;
+                remainingBudget -= quantity * ask.price();
+                remainingAsks[askIndex] -= quantity;
+                if (remainingAsks[askIndex] == 0) {
+                    askIndex++;
+                }
+            }
+        }
+
+        return trades;
+    }
+
+    /**
+     * Transfers the resources and money of a trade between the seller and the buyer.
+     * @param trade the trade to settle
+     * @param ordinal the ordinal of the traded resource
+     */
+    private static void settle(Trade trade, int ordinal) {
+        double totalCost = trade.quantity() * trade.price();
+
+        trade.seller().removeResources(ordinal, trade.quantity());
+        trade.seller().addMoney(totalCost);
+        trade.buyer().addResources(ordinal, trade.quantity());
+        trade.buyer().subtractMoney(totalCost);
+    }
+
+    /**
+     * An offer to sell a resource.
+     * @param seller the selling country
+     * @param price the price per unit
+     * @param quantity the quantity available
+     */
+    private record Ask(Country seller, double price, int quantity) {
+    }
+
+    /**
+     * An offer to buy a resource.
+     * @param buyer the buying country
+     * @param quantity the quantity requested
+     * @param budget the money the buyer can spend on the resource
+     */
+    private record Bid(Country buyer, int quantity, double budget) {
+    }
+
+    /**
+     * A matched trade of a resource.
+     * @param seller the selling country
+     * @param buyer the buying country
+     * @param quantity the quantity traded
+     * @param price the price per unit
+     */
+    private record Trade(Country seller, Country buyer, int quantity, double price) {
+    }
+
+    /**
+     * ClearingTask clears a range of resources, splitting the range until it is small enough to clear directly.
+     */
+    @SuppressWarnings("serial") // Tasks only live in the fork/join pool and are never serialized
+    private static class ClearingTask extends RecursiveAction {
+        private final List<List<Ask>> asks;
+        private final List<List<Bid>> bids;
+        private final List<List<Trade>> trades;
+        private final int start;
+        private final int end;
+
+        /**
+         * Constructs a new ClearingTask.
+         * @param asks the asks, indexed by resource ordinal
+         * @param bids the bids, indexed by resource ordinal
+         * @param trades the list to store the trades of each resource in, indexed by resource ordinal
+         * @param start the ordinal of the first resource in the range, inclusive
+         * @param end the ordinal of the last resource in the range, exclusive
+         */
+        ClearingTask(List<List<Ask>> asks, List<List<Bid>> bids, List<List<Trade>> trades, int start, int end) {
+            this.asks = asks;
+            this.bids = bids;
+            this.trades = trades;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= SEQUENTIAL_THRESHOLD) {
+                for (int ordinal = start; ordinal < end; ordinal++) {
+                    trades.set(ordinal, clearResource(asks.get(ordinal), bids.get(ordinal)));
+                }
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            invokeAll(new ClearingTask(asks, bids, trades, start, middle),
+                    new ClearingTask(asks, bids, trades, middle, end));
+        }
+    }
+}
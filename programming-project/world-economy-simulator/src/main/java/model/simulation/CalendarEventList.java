@@ -0,0 +1,170 @@
+package model.simulation;
+
+/**
+ * CalendarEventList is an {@link EventList} implemented as a calendar queue with one bucket per day and event type.
+ * <p>
+ * Each event has a key combining its day and the ordinal of its type, which orders events the same way as
+ * {@link Event#compareTo(Event)}. An event is stored in the bucket of its key modulo the number of buckets, and each
+ * bucket is a linked list sorted by key. Because the simulation schedules events on whole days and mostly in the
+ * near future, finding the next event only advances through the buckets of the upcoming keys, and inserting an
+ * event usually appends it to the end of its bucket, even when many events share a day and type. Both take
+ * amortized constant time. The number of buckets doubles when the list holds more than two events per bucket
+ * on average, so that buckets stay short.
+ */
+public class CalendarEventList implements EventList {
+    private static final int INITIAL_BUCKET_COUNT = 16;
+    private static final int MAX_EVENTS_PER_BUCKET = 2;
+    private static final int TYPE_COUNT = EventType.values().length;
+
+    private Event[] heads;
+    private Event[] tails;
+    private int mask;
+    private int size = 0;
+
+    // No event has a smaller key, so the search for the next event starts here
+    private long currentKey = Long.MAX_VALUE;
+
+    /**
+     * Constructs a new, empty CalendarEventList.
+     */
+    public CalendarEventList() {
+        allocateBuckets(INITIAL_BUCKET_COUNT);
+    }
+
+    @Override
+    public void addEvent(Event event) {
+        if (size >= heads.length * MAX_EVENTS_PER_BUCKET) {
+            resize(heads.length * 2);
+        }
+        insert(event);
+        size++;
+        currentKey = Math.min(currentKey, keyOf(event));
+    }
+
+    @Override
+    public Event getNextEvent() {
+        Event event = peekNextEvent();
+        if (event == null) {
+            return null;
+        }
+
+        int bucket = bucketOf(keyOf(event));
+        heads[bucket] = event.next;
+        if (heads[bucket] == null) {
+            tails[bucket] = null;
+        }
+        event.next = null;
+        size--;
+        if (size == 0) {
+            currentKey = Long.MAX_VALUE;
+        }
+        return event;
+    }
+
+    @Override
+    public Event peekNextEvent() {
+        if (size == 0) {
+            return null;
+        }
+
+        // The head of a bucket is its earliest event. When it has the key being searched, no other bucket
+        // can hold an earlier event, since the buckets of all keys in between held no event with those keys.
+        for (int offset = 0; offset < heads.length; offset++) {
+            long key = currentKey + offset;
+            Event head = heads[bucketOf(key)];
+            if (head != null && keyOf(head) == key) {
+                currentKey = key;
+                return head;
+            }
+        }
+
+        // No event within a full round of the buckets, so the earliest head is found directly
+        Event earliest = null;
+        for (Event head : heads) {
+            if (head != null && (earliest == null || head.compareTo(earliest) < 0)) {
+                earliest = head;
+            }
+        }
+        currentKey = keyOf(earliest);
+        return earliest;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Inserts an event into its bucket, after the events that are ordered before or equal to it.
+     * @param event the event to insert
+     */
+    private void insert(Event event) {
+        int bucket = bucketOf(keyOf(event));
+        Event tail = tails[bucket];
+
+        if (tail == null) {
+            heads[bucket] = event;
+            tails[bucket] = event;
+            event.next = null;
+        } else if (event.compareTo(tail) >= 0) {
+            tail.next = event;
+            tails[bucket] = event;
+            event.next = null;
+        } else if (event.compareTo(heads[bucket]) < 0) {
+            event.next = heads[bucket];
+            heads[bucket] = event;
+        } else {
+            Event previous = heads[bucket];
+            while (event.compareTo(previous.next) >= 0) {
+                previous = previous.next;
+            }
+            event.next = previous.next;
+            previous.next = event;
+        }
+    }
+
+    /**
+     * Gets the key of an event, combining its time and the ordinal of its type.
+     * @param event the event
+     * @return the key of the event
+     */
+    private static long keyOf(Event event) {
+        return (long) event.getTime() * TYPE_COUNT + event.getType().ordinal();
+    }
+
+    /**
+     * Gets the bucket of a key.
+     * @param key the key
+     * @return the index of the bucket
+     */
+    private int bucketOf(long key) {
+        return (int) (key & mask);
+    }
+
+    /**
+     * Changes the number of buckets, redistributing the events.
+     * @param bucketCount the new number of buckets, a power of two
+     */
+    private void resize(int bucketCount) {
+        Event[] oldHeads = heads;
+        allocateBuckets(bucketCount);
+        for (Event head : oldHeads) {
+            Event event = head;
+            while (event != null) {
+                Event next = event.next;
+                insert(event);
+                event = next;
+            }
+        }
+    }
+
+    /**
+     * Allocates empty buckets.
+     * @param bucketCount the number of buckets, a power of two
+     */
+    private void allocateBuckets(int bucketCount) {
+        heads = new Event[bucketCount];
+        tails = new Event[bucketCount];
+        mask = bucketCount - 1;
+    }
+}
@@ -1,34 +1,34 @@
 package model.simulation;
 
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
- * Clock represents a singleton clock that keeps track of the simulation time.
+ * Clock keeps track of the time of a single simulation run.
  * It manages the current time and the paused state of the simulation.
+ * The state is read by the user interface while the simulation thread updates it, so it is kept volatile.
+ * <p>
+ * A paused simulation thread blocks in {@link #awaitRunning()} until the clock is resumed, so it does not use any
+ * CPU while paused. Besides pausing and resuming, the clock can be told to run a number of days or up to a target
+ * day at full speed, after which it pauses itself.
  */
 public class Clock {
-    private static Clock instance;
-    private int time;
-    private boolean paused;
+    private static final int NO_TARGET = Integer.MAX_VALUE;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition running = lock.newCondition();
+    private volatile int time;
+    private volatile boolean paused;
+    private volatile int targetTime = NO_TARGET;
 
     /**
-     * Constructs a new Clock.
-     * This constructor is private to enforce the singleton pattern.
+     * Constructs a new Clock, starting at time 0.
      */
-    private Clock() {
+    public Clock() {
         this.time = 0;
         this.paused = false;
     }
 
-    /**
-     * Gets the singleton instance of the Clock.
-     * @return the singleton instance
-     */
-    public static Clock getInstance() {
-        if (instance == null) {
-            instance = new Clock();
-        }
-        return instance;
-    }
-
     /**
      * Gets the current time of the simulation.
      * @return the current time
@@ -54,16 +54,104 @@ public class Clock {
     }
 
     /**
-     * Pauses the clock.
+     * Checks if the clock is running towards a target day set with {@link #step(int)} or {@link #runUntil(int)}.
+     * Until the target is reached, the simulation runs without a delay between days.
+     * @return true if the clock has a target day, false otherwise
+     */
+    public boolean isFastForwarding() {
+        return targetTime != NO_TARGET;
+    }
+
+    /**
+     * Pauses the clock. A target day set with {@link #step(int)} or {@link #runUntil(int)} is cleared.
      */
     public void pause() {
-        paused = true;
+        lock.lock();
+        try {
+            paused = true;
+            targetTime = NO_TARGET;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
-     * Resumes the clock.
+     * Resumes the clock, waking up the simulation thread immediately.
+     * A target day set with {@link #step(int)} or {@link #runUntil(int)} is cleared.
      */
     public void resume() {
-        paused = false;
+        lock.lock();
+        try {
+            paused = false;
+            targetTime = NO_TARGET;
+            running.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the simulation for a number of days at full speed, then pauses the clock.
+     * @param days the number of days to run, must be positive
+     * @throws IllegalArgumentException if days is not positive
+     */
+    public void step(int days) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("Number of days must be positive");
+        }
+        runUntil((int) Math.min((long) time + days, NO_TARGET - 1));
+    }
+
+    /**
+     * Runs the simulation at full speed until a target day has been completed, then pauses the clock.
+     * @param day the target day, must be after the current time
+     * @throws IllegalArgumentException if the target day is not after the current time
+     */
+    public void runUntil(int day) {
+        lock.lock();
+        try {
+            if (day <= time) {
+                throw new IllegalArgumentException("Target day must be after the current day");
+            }
+            targetTime = day;
+            paused = false;
+            running.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks if the clock has reached its target day, after which it pauses itself.
+     * @return true if the target day has been reached, false otherwise or if there is no target
+     */
+    public boolean hasReachedTarget() {
+        return time >= targetTime;
+    }
+
+    /**
+     * Blocks the calling thread while the clock is paused. When the target day has been reached,
+     * the clock pauses itself before blocking.
+     * @return true if the thread was blocked, false if the clock was already running
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    boolean awaitRunning() throws InterruptedException {
+        lock.lock();
+        try {
+            boolean blocked = false;
+            while (true) {
+                if (time >= targetTime) {
+                    paused = true;
+                    targetTime = NO_TARGET;
+                }
+                if (!paused) {
+                    return blocked;
+                }
+                running.await();
+                blocked = true;
+            }
+        } finally {
+            lock.unlock();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,185 @@
+package model.simulation;
+
+/**
+ * EconomyParameters holds the constants of the economic model of a simulation run, such as taxes, margins and
+ * the happiness thresholds of the population. The defaults are the values the model was tuned with.
+ * @param personInitialHappiness the happiness of newly created population segments, between -1 and 1
+ * @param personBaseBudget the base budget of a population segment, must be positive
+ * @param countryProfitMargin the margin a country adds to the value of the resources it sells, cannot be negative
+ * @param countryIndividualTax the share of a segment's budget taken as tax, between 0 and 1 (exclusive)
+ * @param baseExportTax the tax added to the value of exported resources, cannot be negative
+ * @param preferenceAdjustmentProbability the share of preferences adjusted each day, between 0 and 1
+ * @param preferenceAdjustmentRange the range of a single preference adjustment, cannot be negative
+ * @param maxHappinessChange the largest change of happiness per day, cannot be negative
+ * @param populationChangeThreshold the happiness above which a segment grows and below whose negation it shrinks,
+ *                                  between 0 and 1
+ * @param populationChangePercentage the share of a segment added or removed when it grows or shrinks, between 0 and 1
+ */
+public record EconomyParameters(double personInitialHappiness, double personBaseBudget, double countryProfitMargin,
+                                double countryIndividualTax, double baseExportTax,
+                                double preferenceAdjustmentProbability, double preferenceAdjustmentRange,
+                                double maxHappinessChange, double populationChangeThreshold,
+                                double populationChangePercentage) {
+    /**
+     * The parameters the model was tuned with.
+     */
+    public static final EconomyParameters DEFAULT = new EconomyParameters(0, 10, 0.1, 0.3, 0.2,
+            0.2, 0.1, 0.05, 0.6, 0.01);
+
+    /**
+     * Constructs new EconomyParameters.
+     * @throws IllegalArgumentException if any of the parameters is out of range
+     */
+    public EconomyParameters {
+        if (personInitialHappiness < -1 || personInitialHappiness > 1) {
+            throw new IllegalArgumentException("Initial happiness must be between -1 and 1");
+        }
+        if (personBaseBudget <= 0) {
+            throw new IllegalArgumentException("Base budget must be positive");
+        }
+        if (countryProfitMargin < 0) {
+            throw new IllegalArgumentException("Profit margin cannot be negative");
+        }
+        if (countryIndividualTax < 0 || countryIndividualTax >= 1) {
+            throw new IllegalArgumentException("Individual tax must be at least 0 and below 1");
+        }
+        if (baseExportTax < 0) {
+            throw new IllegalArgumentException("Export tax cannot be negative");
+        }
+        if (preferenceAdjustmentProbability < 0 || preferenceAdjustmentProbability > 1) {
+            throw new IllegalArgumentException("Preference adjustment probability must be between 0 and 1");
+        }
+        if (preferenceAdjustmentRange < 0) {
+            throw new IllegalArgumentException("Preference adjustment range cannot be negative");
+        }
+        if (maxHappinessChange < 0) {
+            throw new IllegalArgumentException("Maximum happiness change cannot be negative");
+        }
+        if (populationChangeThreshold < 0 || populationChangeThreshold > 1) {
+            throw new IllegalArgumentException("Population change threshold must be between 0 and 1");
+        }
+        if (populationChangePercentage < 0 || populationChangePercentage > 1) {
+            throw new IllegalArgumentException("Population change percentage must be between 0 and 1");
+        }
+    }
+
+    /**
+     * Creates a copy of these parameters with a different initial happiness.
+     * @param newPersonInitialHappiness the initial happiness of the copy, between -1 and 1
+     * @return the created parameters
+     * @throws IllegalArgumentException if the new initial happiness is not between -1 and 1
+     */
+    public EconomyParameters withPersonInitialHappiness(double newPersonInitialHappiness) {
+        return new EconomyParameters(newPersonInitialHappiness, personBaseBudget, countryProfitMargin,
+                countryIndividualTax, baseExportTax, preferenceAdjustmentProbability, preferenceAdjustmentRange,
+                maxHappinessChange, populationChangeThreshold, populationChangePercentage);
+    }
+
+    /**
+     * Creates a copy of these parameters with a different base budget.
+     * @param newPersonBaseBudget the base budget of the copy, must be positive
+     * @return the created parameters
+     * @throws IllegalArgumentException if the new base budget is not positive
+     */
+    public EconomyParameters withPersonBaseBudget(double newPersonBaseBudget) {
+        return new EconomyParameters(personInitialHappiness, newPersonBaseBudget, countryProfitMargin,
+                countryIndividualTax, baseExportTax, preferenceAdjustmentProbability, preferenceAdjustmentRange,
+                maxHappinessChange, populationChangeThreshold, populationChangePercentage);
+    }
+
+    /**
+     * Creates a copy of these parameters with a different profit margin.
+     * @param newCountryProfitMargin the profit margin of the copy, cannot be negative
+     * @return the created parameters
+     * @throws IllegalArgumentException if the new profit margin is negative
+     */
+    public EconomyParameters withCountryProfitMargin(double newCountryProfitMargin) {
+        return new EconomyParameters(personInitialHappiness, personBaseBudget, newCountryProfitMargin,
+                countryIndividualTax, baseExportTax, preferenceAdjustmentProbability, preferenceAdjustmentRange,
+                maxHappinessChange, populationChangeThreshold, populationChangePercentage);
+    }
+
+    /**
+     * Creates a copy of these parameters with a different individual tax.
+     * @param newCountryIndividualTax the individual tax of the copy, between 0 and 1 (exclusive)
+     * @return the created parameters
+     * @throws IllegalArgumentException if the new individual tax is not at least 0 and below 1
+     */
+    public EconomyParameters withCountryIndividualTax(double newCountryIndividualTax) {
+        return new EconomyParameters(personInitialHappiness, personBaseBudget, countryProfitMargin,
+                newCountryIndividualTax, baseExportTax, preferenceAdjustmentProbability, preferenceAdjustmentRange,
+                maxHappinessChange, populationChangeThreshold, populationChangePercentage);
+    }
+
+    /**
+     * Creates a copy of these parameters with a different export tax.
+     * @param newBaseExportTax the export tax of the copy, cannot be negative
+     * @return the created parameters
+     * @throws IllegalArgumentException if the new export tax is negative
+     */
+    public EconomyParameters withBaseExportTax(double newBaseExportTax) {
+        return new EconomyParameters(personInitialHappiness, personBaseBudget, countryProfitMargin,
+                countryIndividualTax, newBaseExportTax, preferenceAdjustmentProbability, preferenceAdjustmentRange,
+                maxHappinessChange, populationChangeThreshold, populationChangePercentage);
+    }
+
+    /**
+     * Creates a copy of these parameters with a different preference adjustment probability.
+     * @param newPreferenceAdjustmentProbability the preference adjustment probability of the copy, between 0 and 1
+     * @return the created parameters
+     * @throws IllegalArgumentException if the new preference adjustment probability is not between 0 and 1
+     */
+    public EconomyParameters withPreferenceAdjustmentProbability(double newPreferenceAdjustmentProbability) {
+        return new EconomyParameters(personInitialHappiness, personBaseBudget, countryProfitMargin,
+                countryIndividualTax, baseExportTax, newPreferenceAdjustmentProbability, preferenceAdjustmentRange,
+                maxHappinessChange, populationChangeThreshold, populationChangePercentage);
+    }
+
+    /**
+     * Creates a copy of these parameters with a different preference adjustment range.
+     * @param newPreferenceAdjustmentRange the preference adjustment range of the copy, cannot be negative
+     * @return the created parameters
+     * @throws IllegalArgumentException if the new preference adjustment range is negative
+     */
+    public EconomyParameters withPreferenceAdjustmentRange(double newPreferenceAdjustmentRange) {
+        return new EconomyParameters(personInitialHappiness, personBaseBudget, countryProfitMargin,
+                countryIndividualTax, baseExportTax, preferenceAdjustmentProbability, newPreferenceAdjustmentRange,
+                maxHappinessChange, populationChangeThreshold, populationChangePercentage);
+    }
+
+    /**
+     * Creates a copy of these parameters with a different maximum happiness change.
+     * @param newMaxHappinessChange the maximum happiness change of the copy, cannot be negative
+     * @return the created parameters
+     * @throws IllegalArgumentException if the new maximum happiness change is negative
+     */
+    public EconomyParameters withMaxHappinessChange(double newMaxHappinessChange) {
+        return new EconomyParameters(personInitialHappiness, personBaseBudget, countryProfitMargin,
+                countryIndividualTax, baseExportTax, preferenceAdjustmentProbability, preferenceAdjustmentRange,
+                newMaxHappinessChange, populationChangeThreshold, populationChangePercentage);
+    }
+
+    /**
+     * Creates a copy of these parameters with a different population change threshold.
+     * @param newPopulationChangeThreshold the population change threshold of the copy, between 0 and 1
+     * @return the created parameters
+     * @throws IllegalArgumentException if the new population change threshold is not between 0 and 1
+     */
+    public EconomyParameters withPopulationChangeThreshold(double newPopulationChangeThreshold) {
+        return new EconomyParameters(personInitialHappiness, personBaseBudget, countryProfitMargin,
+                countryIndividualTax, baseExportTax, preferenceAdjustmentProbability, preferenceAdjustmentRange,
+                maxHappinessChange, newPopulationChangeThreshold, populationChangePercentage);
+    }
+
+    /**
+     * Creates a copy of these parameters with a different population change percentage.
+     * @param newPopulationChangePercentage the population change percentage of the copy, between 0 and 1
+     * @return the created parameters
+     * @throws IllegalArgumentException if the new population change percentage is not between 0 and 1
+     */
+    public EconomyParameters withPopulationChangePercentage(double newPopulationChangePercentage) {
+        return new EconomyParameters(personInitialHappiness, personBaseBudget, countryProfitMargin,
+                countryIndividualTax, baseExportTax, preferenceAdjustmentProbability, preferenceAdjustmentRange,
+                maxHappinessChange, populationChangeThreshold, newPopulationChangePercentage);
+    }
+}
@@ -0,0 +1,235 @@
+package model.simulation;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * EnsembleResult aggregates the daily state of the countries over the runs of an ensemble.
+ * Every sampled day keeps online estimators of the mean, standard deviation and the 5th, 50th and 95th percentiles
+ * of each metric of each country, so the memory used does not grow with the number of runs.
+ * The percentiles are exact for ensembles of up to 50 runs and estimated beyond that.
+ * The estimators of a day are created when the day is first recorded, so days that no run has reached yet take no
+ * memory.
+ */
+public class EnsembleResult {
+    private static final double CONFIDENCE_Z = 1.96;
+    private static final Band EMPTY_BAND = new Band(0, 0.0, 0.0, 0.0, 0.0, Double.NaN, Double.NaN, Double.NaN);
+
+    /**
+     * Metric represents a tracked property of a country.
+     */
+    public enum Metric {
+        MONEY,
+        POPULATION,
+        HAPPINESS
+    }
+
+    /**
+     * Band describes the distribution of a metric over the runs on a single day.
+     * @param runs the number of runs the band is based on
+     * @param mean the mean over the runs
+     * @param standardDeviation the sample standard deviation over the runs
+     * @param lowerConfidence the lower bound of the 95% confidence interval of the mean
+     * @param upperConfidence the upper bound of the 95% confidence interval of the mean
+     * @param p5 the estimated 5th percentile
+     * @param p50 the estimated median
+     * @param p95 the estimated 95th percentile
+     */
+    public record Band(long runs, double mean, double standardDeviation, double lowerConfidence,
+                       double upperConfidence, double p5, double p50, double p95) {
+    }
+
+    private final List<String> countryNames;
+    private final int sampleInterval;
+    private final DayAggregate[][] aggregates;
+
+    /**
+     * Constructs a new, empty EnsembleResult.
+     * @param countryNames the names of the countries, in the order they are recorded in
+     * @param days the number of simulated days
+     * @param sampleInterval the number of days between sampled days, must be positive
+     * @throws IllegalArgumentException if sampleInterval is not positive
+     */
+    EnsembleResult(List<String> countryNames, int days, int sampleInterval) {
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive.");
+        }
+        this.countryNames = List.copyOf(countryNames);
+        this.sampleInterval = sampleInterval;
+        this.aggregates = new DayAggregate[days / sampleInterval][countryNames.size()];
+    }
+
+    /**
+     * Checks whether a day is sampled.
+     * @param day the day to check
+     * @return true if the state of the day is recorded, false otherwise
+     */
+    boolean isSampled(int day) {
+        return day > 0 && day % sampleInterval == 0 && day / sampleInterval <= aggregates.length;
+    }
+
+    /**
+     * Records the state of a country at the end of a sampled day of a run. Runs may record concurrently.
+     * @param day the sampled day
+     * @param country the index of the country
+     * @param money the money of the country
+     * @param population the population of the country
+     * @param happiness the average happiness of the country
+     */
+    void record(int day, int country, double money, double population, double happiness) {
+        aggregateOf(day / sampleInterval - 1, country).add(money, population, happiness);
+    }
+
+    /**
+     * Gets the aggregate of a country on a sampled day, creating it if the day has not been recorded yet.
+     * @param sample the index of the sampled day
+     * @param country the index of the country
+     * @return the aggregate
+     */
+    private synchronized DayAggregate aggregateOf(int sample, int country) {
+        DayAggregate aggregate = aggregates[sample][country];
+        if (aggregate == null) {
+            aggregate = new DayAggregate();
+            aggregates[sample][country] = aggregate;
+        }
+        return aggregate;
+    }
+
+    /**
+     * Gets the band of a metric of a country on a sampled day.
+     * @param sample the index of the sampled day
+     * @param country the index of the country
+     * @param metric the metric
+     * @return the band, with no runs if the day has not been recorded
+     */
+    private Band bandOf(int sample, int country, Metric metric) {
+        DayAggregate aggregate;
+        synchronized (this) {
+            aggregate = aggregates[sample][country];
+        }
+        return aggregate != null ? aggregate.getBand(metric) : EMPTY_BAND;
+    }
+
+    /**
+     * Gets the names of the countries in the result.
+     * @return the country names
+     */
+    public List<String> getCountryNames() {
+        return countryNames;
+    }
+
+    /**
+     * Gets the number of days between sampled days.
+     * @return the sample interval
+     */
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Gets the distribution of a metric of a country on a sampled day.
+     * @param day the sampled day
+     * @param countryName the name of the country
+     * @param metric the metric
+     * @return the band of the metric
+     * @throws IllegalArgumentException if the country is unknown or the day is not sampled
+     */
+    public Band getBand(int day, String countryName, Metric metric) {
+        int country = countryNames.indexOf(countryName);
+        if (country == -1) {
+            throw new IllegalArgumentException("Unknown country: " + countryName);
+        }
+        if (!isSampled(day)) {
+            throw new IllegalArgumentException("Day " + day + " is not sampled.");
+        }
+        return bandOf(day / sampleInterval - 1, country, metric);
+    }
+
+    /**
+     * Writes the bands of all sampled days, countries and metrics as comma-separated values with a header line.
+     * @param writer the writer to write to
+     * @throws IOException if writing fails
+     */
+    public void writeCsv(Writer writer) throws IOException {
+        writer.write("day,country,metric,runs,mean,stddev,ci95_low,ci95_high,p5,p50,p95\n");
+        for (int sample = 0; sample < aggregates.length; sample++) {
+            int day = (sample + 1) * sampleInterval;
+            for (int country = 0; country < countryNames.size(); country++) {
+                for (Metric metric : Metric.values()) {
+                    Band band = bandOf(sample, country, metric);
+                    writer.write(String.format(Locale.ROOT, "%d,%s,%s,%d,%.6f,%.6f,%.6f,%.6f,%.6f,%.6f,%.6f%n",
+                            day, countryNames.get(country), metric, band.runs(), band.mean(),
+                            band.standardDeviation(), band.lowerConfidence(), band.upperConfidence(),
+                            band.p5(), band.p50(), band.p95()));
+                }
+            }
+        }
+    }
+
+    /**
+     * DayAggregate holds the estimators of all metrics of one country on one sampled day.
+     */
+    private static class DayAggregate {
+        private final RunningStatistics[] statistics = new RunningStatistics[Metric.values().length];
+        private final P2Quantile[] p5 = new P2Quantile[Metric.values().length];
+        private final P2Quantile[] p50 = new P2Quantile[Metric.values().length];
+        private final P2Quantile[] p95 = new P2Quantile[Metric.values().length];
+
+        /**
+         * Constructs a new, empty DayAggregate.
+         */
+        DayAggregate() {
+            for (int metric = 0; metric < statistics.length; metric++) {
+                statistics[metric] = new RunningStatistics();
+                p5[metric] = new P2Quantile(0.05);
+                p50[metric] = new P2Quantile(0.5);
+                p95[metric] = new P2Quantile(0.95);
+            }
+        }
+
+        /**
+         * Adds the state of the country in one run.
+         * @param money the money of the country
+         * @param population the population of the country
+         * @param happiness the average happiness of the country
+         */
+        synchronized void add(double money, double population, double happiness) {
+            add(Metric.MONEY, money);
+            add(Metric.POPULATION, population);
+            add(Metric.HAPPINESS, happiness);
+        }
+
+        /**
+         * Adds a value of a metric to its estimators.
+         * @param metric the metric
+         * @param value the value to add
+         */
+        private void add(Metric metric, double value) {
+            int index = metric.ordinal();
+            statistics[index].add(value);
+            p5[index].add(value);
+            p50[index].add(value);
+            p95[index].add(value);
+        }
+
+        /**
+         * Gets the band of a metric.
+         * @param metric the metric
+         * @return the band
+         */
+        synchronized Band getBand(Metric metric) {
+            int index = metric.ordinal();
+            RunningStatistics metricStatistics = statistics[index];
+            double margin = metricStatistics.getCount() > 0
+                    ? CONFIDENCE_Z * metricStatistics.getStandardDeviation() / Math.sqrt(metricStatistics.getCount())
+                    : 0.0;
+
+            return new Band(metricStatistics.getCount(), metricStatistics.getMean(),
+                    metricStatistics.getStandardDeviation(), metricStatistics.getMean() - margin,
+                    metricStatistics.getMean() + margin, p5[index].getQuantile(), p50[index].getQuantile(),
+                    p95[index].getQuantile());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package model.simulation;
+
+import model.core.Country;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * EnsembleRunner runs many independently seeded simulations of the same scenario in parallel and aggregates
+ * the daily state of the countries into an {@link EnsembleResult}.
+ * <p>
+ * Each run gets its own {@link SimulationContext}, so runs share nothing but the result they record into.
+ * The seeds of the runs are derived from a base seed, so an ensemble can be repeated. The percentile estimates
+ * depend slightly on the order in which concurrent runs record their days; the means and deviations do not.
+ */
+public class EnsembleRunner {
+    private final Scenario scenario;
+    private final SimulationParameters parameters;
+    private final int runs;
+    private final int threads;
+    private final int sampleInterval;
+
+    /**
+     * Constructs a new EnsembleRunner.
+     * @param scenario the scenario to run
+     * @param parameters the parameters of every run; the seed is used as the base seed of the ensemble
+     * @param runs the number of runs, must be positive
+     * @param threads the number of runs executed at the same time, must be positive
+     * @param sampleInterval the number of days between the days recorded in the result, must be positive
+     * @throws IllegalArgumentException if runs, threads or sampleInterval is not positive
+     */
+    public EnsembleRunner(Scenario scenario, SimulationParameters parameters, int runs, int threads, int sampleInterval) {
+        if (runs <= 0) {
+            throw new IllegalArgumentException("Number of runs must be positive.");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive.");
+        }
+        if (sampleInterval <= 0) {
+            throw new IllegalArgumentException("Sample interval must be positive.");
+        }
+
+        this.scenario = scenario;
+        this.parameters = parameters;
+        this.runs = runs;
+        this.threads = threads;
+        this.sampleInterval = sampleInterval;
+    }
+
+    /**
+     * Runs the ensemble and waits for all runs to finish.
+     * @return the aggregated result of the runs
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * @throws RuntimeException if a run fails
+     */
+    public EnsembleResult run() throws InterruptedException {
+        List<String> countryNames = scenario.countries().stream().map(Scenario.CountryDefinition::name).toList();
+        EnsembleResult result = new EnsembleResult(countryNames, parameters.simulationTime(), sampleInterval);
+
+        SplittableRandom seeds = new SplittableRandom(parameters.seed());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(runs);
+            for (int run = 0; run < runs; run++) {
+                SimulationParameters runParameters = parameters.withSeed(seeds.nextLong());
+                futures.add(executor.submit(() -> runOnce(runParameters, result)));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Ensemble run failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return result;
+    }
+
+    /**
+     * Runs a single simulation, recording its sampled days into the result.
+     * @param runParameters the parameters of the run
+     * @param result the result to record into
+     */
+    private void runOnce(SimulationParameters runParameters, EnsembleResult result) {
+        SimulationContext context = scenario.createContext(runParameters);
+        List<Country> countries = scenario.createCountries(context);
+
+        SimulationListener listener = new SimulationListener() {
+            @Override
+            public void onDayCompleted(int day) {
+                if (!result.isSampled(day)) {
+                    return;
+                }
+                for (int country = 0; country < countries.size(); country++) {
+                    Country recordedCountry = countries.get(country);
+                    result.record(day, country, recordedCountry.getMoney(), recordedCountry.getPopulation(),
+                            recordedCountry.getAverageHappiness());
+                }
+            }
+
+            @Override
+            public void onSimulationEnded() {
+                // Nothing to finish, every sampled day has already been recorded
+            }
+        };
+
+        Simulator simulator = new Simulator(context, listener, scenario.resources(), countries, false);
+        simulator.setProgressLogged(false);
+        simulator.runSimulation();
+    }
+}
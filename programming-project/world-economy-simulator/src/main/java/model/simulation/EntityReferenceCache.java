@@ -0,0 +1,105 @@
+package model.simulation;
+
+import dao.CountryDao;
+import dao.ResourceDao;
+import entity.CountryEntity;
+import entity.ResourceEntity;
+import model.core.Country;
+import model.core.Resource;
+import model.core.ResourceNode;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EntityReferenceCache maps the countries and resources of a run to their database entities, so that the metrics
+ * refer to them without a query per row. The entities are loaded once when the run starts, and countries or
+ * resources missing from the database are persisted then.
+ */
+public class EntityReferenceCache {
+    private final CountryDao countryDao;
+    private final ResourceDao resourceDao;
+    private final Map<Country, CountryEntity> countryEntities = new IdentityHashMap<>();
+    private final Map<Resource, ResourceEntity> resourceEntities = new HashMap<>();
+    private final Map<String, CountryEntity> countryEntitiesByName = new HashMap<>();
+    private final Map<String, ResourceEntity> resourceEntitiesByName = new HashMap<>();
+
+    /**
+     * Constructs a new EntityReferenceCache.
+     * @param countryDao the DAO the countries are loaded with
+     * @param resourceDao the DAO the resources are loaded with
+     */
+    public EntityReferenceCache(CountryDao countryDao, ResourceDao resourceDao) {
+        this.countryDao = countryDao;
+        this.resourceDao = resourceDao;
+    }
+
+    /**
+     * Loads the entities of the countries of a run and of their resources, with a single query per table.
+     * @param countries the countries of the run
+     * @param resources the resources of the run
+     */
+    public void load(List<Country> countries, List<Resource> resources) {
+        for (CountryEntity countryEntity : countryDao.findAll()) {
+            countryEntitiesByName.put(countryEntity.getName(), countryEntity);
+        }
+        for (ResourceEntity resourceEntity : resourceDao.findAll()) {
+            resourceEntitiesByName.put(resourceEntity.getName(), resourceEntity);
+        }
+
+        for (Resource resource : resources) {
+            getResource(resource);
+        }
+        for (Country country : countries) {
+            getCountry(country);
+            for (Resource resource : country.getResourceStorage().keySet()) {
+                getResource(resource);
+            }
+            for (ResourceNode resourceNode : country.getResourceNodes()) {
+                getResource(resourceNode.getResource());
+            }
+        }
+    }
+
+    /**
+     * Gets the entity of a country, persisting the country if it is not in the database yet.
+     * @param country the country
+     * @return the entity of the country
+     */
+    public CountryEntity getCountry(Country country) {
+        CountryEntity countryEntity = countryEntities.get(country);
+        if (countryEntity == null) {
+            countryEntity = countryEntitiesByName.get(country.getName());
+            if (countryEntity == null) {
+                countryEntity = new CountryEntity(country.getName(), country.getMoney(), country.getPopulation());
+                countryDao.persist(countryEntity);
+                countryEntitiesByName.put(country.getName(), countryEntity);
+            }
+            countryEntities.put(country, countryEntity);
+        }
+        return countryEntity;
+    }
+
+    /**
+     * Gets the entity of a resource, persisting the resource if it is not in the database yet.
+     * @param resource the resource
+     * @return the entity of the resource
+     */
+    public ResourceEntity getResource(Resource resource) {
+        ResourceEntity resourceEntity = resourceEntities.get(resource);
+        if (resourceEntity == null) {
+            resourceEntity = resourceEntitiesByName.get(resource.name());
+            if (resourceEntity == null) {
+                resourceDao.persist(new ResourceEntity(resource.name(), resource.priority(), resource.baseCapacity(),
+                        resource.productionCost()));
+                // The DAO merges the resource, so the generated id is only on the stored copy
+                resourceEntity = resourceDao.findByName(resource.name());
+                resourceEntitiesByName.put(resource.name(), resourceEntity);
+            }
+            resourceEntities.put(resource, resourceEntity);
+        }
+        return resourceEntity;
+    }
+}
@@ -3,19 +3,35 @@ package model.simulation;
 /**
  * Event represents an event in the simulation with a specific type and time.
  * It is used to schedule and manage events within the simulation.
+ * A recurring event has a period and is rescheduled after it has been processed, instead of being replaced
+ * by a new event, so the event objects of a run are reused.
  */
 public class Event implements Comparable<Event> {
-    private final EventType type;
-    private final int time;
+    private EventType type;
+    private int time;
+    private int period;
+
+    // Link to the next event in a bucket of a CalendarEventList, or in the free list of an EventPool
+    Event next;
 
     /**
-     * Constructs a new Event.
+     * Constructs a new one-time Event.
      * @param type the type of the event
      * @param time the time at which the event occurs
      */
     public Event(EventType type, int time) {
-        this.type = type;
-        this.time = time;
+        this(type, time, 0);
+    }
+
+    /**
+     * Constructs a new Event.
+     * @param type the type of the event
+     * @param time the time at which the event occurs
+     * @param period the number of days between occurrences of the event, or 0 if it occurs only once
+     * @throws IllegalArgumentException if the period is negative
+     */
+    public Event(EventType type, int time, int period) {
+        set(type, time, period);
     }
 
     /**
@@ -34,6 +50,46 @@ public class Event implements Comparable<Event> {
         return time;
     }
 
+    /**
+     * Gets the number of days between occurrences of the event.
+     * @return the period, or 0 if the event occurs only once
+     */
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * Checks whether the event recurs after it has been processed.
+     * @return true if the event has a period, false otherwise
+     */
+    public boolean isRecurring() {
+        return period > 0;
+    }
+
+    /**
+     * Moves the event to a new time. An event must only be rescheduled while it is not in an event list.
+     * @param newTime the new time of the event
+     */
+    public void reschedule(int newTime) {
+        this.time = newTime;
+    }
+
+    /**
+     * Sets all fields of the event, so that a pooled event can be reused.
+     * @param newType the type of the event
+     * @param newTime the time at which the event occurs
+     * @param newPeriod the number of days between occurrences of the event, or 0 if it occurs only once
+     * @throws IllegalArgumentException if the period is negative
+     */
+    final void set(EventType newType, int newTime, int newPeriod) {
+        if (newPeriod < 0) {
+            throw new IllegalArgumentException("Event period cannot be negative");
+        }
+        this.type = newType;
+        this.time = newTime;
+        this.period = newPeriod;
+    }
+
     /**
      * Compares this event to another event based on time and type.
      * @param other the other event to compare to
@@ -47,4 +103,4 @@ public class Event implements Comparable<Event> {
         }
         return Integer.compare(this.type.ordinal(), other.type.ordinal());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,13 @@
+package model.simulation;
+
+/**
+ * EventHandler performs the action of an event type when an event of that type is processed by a {@link Simulator}.
+ */
+@FunctionalInterface
+public interface EventHandler {
+    /**
+     * Handles an event. A recurring event is rescheduled after it has been handled.
+     * @param event the event to handle
+     */
+    void handle(Event event);
+}
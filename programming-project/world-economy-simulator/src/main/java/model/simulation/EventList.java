@@ -1,51 +1,39 @@
 package model.simulation;
 
-import java.util.PriorityQueue;
-
 /**
- * EventList represents a list of events in the simulation, managed as a priority queue.
- * It provides methods to add, retrieve, and check events in the queue.
+ * EventList represents a list of events in the simulation, ordered by time and, within the same time, by type.
+ * It provides methods to add, retrieve, and check events in the list.
  */
-public class EventList {
-    private final PriorityQueue<Event> eventQueue = new PriorityQueue<>();
-
+public interface EventList {
     /**
-     * Adds an event to the event queue.
+     * Adds an event to the event list.
      * @param event the event to add
      */
-    public void addEvent(Event event) {
-        eventQueue.add(event);
-    }
+    void addEvent(Event event);
 
     /**
-     * Retrieves and removes the next event from the event queue.
-     * @return the next event, or null if the queue is empty
+     * Retrieves and removes the next event from the event list.
+     * @return the next event, or null if the list is empty
      */
-    public Event getNextEvent() {
-        return eventQueue.poll();
-    }
+    Event getNextEvent();
 
     /**
-     * Checks if there are more events in the event queue.
-     * @return true if there are more events, false otherwise
+     * Peeks at the next event in the event list without removing it.
+     * @return the next event, or null if the list is empty
      */
-    public boolean hasMoreEvents() {
-        return !eventQueue.isEmpty();
-    }
+    Event peekNextEvent();
 
     /**
-     * Peeks at the next event in the event queue without removing it.
-     * @return the next event, or null if the queue is empty
+     * Gets the number of events in the event list.
+     * @return the number of events
      */
-    public Event peekNextEvent() {
-        return eventQueue.peek();
-    }
+    int size();
 
     /**
-     * Gets the event queue.
-     * @return the event queue
+     * Checks if there are more events in the event list.
+     * @return true if there are more events, false otherwise
      */
-    public PriorityQueue<Event> getEventQueue() {
-        return eventQueue;
+    default boolean hasMoreEvents() {
+        return size() > 0;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package model.simulation;
+
+/**
+ * EventPool recycles the one-time events of a simulation, so scheduling them does not allocate once the pool
+ * has warmed up. Recurring events do not need the pool, since they are rescheduled instead of replaced.
+ */
+class EventPool {
+    private Event free;
+
+    /**
+     * Gets an event from the pool, or creates one if the pool is empty.
+     * @param type the type of the event
+     * @param time the time at which the event occurs
+     * @param period the number of days between occurrences of the event, or 0 if it occurs only once
+     * @return the event
+     * @throws IllegalArgumentException if the period is negative
+     */
+    Event obtain(EventType type, int time, int period) {
+        if (free == null) {
+            return new Event(type, time, period);
+        }
+
+        Event event = free;
+        free = event.next;
+        event.next = null;
+        event.set(type, time, period);
+        return event;
+    }
+
+    /**
+     * Returns an event that is no longer used to the pool.
+     * @param event the event to return, which must not be in an event list
+     */
+    void release(Event event) {
+        event.next = free;
+        free = event;
+    }
+}
@@ -23,5 +23,15 @@ public enum EventType {
     /**
      * Event type for requesting resources based on demand and supply changes.
      */
-    REQUEST_RESOURCES
+    REQUEST_RESOURCES,
+
+    /**
+     * Event type for running a whole day of each country in a single pass, replacing the four events above.
+     */
+    RUN_COUNTRY_DAY,
+
+    /**
+     * Event type for trading the requested resources between countries.
+     */
+    TRADE_RESOURCES
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package model.simulation;
+
+import java.util.Arrays;
+
+/**
+ * P2Quantile estimates a quantile of a stream of values with the P² algorithm of Jain and Chlamtac,
+ * keeping only five markers instead of the values themselves.
+ * Until more than {@value #EXACT_LIMIT} values have been added, the values are kept and the quantile is computed
+ * exactly from them, as the markers only converge after many values. The kept values are allocated as they arrive
+ * and released once the markers take over.
+ */
+public class P2Quantile {
+    private static final int EXACT_LIMIT = 50;
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final double probability;
+    private double[] values;
+    private final double[] heights = new double[5];
+    private final int[] positions = new int[5];
+    private final double[] desiredPositions = new double[5];
+    private final double[] increments;
+    private int count = 0;
+
+    /**
+     * Constructs a new P2Quantile.
+     * @param probability the probability of the quantile to estimate, between 0 and 1 (exclusive)
+     * @throws IllegalArgumentException if probability is not between 0 and 1
+     */
+    public P2Quantile(double probability) {
+        if (probability <= 0 || probability >= 1) {
+            throw new IllegalArgumentException("Quantile probability must be between 0 and 1.");
+        }
+        this.probability = probability;
+        this.increments = new double[]{0, probability / 2, probability, (1 + probability) / 2, 1};
+    }
+
+    /**
+     * Adds a value to the estimate.
+     * @param value the value to add
+     */
+    public void add(double value) {
+        if (count < EXACT_LIMIT) {
+            if (values == null) {
+                values = new double[INITIAL_CAPACITY];
+            } else if (count == values.length) {
+                values = Arrays.copyOf(values, Math.min(2 * values.length, EXACT_LIMIT));
+            }
+            values[count++] = value;
+            return;
+        }
+        if (count == EXACT_LIMIT) {
+            initializeMarkers();
+        }
+
+        // Find the cell the value falls into, extending the extreme markers if needed
+        int cell;
+        if (value < heights[0]) {
+            heights[0] = value;
+            cell = 0;
+        } else if (value >= heights[4]) {
+            heights[4] = value;
+            cell = 3;
+        } else {
+            cell = 0;
+            while (value >= heights[cell + 1]) {
+                cell++;
+            }
+        }
+
+        for (int i = cell + 1; i < 5; i++) {
+            positions[i]++;
+        }
+        for (int i = 0; i < 5; i++) {
+            desiredPositions[i] += increments[i];
+        }
+
+        // Move the middle markers towards their desired positions
+        for (int i = 1; i <= 3; i++) {
+            double offset = desiredPositions[i] - positions[i];
+            if ((offset >= 1 && positions[i + 1] - positions[i] > 1) || (offset <= -1 && positions[i - 1] - positions[i] < -1)) {
+                int step = offset >= 0 ? 1 : -1;
+                double height = parabolicHeight(i, step);
+                if (heights[i - 1] < height && height < heights[i + 1]) {
+                    heights[i] = height;
+                } else {
+                    heights[i] = heights[i] + step * (heights[i + step] - heights[i]) / (positions[i + step] - positions[i]);
+                }
+                positions[i] += step;
+            }
+        }
+        count++;
+    }
+
+    /**
+     * Gets the number of values added.
+     * @return the number of values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the estimated quantile.
+     * @return the estimated quantile, or NaN if no value has been added
+     */
+    public double getQuantile() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (count <= EXACT_LIMIT) {
+            double[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.round(probability * (count - 1))];
+        }
+        return heights[2];
+    }
+
+    /**
+     * Places the markers on the kept values, at the minimum, the maximum, the quantile and halfway between them.
+     */
+    private void initializeMarkers() {
+        double[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        for (int i = 0; i < 5; i++) {
+            desiredPositions[i] = (count - 1) * increments[i];
+            // Keep the markers on distinct values even for probabilities close to 0 or 1
+            int position = (int) Math.round(desiredPositions[i]);
+            position = Math.max(position, i == 0 ? 0 : positions[i - 1] + 1);
+            positions[i] = Math.min(position, count - 5 + i);
+            heights[i] = sorted[positions[i]];
+        }
+        values = null;
+    }
+
+    /**
+     * Computes the piecewise-parabolic prediction of a marker's height after moving it by one position.
+     * @param marker the index of the marker
+     * @param step the direction of the move, 1 or -1
+     * @return the predicted height
+     */
+    private double parabolicHeight(int marker, int step) {
+        double previousGap = positions[marker] - positions[marker - 1];
+        double nextGap = positions[marker + 1] - positions[marker];
+        double totalGap = positions[marker + 1] - positions[marker - 1];
+
+        return heights[marker] + step / totalGap
+                * ((previousGap + step) * (heights[marker + 1] - heights[marker]) / nextGap
+                + (nextGap - step) * (heights[marker] - heights[marker - 1]) / previousGap);
+    }
+}
@@ -0,0 +1,109 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * ParameterSweep creates the points of a parameter sweep, either as a full grid or as a Latin hypercube sample.
+ */
+public class ParameterSweep {
+    private ParameterSweep() {
+    }
+
+    /**
+     * Creates the points of a full grid, one for every combination of the given values.
+     * The last parameter varies fastest.
+     * @param values the values of each swept parameter
+     * @return the points of the grid
+     * @throws IllegalArgumentException if a parameter has no values
+     */
+    public static List<SweepPoint> grid(Map<SweepParameter, double[]> values) {
+        List<SweepParameter> parameters = new ArrayList<>(values.keySet());
+        int pointCount = 1;
+        for (SweepParameter parameter : parameters) {
+            if (values.get(parameter).length == 0) {
+                throw new IllegalArgumentException("Sweep parameter has no values: " + parameter.getKey());
+            }
+            pointCount = Math.multiplyExact(pointCount, values.get(parameter).length);
+        }
+
+        List<SweepPoint> points = new ArrayList<>(pointCount);
+        for (int index = 0; index < pointCount; index++) {
+            Map<SweepParameter, Double> pointValues = new EnumMap<>(SweepParameter.class);
+            int remainder = index;
+            for (int i = parameters.size() - 1; i >= 0; i--) {
+                double[] parameterValues = values.get(parameters.get(i));
+                pointValues.put(parameters.get(i), parameterValues[remainder % parameterValues.length]);
+                remainder /= parameterValues.length;
+            }
+            points.add(new SweepPoint(index, pointValues));
+        }
+        return points;
+    }
+
+    /**
+     * Creates the points of a Latin hypercube sample. The range of every parameter is split into as many strata
+     * as there are points, and each stratum is sampled exactly once, so even a small sample covers every range.
+     * Values of integral parameters are rounded.
+     * @param ranges the range of each swept parameter, as an array of its minimum and maximum
+     * @param samples the number of points, must be positive
+     * @param seed the seed of the sample
+     * @return the points of the sample
+     * @throws IllegalArgumentException if samples is not positive or a range is invalid
+     */
+    public static List<SweepPoint> latinHypercube(Map<SweepParameter, double[]> ranges, int samples, long seed) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("Number of samples must be positive.");
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Map<SweepParameter, Double>> pointValues = new ArrayList<>(samples);
+        for (int index = 0; index < samples; index++) {
+            pointValues.add(new EnumMap<>(SweepParameter.class));
+        }
+
+        for (Map.Entry<SweepParameter, double[]> entry : ranges.entrySet()) {
+            SweepParameter parameter = entry.getKey();
+            double[] range = entry.getValue();
+            if (range.length != 2 || range[0] > range[1]) {
+                throw new IllegalArgumentException("Sweep parameter range must be a minimum and a maximum: "
+                        + parameter.getKey());
+            }
+
+            int[] strata = shuffledStrata(samples, random);
+            for (int index = 0; index < samples; index++) {
+                double value = range[0] + (strata[index] + random.nextDouble()) / samples * (range[1] - range[0]);
+                pointValues.get(index).put(parameter, parameter.isIntegral() ? Math.round(value) : value);
+            }
+        }
+
+        List<SweepPoint> points = new ArrayList<>(samples);
+        for (int index = 0; index < samples; index++) {
+            points.add(new SweepPoint(index, pointValues.get(index)));
+        }
+        return points;
+    }
+
+    /**
+     * Creates a random permutation of the strata of a dimension.
+     * @param samples the number of strata
+     * @param random the random stream of the sample
+     * @return the stratum of each point
+     */
+    private static int[] shuffledStrata(int samples, SplittableRandom random) {
+        int[] strata = new int[samples];
+        for (int i = 0; i < samples; i++) {
+            strata[i] = i;
+        }
+        for (int i = samples - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = strata[i];
+            strata[i] = strata[j];
+            strata[j] = swap;
+        }
+        return strata;
+    }
+}
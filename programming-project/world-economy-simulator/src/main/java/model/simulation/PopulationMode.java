@@ -0,0 +1,28 @@
+package model.simulation;
+
+/**
+ * PopulationMode determines how the population of each country is represented during a run.
+ */
+public enum PopulationMode {
+    /**
+     * Every population segment keeps its own happiness, preferences and demand.
+     */
+    SEGMENTS,
+
+    /**
+     * Segments with the same state are kept together as weighted cohorts that share their random draws, split when
+     * a resource runs out part way through a cohort and merge again when their states come within a tolerance.
+     * The work per day grows with the number of distinct states instead of the number of segments.
+     * This is an approximation of {@link #SEGMENTS}: the members of a cohort share their preference adjustments
+     * and demand, so their outcomes are perfectly correlated and the results vary more from day to day.
+     */
+    COHORTS,
+
+    /**
+     * The population is represented by a happiness distribution and shared preferences, and its demand is sampled
+     * for the whole country at once. The work per day no longer grows with the number of segments, at the cost
+     * of individual segment state. This is an approximation of {@link #SEGMENTS}: during lasting shortages the
+     * happiness distribution is somewhat narrower than when segments are served one by one.
+     */
+    AGGREGATE
+}
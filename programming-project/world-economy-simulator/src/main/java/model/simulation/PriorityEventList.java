@@ -0,0 +1,31 @@
+package model.simulation;
+
+import java.util.PriorityQueue;
+
+/**
+ * PriorityEventList is an {@link EventList} managed as a binary-heap priority queue,
+ * with logarithmic insertion and removal.
+ */
+public class PriorityEventList implements EventList {
+    private final PriorityQueue<Event> eventQueue = new PriorityQueue<>();
+
+    @Override
+    public void addEvent(Event event) {
+        eventQueue.add(event);
+    }
+
+    @Override
+    public Event getNextEvent() {
+        return eventQueue.poll();
+    }
+
+    @Override
+    public Event peekNextEvent() {
+        return eventQueue.peek();
+    }
+
+    @Override
+    public int size() {
+        return eventQueue.size();
+    }
+}
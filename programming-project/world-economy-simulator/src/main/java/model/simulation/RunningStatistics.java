@@ -0,0 +1,54 @@
+package model.simulation;
+
+/**
+ * RunningStatistics computes the mean and variance of a stream of values in a single pass using Welford's algorithm,
+ * without storing the values.
+ */
+public class RunningStatistics {
+    private long count = 0;
+    private double mean = 0.0;
+    private double squaredDeviations = 0.0;
+
+    /**
+     * Adds a value to the statistics.
+     * @param value the value to add
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (value - mean);
+    }
+
+    /**
+     * Gets the number of values added.
+     * @return the number of values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean of the values added.
+     * @return the mean, or 0 if no value has been added
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Gets the sample variance of the values added.
+     * @return the sample variance, or 0 if fewer than two values have been added
+     */
+    public double getVariance() {
+        return count > 1 ? squaredDeviations / (count - 1) : 0.0;
+    }
+
+    /**
+     * Gets the sample standard deviation of the values added.
+     * @return the sample standard deviation, or 0 if fewer than two values have been added
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+}
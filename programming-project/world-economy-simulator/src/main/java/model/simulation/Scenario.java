@@ -0,0 +1,61 @@
+package model.simulation;
+
+import model.core.Country;
+import model.core.Resource;
+import model.core.ResourceNodeDTO;
+import model.core.ResourceRegistry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scenario describes the starting state of a simulation: the available resources and the countries.
+ * Countries are kept as definitions so that fresh {@link Country} objects can be created for every run.
+ * @param resources the resources available in the simulation
+ * @param countries the definitions of the countries taking part in the simulation
+ */
+public record Scenario(List<Resource> resources, List<CountryDefinition> countries) {
+    /**
+     * CountryDefinition holds the initial properties of a country and the resource nodes it owns.
+     * @param name the name of the country
+     * @param money the initial amount of money
+     * @param population the initial population
+     * @param ownedResources the resource nodes owned by the country, keyed by resource
+     */
+    public record CountryDefinition(String name, double money, long population,
+                                    Map<Resource, ResourceNodeDTO> ownedResources) {
+    }
+
+    /**
+     * Creates a new context for a run of this scenario, with a registry of the scenario's resources.
+     * @param parameters the parameters of the run
+     * @return the created context
+     */
+    public SimulationContext createContext(SimulationParameters parameters) {
+        return new SimulationContext(parameters, new ResourceRegistry(resources));
+    }
+
+    /**
+     * Creates new countries from the definitions of this scenario.
+     * Every country starts with an empty storage of each resource in the scenario.
+     * @param context the context of the run the countries take part in
+     * @return the created countries, in definition order
+     */
+    public List<Country> createCountries(SimulationContext context) {
+        List<Country> createdCountries = new ArrayList<>();
+
+        for (CountryDefinition definition : countries) {
+            Map<Resource, Integer> starterResources = new HashMap<>();
+            for (Resource resource : resources) {
+                starterResources.put(resource, 0);
+            }
+
+            createdCountries.add(new Country(definition.name(), definition.money(), definition.population(),
+                    starterResources, definition.ownedResources(), context));
+        }
+
+        return createdCountries;
+    }
+}
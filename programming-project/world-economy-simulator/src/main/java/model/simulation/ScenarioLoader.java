@@ -0,0 +1,141 @@
+package model.simulation;
+
+import dao.CountryDao;
+import dao.ResourceDao;
+import dao.ResourceNodeDao;
+import entity.CountryEntity;
+import entity.ResourceEntity;
+import entity.ResourceNodeEntity;
+import model.core.Resource;
+import model.core.ResourceNodeDTO;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * ScenarioLoader builds {@link Scenario} objects from the database or from a plain text file.
+ * <p>
+ * A scenario file contains one comma-separated entry per line. Empty lines and lines starting with {@code #} are ignored.
+ * <pre>
+ * resource,&lt;name&gt;,&lt;priority&gt;,&lt;baseCapacity&gt;,&lt;productionCost&gt;
+ * country,&lt;name&gt;,&lt;money&gt;,&lt;population&gt;
+ * node,&lt;countryName&gt;,&lt;resourceName&gt;,&lt;tier&gt;,&lt;baseCapacity&gt;,&lt;productionCost&gt;
+ * </pre>
+ * Resources and countries must be declared before the nodes referring to them.
+ */
+public class ScenarioLoader {
+    private ScenarioLoader() {
+    }
+
+    /**
+     * Loads the resources, countries and resource nodes stored in the database.
+     * @return the loaded scenario
+     */
+    public static Scenario fromDatabase() {
+        Map<String, Resource> resources = new LinkedHashMap<>();
+        for (ResourceEntity resourceEntity : new ResourceDao().findAll()) {
+            resources.put(resourceEntity.getName(), toResource(resourceEntity));
+        }
+
+        Map<String, Map<Resource, ResourceNodeDTO>> ownedResources = new HashMap<>();
+        for (ResourceNodeEntity resourceNodeEntity : new ResourceNodeDao().findAll()) {
+            CountryEntity countryEntity = resourceNodeEntity.getCountry();
+            ResourceEntity resourceEntity = resourceNodeEntity.getResource();
+            if (countryEntity == null || resourceEntity == null) {
+                continue;
+            }
+
+            Resource resource = toResource(resourceEntity);
+            ownedResources.computeIfAbsent(countryEntity.getName(), k -> new HashMap<>())
+                    .put(resource, new ResourceNodeDTO(resourceNodeEntity.getTier(),
+                            resourceNodeEntity.getBaseCapacity(), resourceNodeEntity.getBaseProductionCost(), resource));
+        }
+
+        List<Scenario.CountryDefinition> countries = new ArrayList<>();
+        for (CountryEntity countryEntity : new CountryDao().findAll()) {
+            countries.add(new Scenario.CountryDefinition(countryEntity.getName(), countryEntity.getMoney(),
+                    countryEntity.getPopulation(), ownedResources.getOrDefault(countryEntity.getName(), new HashMap<>())));
+        }
+
+        return new Scenario(new ArrayList<>(resources.values()), countries);
+    }
+
+    /**
+     * Loads a scenario from a plain text file.
+     * @param path the path of the scenario file
+     * @return the loaded scenario
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file contains an invalid entry
+     */
+    public static Scenario fromFile(Path path) throws IOException {
+        Map<String, Resource> resources = new LinkedHashMap<>();
+        Map<String, Scenario.CountryDefinition> countries = new LinkedHashMap<>();
+
+        List<String> lines = Files.readAllLines(path);
+        for (int lineNumber = 1; lineNumber <= lines.size(); lineNumber++) {
+            String line = lines.get(lineNumber - 1).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] fields = line.split(",");
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = fields[i].trim();
+            }
+
+            try {
+                switch (fields[0]) {
+                    case "resource" -> {
+                        requireFieldCount(fields, 5);
+                        resources.put(fields[1], new Resource(fields[1], Double.parseDouble(fields[2]),
+                                Integer.parseInt(fields[3]), Double.parseDouble(fields[4])));
+                    }
+                    case "country" -> {
+                        requireFieldCount(fields, 4);
+                        countries.put(fields[1], new Scenario.CountryDefinition(fields[1],
+                                Double.parseDouble(fields[2]), Long.parseLong(fields[3]), new HashMap<>()));
+                    }
+                    case "node" -> {
+                        requireFieldCount(fields, 6);
+                        Scenario.CountryDefinition country = countries.get(fields[1]);
+                        Resource resource = resources.get(fields[2]);
+                        if (country == null || resource == null) {
+                            throw new IllegalArgumentException("Unknown country or resource: " + fields[1] + ", " + fields[2]);
+                        }
+                        country.ownedResources().put(resource, new ResourceNodeDTO(Integer.parseInt(fields[3]),
+                                Integer.parseInt(fields[4]), Double.parseDouble(fields[5]), resource));
+                    }
+                    default -> throw new IllegalArgumentException("Unknown entry type: " + fields[0]);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid scenario entry on line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+
+        return new Scenario(new ArrayList<>(resources.values()), new ArrayList<>(countries.values()));
+    }
+
+    /**
+     * Converts a resource entity into a resource.
+     * @param resourceEntity the entity to convert
+     * @return the corresponding resource
+     */
+    private static Resource toResource(ResourceEntity resourceEntity) {
+        return new Resource(resourceEntity.getName(), resourceEntity.getPriority(),
+                resourceEntity.getBaseCapacity(), resourceEntity.getProductionCost());
+    }
+
+    /**
+     * Checks that a scenario entry has the expected number of fields.
+     * @param fields the fields of the entry
+     * @param expectedCount the expected number of fields
+     * @throws IllegalArgumentException if the number of fields does not match
+     */
+    private static void requireFieldCount(String[] fields, int expectedCount) {
+        if (fields.length != expectedCount) {
+            throw new IllegalArgumentException("Expected " + expectedCount + " fields but found " + fields.length);
+        }
+    }
+}
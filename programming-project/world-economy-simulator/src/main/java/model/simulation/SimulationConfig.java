@@ -1,7 +1,9 @@
 package model.simulation;
 
+import java.util.SplittableRandom;
+
 /**
- * SimulationConfig provides configuration settings for the simulation, including simulation time, delay, supply archive time, and population segment size.
+ * SimulationConfig provides configuration settings for the simulation, including simulation time, delay, supply archive time, population segment size, parallelism, fused tick mode, random seed, and population mode.
  * It offers getters and setters for these configuration parameters.
  */
 public class SimulationConfig {
@@ -9,6 +11,10 @@ public class SimulationConfig {
     private static int simulationDelay = 100;
     private static int supplyArchiveTime = 128;
     private static int populationSegmentSize = 100_000;
+    private static int parallelism = 1;
+    private static boolean fusedTick = false;
+    private static long seed = new SplittableRandom().nextLong();
+    private static PopulationMode populationMode = PopulationMode.SEGMENTS;
 
     /**
      * Gets the total simulation time.
@@ -42,6 +48,39 @@ public class SimulationConfig {
         return populationSegmentSize;
     }
 
+    /**
+     * Gets the number of threads used to process the countries during each event.
+     * @return the parallelism, 1 when the countries are processed sequentially
+     */
+    public static int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Checks whether each country runs its whole day in a single pass instead of one pass per event.
+     * @return true if the fused tick mode is enabled, false otherwise
+     */
+    public static boolean isFusedTick() {
+        return fusedTick;
+    }
+
+    /**
+     * Gets the master seed from which all random streams of a run are derived.
+     * Runs with the same seed and configuration produce the same results.
+     * @return the random seed
+     */
+    public static long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets how the population of each country is represented.
+     * @return the population mode
+     */
+    public static PopulationMode getPopulationMode() {
+        return populationMode;
+    }
+
     /**
      * Sets the total simulation time.
      * @param newSimulationTime the new simulation time, must be positive
@@ -56,12 +95,13 @@ public class SimulationConfig {
 
     /**
      * Sets the delay between simulation steps.
-     * @param newSimulationDelay the new simulation delay, must be positive
-     * @throws IllegalArgumentException if the new simulation delay is not positive
+     * A delay of zero runs the simulation without pausing between steps.
+     * @param newSimulationDelay the new simulation delay, cannot be negative
+     * @throws IllegalArgumentException if the new simulation delay is negative
      */
     public static void setSimulationDelay(int newSimulationDelay) {
-        if (newSimulationDelay <= 0) {
-            throw new IllegalArgumentException("Simulation delay must be positive");
+        if (newSimulationDelay < 0) {
+            throw new IllegalArgumentException("Simulation delay cannot be negative");
         }
         simulationDelay = newSimulationDelay;
     }
@@ -89,4 +129,46 @@ public class SimulationConfig {
         }
         populationSegmentSize = newPopulationSegmentSize;
     }
+
+    /**
+     * Sets the number of threads used to process the countries during each event.
+     * A parallelism of 1 processes the countries sequentially on the simulation thread.
+     * @param newParallelism the new parallelism, must be positive
+     * @throws IllegalArgumentException if the new parallelism is not positive
+     */
+    public static void setParallelism(int newParallelism) {
+        if (newParallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        parallelism = newParallelism;
+    }
+
+    /**
+     * Sets whether each country runs its whole day in a single pass instead of one pass per event.
+     * Both modes produce the same results.
+     * @param newFusedTick true to enable the fused tick mode, false to disable it
+     */
+    public static void setFusedTick(boolean newFusedTick) {
+        fusedTick = newFusedTick;
+    }
+
+    /**
+     * Sets the master seed from which all random streams of a run are derived.
+     * @param newSeed the new random seed
+     */
+    public static void setSeed(long newSeed) {
+        seed = newSeed;
+    }
+
+    /**
+     * Sets how the population of each country is represented.
+     * @param newPopulationMode the new population mode, cannot be null
+     * @throws IllegalArgumentException if the new population mode is null
+     */
+    public static void setPopulationMode(PopulationMode newPopulationMode) {
+        if (newPopulationMode == null) {
+            throw new IllegalArgumentException("Population mode cannot be null");
+        }
+        populationMode = newPopulationMode;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package model.simulation;
+
+import model.core.ResourceRegistry;
+
+import java.util.SplittableRandom;
+
+/**
+ * SimulationContext holds everything that belongs to a single simulation run: its clock, parameters,
+ * resource registry, and the seed of its random streams. Every country and the simulator of a run share
+ * one context, so independent simulations can run side by side in the same JVM.
+ */
+public class SimulationContext {
+    private final Clock clock = new Clock();
+    private final SimulationParameters parameters;
+    private final ResourceRegistry resourceRegistry;
+    private volatile int simulationDelay;
+    private volatile TickMode tickMode = TickMode.FIXED_RATE;
+
+    /**
+     * Constructs a new SimulationContext.
+     * @param parameters the parameters of the run
+     * @param resourceRegistry the registry of the resources in the run
+     */
+    public SimulationContext(SimulationParameters parameters, ResourceRegistry resourceRegistry) {
+        this.parameters = parameters;
+        this.resourceRegistry = resourceRegistry;
+        this.simulationDelay = parameters.simulationDelay();
+    }
+
+    /**
+     * Gets the clock of the run.
+     * @return the clock
+     */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Gets the parameters of the run.
+     * @return the parameters
+     */
+    public SimulationParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Gets the registry of the resources in the run.
+     * @return the resource registry
+     */
+    public ResourceRegistry getResourceRegistry() {
+        return resourceRegistry;
+    }
+
+    /**
+     * Gets the current delay between simulation steps. It starts at the delay given in the parameters.
+     * @return the simulation delay
+     */
+    public int getSimulationDelay() {
+        return simulationDelay;
+    }
+
+    /**
+     * Sets the delay between simulation steps while the simulation is running.
+     * @param newSimulationDelay the new simulation delay, cannot be negative
+     * @throws IllegalArgumentException if the new simulation delay is negative
+     */
+    public void setSimulationDelay(int newSimulationDelay) {
+        if (newSimulationDelay < 0) {
+            throw new IllegalArgumentException("Simulation delay cannot be negative");
+        }
+        simulationDelay = newSimulationDelay;
+    }
+
+    /**
+     * Gets the current tick mode of the run. It starts in {@link TickMode#FIXED_RATE}.
+     * @return the tick mode
+     */
+    public TickMode getTickMode() {
+        return tickMode;
+    }
+
+    /**
+     * Sets the tick mode while the simulation is running.
+     * @param newTickMode the new tick mode, cannot be null
+     * @throws IllegalArgumentException if the new tick mode is null
+     */
+    public void setTickMode(TickMode newTickMode) {
+        if (newTickMode == null) {
+            throw new IllegalArgumentException("Tick mode cannot be null");
+        }
+        tickMode = newTickMode;
+    }
+
+    /**
+     * Creates an independent random stream derived from the seed of the run and a stream name.
+     * The same seed and name always produce the same stream.
+     * @param streamName the name of the stream, such as the name of a country
+     * @return the random stream
+     */
+    public SplittableRandom createRandom(String streamName) {
+        return new SplittableRandom(parameters.seed() ^ streamName.hashCode() * 0x9E3779B97F4A7C15L);
+    }
+}
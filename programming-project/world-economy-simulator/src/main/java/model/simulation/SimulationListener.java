@@ -0,0 +1,18 @@
+package model.simulation;
+
+/**
+ * SimulationListener receives progress notifications from a running {@link Simulator}.
+ * It decouples the simulation loop from the user interface, so the simulation can also run headless.
+ */
+public interface SimulationListener {
+    /**
+     * Called after all events of a simulated day have been processed.
+     * @param day the day that was completed
+     */
+    void onDayCompleted(int day);
+
+    /**
+     * Called once after the last simulated day, when the simulation has ended.
+     */
+    void onSimulationEnded();
+}
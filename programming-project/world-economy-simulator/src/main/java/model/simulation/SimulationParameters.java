@@ -0,0 +1,122 @@
+package model.simulation;
+
+/**
+ * SimulationParameters holds the configuration of a single simulation run.
+ * Unlike {@link SimulationConfig}, which holds the settings edited in the user interface,
+ * the parameters cannot change once a simulation has been created.
+ * @param simulationTime the total simulation time, must be positive
+ * @param simulationDelay the initial delay between simulation steps, cannot be negative
+ * @param supplyArchiveTime the length of the supply archive, must be positive
+ * @param populationSegmentSize the size of a population segment, must be positive
+ * @param parallelism the number of threads used to process the countries, must be positive
+ * @param fusedTick whether each country runs its whole day in a single pass
+ * @param seed the master seed from which all random streams of the run are derived
+ * @param economy the constants of the economic model, cannot be null
+ * @param populationMode how the population of each country is represented, cannot be null
+ */
+public record SimulationParameters(int simulationTime, int simulationDelay, int supplyArchiveTime,
+                                   int populationSegmentSize, int parallelism, boolean fusedTick, long seed,
+                                   EconomyParameters economy, PopulationMode populationMode) {
+    /**
+     * Constructs new SimulationParameters.
+     * @throws IllegalArgumentException if any of the parameters is out of range
+     */
+    public SimulationParameters {
+        if (simulationTime <= 0) {
+            throw new IllegalArgumentException("Simulation time must be positive");
+        }
+        if (simulationDelay < 0) {
+            throw new IllegalArgumentException("Simulation delay cannot be negative");
+        }
+        if (supplyArchiveTime <= 0) {
+            throw new IllegalArgumentException("Supply archive time must be positive");
+        }
+        if (populationSegmentSize <= 0) {
+            throw new IllegalArgumentException("Population segment size must be positive");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        if (economy == null) {
+            throw new IllegalArgumentException("Economy parameters cannot be null");
+        }
+        if (populationMode == null) {
+            throw new IllegalArgumentException("Population mode cannot be null");
+        }
+    }
+
+    /**
+     * Constructs new SimulationParameters with the default economy parameters and population segments.
+     * @throws IllegalArgumentException if any of the parameters is out of range
+     */
+    public SimulationParameters(int simulationTime, int simulationDelay, int supplyArchiveTime,
+                                int populationSegmentSize, int parallelism, boolean fusedTick, long seed) {
+        this(simulationTime, simulationDelay, supplyArchiveTime, populationSegmentSize, parallelism, fusedTick, seed,
+                EconomyParameters.DEFAULT, PopulationMode.SEGMENTS);
+    }
+
+    /**
+     * Creates parameters from the current settings in {@link SimulationConfig}.
+     * @return the created parameters
+     */
+    public static SimulationParameters fromConfig() {
+        return new SimulationParameters(SimulationConfig.getSimulationTime(), SimulationConfig.getSimulationDelay(),
+                SimulationConfig.getSupplyArchiveTime(), SimulationConfig.getPopulationSegmentSize(),
+                SimulationConfig.getParallelism(), SimulationConfig.isFusedTick(), SimulationConfig.getSeed(),
+                EconomyParameters.DEFAULT, SimulationConfig.getPopulationMode());
+    }
+
+    /**
+     * Creates a copy of these parameters with a different seed.
+     * @param newSeed the seed of the copy
+     * @return the created parameters
+     */
+    public SimulationParameters withSeed(long newSeed) {
+        return new SimulationParameters(simulationTime, simulationDelay, supplyArchiveTime, populationSegmentSize,
+                parallelism, fusedTick, newSeed, economy, populationMode);
+    }
+
+    /**
+     * Creates a copy of these parameters with a different population segment size.
+     * @param newPopulationSegmentSize the population segment size of the copy, must be positive
+     * @return the created parameters
+     * @throws IllegalArgumentException if the new population segment size is not positive
+     */
+    public SimulationParameters withPopulationSegmentSize(int newPopulationSegmentSize) {
+        return new SimulationParameters(simulationTime, simulationDelay, supplyArchiveTime, newPopulationSegmentSize,
+                parallelism, fusedTick, seed, economy, populationMode);
+    }
+
+    /**
+     * Creates a copy of these parameters with a different supply archive time.
+     * @param newSupplyArchiveTime the supply archive time of the copy, must be positive
+     * @return the created parameters
+     * @throws IllegalArgumentException if the new supply archive time is not positive
+     */
+    public SimulationParameters withSupplyArchiveTime(int newSupplyArchiveTime) {
+        return new SimulationParameters(simulationTime, simulationDelay, newSupplyArchiveTime, populationSegmentSize,
+                parallelism, fusedTick, seed, economy, populationMode);
+    }
+
+    /**
+     * Creates a copy of these parameters with different economy parameters.
+     * @param newEconomy the economy parameters of the copy, cannot be null
+     * @return the created parameters
+     * @throws IllegalArgumentException if the new economy parameters are null
+     */
+    public SimulationParameters withEconomy(EconomyParameters newEconomy) {
+        return new SimulationParameters(simulationTime, simulationDelay, supplyArchiveTime, populationSegmentSize,
+                parallelism, fusedTick, seed, newEconomy, populationMode);
+    }
+
+    /**
+     * Creates a copy of these parameters with a different population mode.
+     * @param newPopulationMode the population mode of the copy, cannot be null
+     * @return the created parameters
+     * @throws IllegalArgumentException if the new population mode is null
+     */
+    public SimulationParameters withPopulationMode(PopulationMode newPopulationMode) {
+        return new SimulationParameters(simulationTime, simulationDelay, supplyArchiveTime, populationSegmentSize,
+                parallelism, fusedTick, seed, economy, newPopulationMode);
+    }
+}
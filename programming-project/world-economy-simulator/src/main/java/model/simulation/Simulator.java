@@ -2,44 +2,167 @@ package model.simulation;
 
 import dao.*;
 import entity.*;
-import controller.SimulationController;
 import model.core.*;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
 
 /**
  * Simulator manages the execution of the simulation, including initializing, running, and finalizing the simulation.
- * It handles the scheduling and processing of events, and interacts with the simulation controller and data access objects.
+ * It handles the scheduling and processing of events, and interacts with the simulation listener and data access objects.
  */
 public class Simulator {
-	private final Clock clock = Clock.getInstance();
-	private final EventList eventList = new EventList();
-
-	private final SimulationController simulationController;
+	private final SimulationContext context;
+	private final SimulationParameters parameters;
+	private final Clock clock;
+	private final EventList eventList = new CalendarEventList();
+	private final EventPool eventPool = new EventPool();
+	private final Map<EventType, EventHandler> eventHandlers = new EnumMap<>(EventType.class);
+	private final TickScheduler tickScheduler;
+
+	private final SimulationListener simulationListener;
 	private final List<Resource> resources;
 	private final List<Country> countries;
+	private final TradeMarket tradeMarket;
+	private final boolean metricsEnabled;
+	private boolean progressLogged = true;
+	private volatile boolean stopRequested = false;
+	private ForkJoinPool forkJoinPool;
 
 	private final ResourceDao resourceDao = new ResourceDao();
 	private final CountryDao countryDao = new CountryDao();
-	private final CountryMetricsDao countryMetricsDao = new CountryMetricsDao();
-	private final ResourceMetricsDao resourceMetricsDao = new ResourceMetricsDao();
-	private final ResourceNodeMetricsDao resourceNodeMetricsDao = new ResourceNodeMetricsDao();
+	private EntityReferenceCache entityCache;
+	private MetricsBatchWriter metricsBatchWriter = new MetricsBatchWriter(1);
+	private int metricsQueueCapacity = 64;
+	private OverflowPolicy metricsOverflowPolicy = OverflowPolicy.BLOCK;
+	private AsyncMetricsWriter metricsWriter;
+
+	/**
+	 * Constructs a new Simulator that saves its metrics to the database.
+	 * @param context the context of the simulation
+	 * @param simulationListener the listener notified about the progress of the simulation
+	 * @param resources the list of resources in the simulation
+	 * @param countries the list of countries in the simulation
+	 * @throws IllegalArgumentException if a country belongs to a different simulation context
+	 */
+	public Simulator(SimulationContext context, SimulationListener simulationListener, List<Resource> resources,
+	                 List<Country> countries) {
+		this(context, simulationListener, resources, countries, true);
+	}
 
 	/**
 	 * Constructs a new Simulator.
-	 * @param simulationController the controller managing the simulation
+	 * @param context the context of the simulation
+	 * @param simulationListener the listener notified about the progress of the simulation, or null for headless runs
 	 * @param resources the list of resources in the simulation
 	 * @param countries the list of countries in the simulation
+	 * @param metricsEnabled whether the daily metrics are saved to the database
+	 * @throws IllegalArgumentException if a country belongs to a different simulation context
 	 */
-	public Simulator(SimulationController simulationController, List<Resource> resources, List<Country> countries) {
-		this.simulationController = simulationController;
+	public Simulator(SimulationContext context, SimulationListener simulationListener, List<Resource> resources,
+	                 List<Country> countries, boolean metricsEnabled) {
+		for (Country country : countries) {
+			if (country.getContext() != context) {
+				throw new IllegalArgumentException("Country " + country.getName() + " belongs to a different simulation context.");
+			}
+		}
+
+		this.context = context;
+		this.parameters = context.getParameters();
+		this.clock = context.getClock();
+		this.tickScheduler = new TickScheduler(context, TickScheduler.DEFAULT_UI_REFRESH_INTERVAL);
+		this.simulationListener = simulationListener;
 		this.resources = resources;
 		this.countries = countries;
+		this.metricsEnabled = metricsEnabled;
 
-		for (Country country : countries) {
-			country.addAllCountries(countries);
+		this.tradeMarket = new TradeMarket(countries);
+
+		eventHandlers.put(EventType.UPDATE_PEOPLE, event -> forEachCountry(Country::updatePeople));
+		eventHandlers.put(EventType.OBTAIN_RESOURCES, event -> forEachCountry(Country::obtainResources));
+		eventHandlers.put(EventType.SERVE_PEOPLE, event -> forEachCountry(Country::servePeople));
+		// Countries only post their bids here, trading between them happens when the market is cleared
+		eventHandlers.put(EventType.REQUEST_RESOURCES, event -> forEachCountry(Country::requestResources));
+		eventHandlers.put(EventType.RUN_COUNTRY_DAY, event -> forEachCountry(Country::runDay));
+		eventHandlers.put(EventType.TRADE_RESOURCES, event -> tradeMarket.clear(forkJoinPool));
+	}
+
+	/**
+	 * Sets the handler of an event type, replacing the current handler.
+	 * @param type the event type
+	 * @param handler the handler performing the action of the event type
+	 */
+	public void setEventHandler(EventType type, EventHandler handler) {
+		eventHandlers.put(type, handler);
+	}
+
+	/**
+	 * Sets the number of days whose metrics are written to the database in a single transaction.
+	 * The metrics are also written whenever the simulation listener is notified, so that it can read them.
+	 * @param days the number of days per transaction, must be positive
+	 * @throws IllegalArgumentException if days is not positive
+	 */
+	public void setMetricsBatchDays(int days) {
+		metricsBatchWriter = new MetricsBatchWriter(days);
+	}
+
+	/**
+	 * Sets how many days of metrics wait to be written by the metrics writer thread,
+	 * and what happens to a day when that many are already waiting.
+	 * @param capacity the number of days in the queue, must be positive
+	 * @param overflowPolicy the policy applied when the queue is full
+	 * @throws IllegalArgumentException if capacity is not positive
+	 */
+	public void setMetricsQueue(int capacity, OverflowPolicy overflowPolicy) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Queue capacity must be positive");
 		}
+		metricsQueueCapacity = capacity;
+		metricsOverflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Schedules an event, for example a weekly or yearly event in addition to the daily events of the simulation.
+	 * Events at the same time are processed in the order of their types.
+	 * @param type the type of the event
+	 * @param time the time of the first occurrence of the event
+	 * @param period the number of days between occurrences of the event, or 0 if it occurs only once
+	 * @throws IllegalArgumentException if the period is negative
+	 */
+	public void scheduleEvent(EventType type, int time, int period) {
+		eventList.addEvent(eventPool.obtain(type, time, period));
+	}
+
+	/**
+	 * Gets the context of the simulation.
+	 * @return the simulation context
+	 */
+	public SimulationContext getContext() {
+		return context;
+	}
+
+	/**
+	 * Sets whether the progress of the simulation is printed to the standard output. It is printed by default.
+	 * @param progressLogged true to print the progress, false to run silently
+	 */
+	public void setProgressLogged(boolean progressLogged) {
+		this.progressLogged = progressLogged;
+	}
+
+	/**
+	 * Requests the simulation to stop after the current day, before the simulation time has been reached.
+	 * The simulation is finalized as usual. It can be called from the simulation listener or from another thread,
+	 * and wakes up a paused simulation so that it can finish.
+	 */
+	public void stop() {
+		stopRequested = true;
+		clock.resume();
 	}
 
 	/**
@@ -48,34 +171,66 @@ public class Simulator {
 	public void runSimulation() {
 		initializeSimulation();
 
-		while (clock.getTime() < SimulationConfig.getSimulationTime()) {
-			if (!clock.isPaused()) {
-				// A-phase: Advance the clock to the next event time
-				Event nextEvent = eventList.peekNextEvent();
-				if (nextEvent != null) {
-					clock.setTime(nextEvent.getTime());
+		while (clock.getTime() < parameters.simulationTime() && !stopRequested) {
+			// A paused simulation parks here without using any CPU until the clock is resumed
+			try {
+				if (clock.awaitRunning()) {
+					tickScheduler.reset();
 				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				System.out.println("Simulation interrupted.");
+				break;
+			}
+			if (stopRequested) {
+				break;
+			}
+
+			// A-phase: Advance the clock to the next event time
+			Event nextEvent = eventList.peekNextEvent();
+			if (nextEvent != null) {
+				clock.setTime(nextEvent.getTime());
+			}
+
+			// B-phase: Process all events that are scheduled to occur at the current time
+			while (nextEvent != null && nextEvent.getTime() == clock.getTime()) {
+				processEvent(eventList.getNextEvent());
+				nextEvent = eventList.peekNextEvent();
+			}
+
+			// C-phase: Create new events based on specific conditions
+			// Currently, there are no available conditions to check
 
-				// B-phase: Process all events that are scheduled to occur at the current time
-				while (nextEvent != null && nextEvent.getTime() == clock.getTime()) {
-					processEvent(eventList.getNextEvent());
-					nextEvent = eventList.peekNextEvent();
+			if (metricsEnabled) {
+				saveMetrics();
+			}
+			// The last day and the day a run is paused on are always shown, even when notifications are throttled
+			boolean lastShownDay = clock.getTime() >= parameters.simulationTime() || stopRequested
+					|| clock.isPaused() || clock.hasReachedTarget();
+			if (tickScheduler.shouldNotifyListener(lastShownDay)) {
+				// The listener reads the metrics from the database, so it waits until they are written
+				if (metricsEnabled && simulationListener != null) {
+					flushMetrics();
 				}
+				updateListener();
+			}
+			if (progressLogged) {
+				System.out.println("\nDay " + clock.getTime() + " completed.");
+			}
 
-				// C-phase: Create new events based on specific conditions
-				// Currently, there are no available conditions to check
-
-                saveMetrics();
-                updateController();
-                System.out.println("\nDay " + clock.getTime() + " completed.");
-            }
-            try {
-                Thread.sleep(SimulationConfig.getSimulationDelay());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                System.out.println("Simulation interrupted.");
-            }
-        }
+			// Running towards a target day skips the delay, so the simulation fast-forwards at full speed
+			if (clock.isFastForwarding()) {
+				tickScheduler.reset();
+				continue;
+			}
+			try {
+				tickScheduler.awaitNextTick();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				System.out.println("Simulation interrupted.");
+				break;
+			}
+		}
 
 		finalizeSimulation();
 	}
@@ -84,76 +239,90 @@ public class Simulator {
 	 * Initializes the simulation by scheduling the initial events.
 	 */
 	private void initializeSimulation() {
-		// Since all current events happen daily, adding +1 to the current time is sufficient
+		// The daily events of the simulation start on the next day
 		int nextEventTime = clock.getTime() + 1;
 
-		eventList.addEvent(new Event(EventType.UPDATE_PEOPLE, nextEventTime));
-		eventList.addEvent(new Event(EventType.OBTAIN_RESOURCES, nextEventTime));
-		eventList.addEvent(new Event(EventType.SERVE_PEOPLE, nextEventTime));
-		eventList.addEvent(new Event(EventType.REQUEST_RESOURCES, nextEventTime));
+		if (parameters.fusedTick()) {
+			scheduleEvent(EventType.RUN_COUNTRY_DAY, nextEventTime, 1);
+		} else {
+			scheduleEvent(EventType.UPDATE_PEOPLE, nextEventTime, 1);
+			scheduleEvent(EventType.OBTAIN_RESOURCES, nextEventTime, 1);
+			scheduleEvent(EventType.SERVE_PEOPLE, nextEventTime, 1);
+			scheduleEvent(EventType.REQUEST_RESOURCES, nextEventTime, 1);
+		}
+		scheduleEvent(EventType.TRADE_RESOURCES, nextEventTime, 1);
+
+		if (metricsEnabled) {
+			entityCache = new EntityReferenceCache(countryDao, resourceDao);
+			entityCache.load(countries, resources);
+			metricsWriter = new AsyncMetricsWriter(metricsBatchWriter, metricsQueueCapacity, metricsOverflowPolicy);
+		}
+
+		if (parameters.parallelism() > 1) {
+			forkJoinPool = new ForkJoinPool(parameters.parallelism());
+		}
 
-		System.out.println("Simulation initialized.");
+		if (progressLogged) {
+			System.out.println("Simulation initialized with seed " + parameters.seed() + ".");
+		}
 	}
 
 	/**
-	 * Processes a given event by executing the corresponding actions and scheduling the next occurrence of the event.
+	 * Processes a given event by executing the handler of its type, then reschedules a recurring event
+	 * or returns a one-time event to the pool.
 	 * @param event the event to process
+	 * @throws IllegalArgumentException if no handler is registered for the type of the event
 	 */
 	private void processEvent(Event event) {
-		int nextEventTime = clock.getTime() + 1;
+		EventHandler handler = eventHandlers.get(event.getType());
+		if (handler == null) {
+			throw new IllegalArgumentException("Unknown event type: " + event.getType());
+		}
+		handler.handle(event);
 
-		switch (event.getType()) {
-			case UPDATE_PEOPLE:
-				for (Country country : countries) {
-					country.updatePeople();
-				}
-				eventList.addEvent(new Event(EventType.UPDATE_PEOPLE, nextEventTime));
-				break;
-			case OBTAIN_RESOURCES:
-				for (Country country : countries) {
-					country.obtainResources();
-				}
-				eventList.addEvent(new Event(EventType.OBTAIN_RESOURCES, nextEventTime));
-				break;
-			case SERVE_PEOPLE:
-				for (Country country : countries) {
-					country.servePeople();
-				}
-				eventList.addEvent(new Event(EventType.SERVE_PEOPLE, nextEventTime));
-				break;
-			case REQUEST_RESOURCES:
-				for (Country country : countries) {
-					country.requestResources();
-				}
-				eventList.addEvent(new Event(EventType.REQUEST_RESOURCES, nextEventTime));
-				break;
-			default:
-				throw new IllegalArgumentException("Unknown event type: " + event.getType());
+		if (event.isRecurring()) {
+			event.reschedule(event.getTime() + event.getPeriod());
+			eventList.addEvent(event);
+		} else {
+			eventPool.release(event);
+		}
+	}
+
+	/**
+	 * Applies an action to every country. When parallel execution is enabled, the countries are processed
+	 * concurrently and the method returns only after all of them have been processed.
+	 * The action must only change the state of the country it is applied to.
+	 * @param action the action to apply
+	 */
+	private void forEachCountry(Consumer<Country> action) {
+		if (forkJoinPool == null) {
+			for (Country country : countries) {
+				action.accept(country);
+			}
+		} else {
+			forkJoinPool.invoke(new CountryTask(countries, 0, countries.size(), action));
 		}
 	}
 
 	/**
-	 * Saves the metrics of the simulation state to the database.
+	 * Saves the metrics of the simulation state to the database. The metrics are handed to the metrics writer
+	 * thread, so the simulation only waits if the queue of the writer is full.
 	 */
 	private void saveMetrics() {
+		List<CountryMetricsEntity> countryMetricsList = new ArrayList<>();
+		List<ResourceMetricsEntity> resourceMetricsList = new ArrayList<>();
+		List<ResourceNodeMetricsEntity> resourceNodeMetricsList = new ArrayList<>();
+
 		for (Country country : countries) {
-			CountryEntity countryEntity = countryDao.findByName(country.getName());
-			if (countryEntity == null) {
-				countryEntity = new CountryEntity(country.getName(), country.getMoney(), country.getPopulation());
-				countryDao.persist(countryEntity);
-			}
+			CountryEntity countryEntity = entityCache.getCountry(country);
 
-			double individualBudget = country.getSegmentBudget() / SimulationConfig.getPopulationSegmentSize();
+			double individualBudget = country.getSegmentBudget() / parameters.populationSegmentSize();
 
 			CountryMetricsEntity countryMetrics =
 					new CountryMetricsEntity(clock.getTime(), countryEntity, country.getPopulation(),
 							country.getMoney(), country.getAverageHappiness(), individualBudget);
 
-			try {
-				countryMetricsDao.persist(countryMetrics);
-			} catch (Exception e) {
-				System.out.println("Error persisting country metrics: " + e.getMessage());
-			}
+			countryMetricsList.add(countryMetrics);
 
 			if (country.getResourceStorage().isEmpty() && country.getResourceNodes().isEmpty()) {
 				System.out.println("No resources or resource nodes to save metrics for.");
@@ -164,16 +333,12 @@ public class Simulator {
 				Resource resource = entry.getKey();
 				ResourceInfo resourceInfo = entry.getValue();
 
-				ResourceEntity resourceEntity = getResourceEntity(resource, null);
+				ResourceEntity resourceEntity = entityCache.getResource(resource);
 
 				ResourceMetricsEntity resourceMetrics =
 						new ResourceMetricsEntity(clock.getTime(), countryEntity, resourceEntity,
 								resourceInfo.getQuantity(), resourceInfo.getValue());
-				try {
-					resourceMetricsDao.persist(resourceMetrics);
-				} catch (Exception e) {
-					System.out.println("Error persisting resource metrics: " + e.getMessage());
-				}
+				resourceMetricsList.add(resourceMetrics);
 			}
 
 			if (country.getResourceNodes().isEmpty()) {
@@ -182,72 +347,108 @@ public class Simulator {
 			}
 
 			for (ResourceNode resourceNode : country.getResourceNodes()) {
-				ResourceEntity resourceEntity = getResourceEntity(null, resourceNode);
+				ResourceEntity resourceEntity = entityCache.getResource(resourceNode.getResource());
 
 				ResourceNodeMetricsEntity resourceNodeMetrics =
 						new ResourceNodeMetricsEntity(clock.getTime(), countryEntity, resourceEntity,
 								resourceNode.getMaxCapacity(), resourceNode.getProductionCost(),
 								resourceNode.getTier());
-
-				try {
-					resourceNodeMetricsDao.persist(resourceNodeMetrics);
-				} catch (Exception e) {
-					System.out.println("Error persisting resource node metrics: " + e.getMessage());
-				}
+				resourceNodeMetricsList.add(resourceNodeMetrics);
 			}
 		}
+
+		try {
+			metricsWriter.submit(new MetricsSnapshot(clock.getTime(), countryMetricsList, resourceMetricsList,
+					resourceNodeMetricsList));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			System.out.println("Error persisting metrics: " + e.getMessage());
+		}
 	}
 
 	/**
-	 * Updates the simulation controller with the latest data.
+	 * Waits until the metrics saved so far have been written to the database.
 	 */
-	private void updateController() {
-		simulationController.updateData();
+	private void flushMetrics() {
+		try {
+			metricsWriter.flush();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			System.out.println("Error persisting metrics: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Notifies the simulation listener that the current day has been completed.
+	 */
+	private void updateListener() {
+		if (simulationListener != null) {
+			simulationListener.onDayCompleted(clock.getTime());
+		}
 	}
 
 	/**
 	 * Finalizes the simulation by performing any necessary cleanup actions.
 	 */
 	private void finalizeSimulation() {
-		simulationController.endSimulation();
-	}
-
-	/**
-	 * Retrieves the ResourceEntity corresponding to a given resource or resource node.
-	 * @param resource the resource to retrieve the entity for
-	 * @param resourceNode the resource node to retrieve the entity for
-	 * @return the ResourceEntity corresponding to the given resource or resource node
-	 * @throws IllegalArgumentException if neither resource nor resource node is provided
-	 */
-	private ResourceEntity getResourceEntity(Resource resource, ResourceNode resourceNode) {
-		String resourceName;
-		double priority;
-		int baseCapacity;
-		double productionCost;
-
-		if (resource != null) {
-			resourceName = resource.name();
-			priority = resource.priority();
-			baseCapacity = resource.baseCapacity();
-			productionCost = resource.productionCost();
-		} else if (resourceNode != null) {
-			resourceName = resourceNode.getResource().name();
-			priority = resourceNode.getResource().priority();
-			baseCapacity = resourceNode.getResource().baseCapacity();
-			productionCost = resourceNode.getResource().productionCost();
-		} else {
-			throw new IllegalArgumentException("Resource or ResourceNode must be provided.");
+		// Waits for the metrics writer thread, so that no metrics are lost when the simulation ends,
+		// even if it was interrupted
+		if (metricsWriter != null) {
+			try {
+				metricsWriter.close();
+			} catch (SQLException e) {
+				System.out.println("Error persisting metrics: " + e.getMessage());
+			}
+			metricsWriter = null;
 		}
 
-		ResourceEntity resourceEntity = resourceDao.findByName(resourceName);
-		if (resourceEntity == null) {
-			resourceEntity = new ResourceEntity(resourceName, priority, baseCapacity, productionCost);
-			try {
-				resourceDao.persist(resourceEntity);
-			} catch (Exception e) {
-				System.out.println("Error persisting resource: " + e.getMessage());
+		if (forkJoinPool != null) {
+			forkJoinPool.shutdown();
+			forkJoinPool = null;
+		}
+
+		if (simulationListener != null) {
+			simulationListener.onSimulationEnded();
+		}
+	}
+
+	/**
+	 * CountryTask applies an action to a range of countries, splitting the range into subtasks
+	 * until each task holds a single country.
+	 */
+	@SuppressWarnings("serial") // Tasks only live in the fork/join pool and are never serialized
+	private static class CountryTask extends RecursiveAction {
+		private final List<Country> countries;
+		private final int start;
+		private final int end;
+		private final Consumer<Country> action;
+
+		/**
+		 * Constructs a new CountryTask.
+		 * @param countries the list of countries
+		 * @param start the index of the first country in the range, inclusive
+		 * @param end the index of the last country in the range, exclusive
+		 * @param action the action to apply to each country
+		 */
+		CountryTask(List<Country> countries, int start, int end, Consumer<Country> action) {
+			this.countries = countries;
+			this.start = start;
+			this.end = end;
+			this.action = action;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= 1) {
+				for (int i = start; i < end; i++) {
+					action.accept(countries.get(i));
+				}
+				return;
 			}
+
+			int middle = (start + end) >>> 1;
+			invokeAll(new CountryTask(countries, start, middle, action),
+					new CountryTask(countries, middle, end, action));
 		}
-		return resourceEntity;
 	}
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package model.simulation;
+
+/**
+ * SweepParameter is a dimension of a parameter sweep: a single value of {@link SimulationParameters} or
+ * {@link EconomyParameters} that can be varied between runs.
+ */
+public enum SweepParameter {
+    POPULATION_SEGMENT_SIZE("segment-size", true),
+    SUPPLY_ARCHIVE_TIME("archive-time", true),
+    PERSON_INITIAL_HAPPINESS("initial-happiness", false),
+    PERSON_BASE_BUDGET("base-budget", false),
+    COUNTRY_PROFIT_MARGIN("profit-margin", false),
+    COUNTRY_INDIVIDUAL_TAX("individual-tax", false),
+    BASE_EXPORT_TAX("export-tax", false),
+    PREFERENCE_ADJUSTMENT_PROBABILITY("preference-probability", false),
+    PREFERENCE_ADJUSTMENT_RANGE("preference-range", false),
+    MAX_HAPPINESS_CHANGE("happiness-change", false),
+    POPULATION_CHANGE_THRESHOLD("happiness-threshold", false),
+    POPULATION_CHANGE_PERCENTAGE("population-change", false);
+
+    private final String key;
+    private final boolean integral;
+
+    /**
+     * Constructs a new SweepParameter.
+     * @param key the name of the parameter on the command line and in summaries
+     * @param integral whether the parameter only takes whole values
+     */
+    SweepParameter(String key, boolean integral) {
+        this.key = key;
+        this.integral = integral;
+    }
+
+    /**
+     * Gets the name of the parameter on the command line and in summaries.
+     * @return the key of the parameter
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Checks whether the parameter only takes whole values. Sampled values of such parameters are rounded.
+     * @return true if the parameter is integral, false otherwise
+     */
+    public boolean isIntegral() {
+        return integral;
+    }
+
+    /**
+     * Finds the parameter with a given key.
+     * @param key the key of the parameter
+     * @return the parameter
+     * @throws IllegalArgumentException if no parameter has the key
+     */
+    public static SweepParameter fromKey(String key) {
+        for (SweepParameter parameter : values()) {
+            if (parameter.key.equals(key)) {
+                return parameter;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sweep parameter: " + key);
+    }
+
+    /**
+     * Creates a copy of simulation parameters with this parameter set to a value.
+     * @param parameters the parameters to copy
+     * @param value the new value of this parameter, rounded if the parameter is integral
+     * @return the created parameters
+     * @throws IllegalArgumentException if the value is out of range for the parameter
+     */
+    public SimulationParameters apply(SimulationParameters parameters, double value) {
+        EconomyParameters economy = parameters.economy();
+        return switch (this) {
+            case POPULATION_SEGMENT_SIZE -> parameters.withPopulationSegmentSize((int) Math.round(value));
+            case SUPPLY_ARCHIVE_TIME -> parameters.withSupplyArchiveTime((int) Math.round(value));
+            case PERSON_INITIAL_HAPPINESS -> parameters.withEconomy(economy.withPersonInitialHappiness(value));
+            case PERSON_BASE_BUDGET -> parameters.withEconomy(economy.withPersonBaseBudget(value));
+            case COUNTRY_PROFIT_MARGIN -> parameters.withEconomy(economy.withCountryProfitMargin(value));
+            case COUNTRY_INDIVIDUAL_TAX -> parameters.withEconomy(economy.withCountryIndividualTax(value));
+            case BASE_EXPORT_TAX -> parameters.withEconomy(economy.withBaseExportTax(value));
+            case PREFERENCE_ADJUSTMENT_PROBABILITY ->
+                    parameters.withEconomy(economy.withPreferenceAdjustmentProbability(value));
+            case PREFERENCE_ADJUSTMENT_RANGE -> parameters.withEconomy(economy.withPreferenceAdjustmentRange(value));
+            case MAX_HAPPINESS_CHANGE -> parameters.withEconomy(economy.withMaxHappinessChange(value));
+            case POPULATION_CHANGE_THRESHOLD -> parameters.withEconomy(economy.withPopulationChangeThreshold(value));
+            case POPULATION_CHANGE_PERCENTAGE -> parameters.withEconomy(economy.withPopulationChangePercentage(value));
+        };
+    }
+}
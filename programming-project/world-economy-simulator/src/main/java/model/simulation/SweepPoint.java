@@ -0,0 +1,35 @@
+package model.simulation;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * SweepPoint is a single run of a parameter sweep, with the values of the swept parameters.
+ * @param index the position of the point in the sweep
+ * @param values the values of the swept parameters
+ */
+public record SweepPoint(int index, Map<SweepParameter, Double> values) {
+    /**
+     * Constructs a new SweepPoint.
+     */
+    public SweepPoint {
+        values = Collections.unmodifiableMap(values.isEmpty()
+                ? new EnumMap<>(SweepParameter.class)
+                : new EnumMap<>(values));
+    }
+
+    /**
+     * Applies the values of the point to base parameters.
+     * @param baseParameters the parameters providing the values that are not swept
+     * @return the parameters of the run
+     * @throws IllegalArgumentException if a value is out of range for its parameter
+     */
+    public SimulationParameters applyTo(SimulationParameters baseParameters) {
+        SimulationParameters parameters = baseParameters;
+        for (Map.Entry<SweepParameter, Double> entry : values.entrySet()) {
+            parameters = entry.getKey().apply(parameters, entry.getValue());
+        }
+        return parameters;
+    }
+}
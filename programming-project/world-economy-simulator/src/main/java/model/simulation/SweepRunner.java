@@ -0,0 +1,213 @@
+package model.simulation;
+
+import model.core.Country;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * SweepRunner runs every point of a parameter sweep as an independent simulation and writes one summary row
+ * per run.
+ * <p>
+ * The runs are executed on a work-stealing pool, so threads that finish short runs, such as runs stopped early,
+ * pick up the remaining points instead of idling. A run is stopped early when the metrics of a country diverge:
+ * its money becomes non-finite or grows by more than the divergence factor, or its population grows or shrinks
+ * by more than the divergence factor.
+ */
+public class SweepRunner {
+    private final Scenario scenario;
+    private final SimulationParameters baseParameters;
+    private final List<SweepPoint> points;
+    private final int threads;
+    private final double divergenceFactor;
+
+    /**
+     * Constructs a new SweepRunner.
+     * @param scenario the scenario to run
+     * @param baseParameters the parameters of every run, before the values of its point are applied
+     * @param points the points of the sweep
+     * @param threads the number of runs executed at the same time, must be positive
+     * @param divergenceFactor the factor by which a metric may change before a run is stopped,
+     *                         must be greater than 1, or infinite to never stop early
+     * @throws IllegalArgumentException if threads is not positive, divergenceFactor is not greater than 1,
+     *                                  or a point has a value out of range for its parameter
+     */
+    public SweepRunner(Scenario scenario, SimulationParameters baseParameters, List<SweepPoint> points, int threads,
+                       double divergenceFactor) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive.");
+        }
+        if (!(divergenceFactor > 1)) {
+            throw new IllegalArgumentException("Divergence factor must be greater than 1.");
+        }
+
+        // Invalid points are rejected before anything runs, rather than failing halfway through the sweep
+        for (SweepPoint point : points) {
+            point.applyTo(baseParameters);
+        }
+
+        this.scenario = scenario;
+        this.baseParameters = baseParameters;
+        this.points = List.copyOf(points);
+        this.threads = threads;
+        this.divergenceFactor = divergenceFactor;
+    }
+
+    /**
+     * Runs the sweep and waits for all runs to finish. Summary rows are written as runs finish,
+     * so the row order depends on the scheduling; the run column identifies the point of each row.
+     * @param writer the writer to write the CSV summary to, or null to only return the summaries
+     * @return the summaries of the runs, in point order
+     * @throws IOException if writing the summary fails
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     * @throws RuntimeException if a run fails
+     */
+    public List<SweepSummary> run(Writer writer) throws IOException, InterruptedException {
+        List<SweepParameter> parameters = sweptParameters();
+        if (writer != null) {
+            writer.write(SweepSummary.csvHeader(parameters) + "\n");
+            writer.flush();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        List<SweepSummary> summaries = new ArrayList<>(points.size());
+        try {
+            List<Future<SweepSummary>> futures = new ArrayList<>(points.size());
+            for (SweepPoint point : points) {
+                futures.add(pool.submit(() -> {
+                    SweepSummary summary = runOnce(point);
+                    if (writer != null) {
+                        writeRow(writer, summary.toCsvRow(parameters));
+                    }
+                    return summary;
+                }));
+            }
+
+            for (Future<SweepSummary> future : futures) {
+                summaries.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException ioException) {
+                throw ioException.getCause();
+            }
+            throw new RuntimeException("Sweep run failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return summaries;
+    }
+
+    /**
+     * Runs the simulation of a single point.
+     * @param point the point to run
+     * @return the summary of the run
+     */
+    private SweepSummary runOnce(SweepPoint point) {
+        long startTime = System.nanoTime();
+        SimulationContext context = scenario.createContext(point.applyTo(baseParameters));
+        List<Country> countries = scenario.createCountries(context);
+
+        double[] initialMoney = new double[countries.size()];
+        long[] initialPopulation = new long[countries.size()];
+        for (int country = 0; country < countries.size(); country++) {
+            initialMoney[country] = countries.get(country).getMoney();
+            initialPopulation[country] = countries.get(country).getPopulation();
+        }
+
+        boolean[] diverged = new boolean[1];
+        Simulator[] simulator = new Simulator[1];
+        SimulationListener listener = new SimulationListener() {
+            @Override
+            public void onDayCompleted(int day) {
+                for (int country = 0; country < countries.size(); country++) {
+                    if (hasDiverged(countries.get(country), initialMoney[country], initialPopulation[country])) {
+                        diverged[0] = true;
+                        simulator[0].stop();
+                        return;
+                    }
+                }
+            }
+
+            @Override
+            public void onSimulationEnded() {
+                // The summary is taken from the countries once the simulation has returned
+            }
+        };
+
+        simulator[0] = new Simulator(context, listener, scenario.resources(), countries, false);
+        simulator[0].setProgressLogged(false);
+        simulator[0].runSimulation();
+
+        double totalMoney = 0;
+        long totalPopulation = 0;
+        double totalHappiness = 0;
+        double minHappiness = Double.POSITIVE_INFINITY;
+        for (Country country : countries) {
+            totalMoney += country.getMoney();
+            totalPopulation += country.getPopulation();
+            totalHappiness += country.getAverageHappiness();
+            minHappiness = Math.min(minHappiness, country.getAverageHappiness());
+        }
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        return new SweepSummary(point, context.getClock().getTime(), diverged[0], totalMoney, totalPopulation,
+                countries.isEmpty() ? 0 : totalHappiness / countries.size(),
+                countries.isEmpty() ? 0 : minHappiness, elapsedMillis);
+    }
+
+    /**
+     * Checks whether the metrics of a country have diverged from their initial values.
+     * @param country the country to check
+     * @param initialMoney the money of the country at the start of the run
+     * @param initialPopulation the population of the country at the start of the run
+     * @return true if the run should be stopped, false otherwise
+     */
+    private boolean hasDiverged(Country country, double initialMoney, long initialPopulation) {
+        double money = country.getMoney();
+        long population = country.getPopulation();
+        return !Double.isFinite(money)
+                || money > Math.max(initialMoney, 1) * divergenceFactor
+                || population > initialPopulation * divergenceFactor
+                || population * divergenceFactor < initialPopulation;
+    }
+
+    /**
+     * Gets the parameters swept by any point, in declaration order.
+     * @return the swept parameters
+     */
+    private List<SweepParameter> sweptParameters() {
+        List<SweepParameter> parameters = new ArrayList<>();
+        for (SweepParameter parameter : SweepParameter.values()) {
+            for (SweepPoint point : points) {
+                if (point.values().containsKey(parameter)) {
+                    parameters.add(parameter);
+                    break;
+                }
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * Writes a summary row, serializing the writes of concurrent runs.
+     * @param writer the writer to write to
+     * @param row the row to write
+     */
+    private static void writeRow(Writer writer, String row) {
+        synchronized (writer) {
+            try {
+                writer.write(row + "\n");
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package model.simulation;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * SweepSummary is the compact result of a single run of a parameter sweep.
+ * @param point the point of the sweep that was run
+ * @param days the number of days simulated
+ * @param diverged whether the run was stopped early because its metrics diverged
+ * @param totalMoney the total money of all countries at the end of the run
+ * @param totalPopulation the total population of all countries at the end of the run
+ * @param averageHappiness the average happiness of the countries at the end of the run
+ * @param minHappiness the happiness of the unhappiest country at the end of the run
+ * @param elapsedMillis the wall-clock time of the run, in milliseconds
+ */
+public record SweepSummary(SweepPoint point, int days, boolean diverged, double totalMoney, long totalPopulation,
+                           double averageHappiness, double minHappiness, long elapsedMillis) {
+    /**
+     * Creates the CSV header of the summaries of a sweep.
+     * @param parameters the swept parameters, in column order
+     * @return the header line, without a line separator
+     */
+    public static String csvHeader(List<SweepParameter> parameters) {
+        StringBuilder header = new StringBuilder("run");
+        for (SweepParameter parameter : parameters) {
+            header.append(',').append(parameter.getKey());
+        }
+        return header.append(",days,diverged,total_money,total_population,avg_happiness,min_happiness,elapsed_ms")
+                .toString();
+    }
+
+    /**
+     * Formats the summary as a CSV row.
+     * @param parameters the swept parameters, in column order
+     * @return the row, without a line separator
+     */
+    public String toCsvRow(List<SweepParameter> parameters) {
+        StringBuilder row = new StringBuilder().append(point.index());
+        for (SweepParameter parameter : parameters) {
+            double value = point.values().get(parameter);
+            row.append(',').append(parameter.isIntegral()
+                    ? String.valueOf(Math.round(value))
+                    : String.format(Locale.ROOT, "%.6g", value));
+        }
+        return row.append(String.format(Locale.ROOT, ",%d,%b,%.2f,%d,%.6f,%.6f,%d", days, diverged, totalMoney,
+                totalPopulation, averageHappiness, minHappiness, elapsedMillis)).toString();
+    }
+}
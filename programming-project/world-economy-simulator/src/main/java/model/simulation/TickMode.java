@@ -0,0 +1,40 @@
+package model.simulation;
+
+/**
+ * TickMode determines how fast a {@link Simulator} advances the days of a simulation and how often it notifies
+ * its listener.
+ */
+public enum TickMode {
+    /**
+     * Each day takes the simulation delay of wall-clock time, including the time spent computing it.
+     * Drift is corrected, so the rate stays constant when computing a day takes a varying amount of time.
+     */
+    FIXED_RATE("Fixed rate"),
+    /**
+     * Days are simulated as fast as possible and the listener is notified after every day.
+     */
+    MAX_THROUGHPUT("Max throughput"),
+    /**
+     * Days are simulated as fast as possible, but the listener is only notified at the refresh rate of the
+     * user interface, so a fast simulation is not slowed down by redrawing it.
+     */
+    UI_RATE("UI rate");
+
+    private final String displayName;
+
+    /**
+     * Constructs a new TickMode.
+     * @param displayName the name of the mode shown in the user interface
+     */
+    TickMode(String displayName) {
+        this.displayName = displayName;
+    }
+
+    /**
+     * Gets the name of the mode shown in the user interface.
+     * @return the display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
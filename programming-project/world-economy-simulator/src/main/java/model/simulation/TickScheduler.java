@@ -0,0 +1,132 @@
+package model.simulation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * TickScheduler paces the days of a {@link Simulator} according to the {@link TickMode} of its context, and
+ * decides which days its listener is notified about.
+ * <p>
+ * In {@link TickMode#FIXED_RATE} the days follow a schedule of one day per simulation delay. The time spent
+ * computing a day is taken from the wait before the next one, so the rate does not drift. A run that falls more
+ * than a whole day behind the schedule continues from the current time instead of catching up in a burst.
+ */
+class TickScheduler {
+    /**
+     * The default interval between listener notifications in {@link TickMode#UI_RATE}, in milliseconds.
+     */
+    static final int DEFAULT_UI_REFRESH_INTERVAL = 50;
+
+    private static final int NOT_SCHEDULED = -1;
+
+    /**
+     * Sleeper waits for a number of nanoseconds.
+     */
+    @FunctionalInterface
+    interface Sleeper {
+        /**
+         * Waits for a number of nanoseconds.
+         * @param nanos the time to wait, in nanoseconds
+         * @throws InterruptedException if the thread is interrupted while waiting
+         */
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    private final SimulationContext context;
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+    private final long uiRefreshIntervalNanos;
+    private int scheduledDelay = NOT_SCHEDULED;
+    private long nextTickTime;
+    private long nextNotificationTime;
+
+    /**
+     * Constructs a new TickScheduler.
+     * @param context the context of the simulation, providing the tick mode and the delay
+     * @param uiRefreshInterval the interval between listener notifications in {@link TickMode#UI_RATE},
+     *                          in milliseconds, cannot be negative
+     * @throws IllegalArgumentException if uiRefreshInterval is negative
+     */
+    TickScheduler(SimulationContext context, int uiRefreshInterval) {
+        this(context, uiRefreshInterval, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    /**
+     * Constructs a new TickScheduler with its own time source, so that the schedule can be tested without waiting.
+     * @param context the context of the simulation, providing the tick mode and the delay
+     * @param uiRefreshInterval the interval between listener notifications in {@link TickMode#UI_RATE},
+     *                          in milliseconds, cannot be negative
+     * @param nanoClock the source of the current time, in nanoseconds
+     * @param sleeper the way the scheduler waits for the next day
+     * @throws IllegalArgumentException if uiRefreshInterval is negative
+     */
+    TickScheduler(SimulationContext context, int uiRefreshInterval, LongSupplier nanoClock, Sleeper sleeper) {
+        if (uiRefreshInterval < 0) {
+            throw new IllegalArgumentException("UI refresh interval cannot be negative");
+        }
+        this.context = context;
+        this.uiRefreshIntervalNanos = TimeUnit.MILLISECONDS.toNanos(uiRefreshInterval);
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+        this.nextNotificationTime = nanoClock.getAsLong();
+    }
+
+    /**
+     * Discards the current schedule, so the next day starts a new one. Called after the simulation was paused.
+     */
+    void reset() {
+        scheduledDelay = NOT_SCHEDULED;
+    }
+
+    /**
+     * Waits until the next day is due. Returns immediately unless the tick mode is {@link TickMode#FIXED_RATE}.
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    void awaitNextTick() throws InterruptedException {
+        if (context.getTickMode() != TickMode.FIXED_RATE) {
+            reset();
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+        int delay = context.getSimulationDelay();
+        if (delay != scheduledDelay) {
+            scheduledDelay = delay;
+            nextTickTime = now;
+        }
+        if (delay == 0) {
+            return;
+        }
+
+        long period = TimeUnit.MILLISECONDS.toNanos(delay);
+        nextTickTime += period;
+        if (now - nextTickTime > period) {
+            nextTickTime = now;
+            return;
+        }
+
+        long remaining = nextTickTime - now;
+        if (remaining > 0) {
+            sleeper.sleep(remaining);
+        }
+    }
+
+    /**
+     * Checks whether the listener should be notified about the day that was just completed.
+     * Outside {@link TickMode#UI_RATE} the listener is notified about every day.
+     * @param forced true if the listener must be notified regardless of the refresh rate, such as on the last day
+     * @return true if the listener should be notified, false otherwise
+     */
+    boolean shouldNotifyListener(boolean forced) {
+        if (context.getTickMode() != TickMode.UI_RATE) {
+            return true;
+        }
+
+        long now = nanoClock.getAsLong();
+        if (forced || now - nextNotificationTime >= 0) {
+            nextNotificationTime = now + uiRefreshIntervalNanos;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,82 @@
+package benchmark;
+
+import model.simulation.CalendarEventList;
+import model.simulation.Event;
+import model.simulation.EventList;
+import model.simulation.EventType;
+import model.simulation.PriorityEventList;
+
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Compares the calendar queue with the priority queue event list in a hold model: the next event is removed and
+ * rescheduled one period later, with daily, weekly, monthly and yearly events mixed.
+ * <p>
+ * Usage: {@code EventListBenchmark [--events <n>] [--operations <n>] [--rounds <n>]}
+ * <p>
+ * The priority queue is measured both with a new event per occurrence, as the simulator used to schedule them,
+ * and with recycled events, to separate the cost of the queue from the cost of the allocation.
+ */
+public class EventListBenchmark {
+    private static final int[] PERIODS = {1, 7, 30, 365};
+
+    public static void main(String[] args) {
+        int events = 10_000;
+        int operations = 5_000_000;
+        int rounds = 5;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--events" -> events = Integer.parseInt(args[++i]);
+                case "--operations" -> operations = Integer.parseInt(args[++i]);
+                case "--rounds" -> rounds = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        for (int round = 1; round <= rounds; round++) {
+            run("priority, new events", PriorityEventList::new, false, events, operations, round);
+            run("priority, recycled", PriorityEventList::new, true, events, operations, round);
+            run("calendar, recycled", CalendarEventList::new, true, events, operations, round);
+        }
+    }
+
+    /**
+     * Runs the hold model once and prints its throughput.
+     * @param name the name of the configuration, for the output
+     * @param eventListFactory creates the event list to measure
+     * @param recycled whether processed events are rescheduled instead of replaced by new events
+     * @param events the number of events in the list
+     * @param operations the number of events processed
+     * @param round the number of the round, for the output
+     */
+    private static void run(String name, Supplier<EventList> eventListFactory, boolean recycled, int events,
+                            int operations, int round) {
+        EventList eventList = eventListFactory.get();
+        SplittableRandom random = new SplittableRandom(1);
+        EventType[] types = EventType.values();
+        for (int i = 0; i < events; i++) {
+            eventList.addEvent(new Event(types[random.nextInt(types.length)], random.nextInt(365),
+                    PERIODS[random.nextInt(PERIODS.length)]));
+        }
+
+        long checksum = 0;
+        long startTime = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            Event event = eventList.getNextEvent();
+            checksum += event.getTime();
+            int nextTime = event.getTime() + event.getPeriod();
+            if (recycled) {
+                event.reschedule(nextTime);
+                eventList.addEvent(event);
+            } else {
+                eventList.addEvent(new Event(event.getType(), nextTime, event.getPeriod()));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+
+        System.out.printf("Round %d, %-21s: %.3f s (%.1f ns/event, checksum %d)%n",
+                round, name, elapsedSeconds, elapsedSeconds * 1e9 / operations, checksum);
+    }
+}
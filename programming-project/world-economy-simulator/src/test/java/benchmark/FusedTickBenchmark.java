@@ -0,0 +1,102 @@
+package benchmark;
+
+import model.core.Country;
+import model.simulation.Scenario;
+import model.simulation.ScenarioLoader;
+import model.simulation.SimulationConfig;
+import model.simulation.SimulationContext;
+import model.simulation.SimulationParameters;
+import model.simulation.Simulator;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Compares the throughput of the event-per-phase execution with the fused tick mode, and checks that both
+ * produce the same final state.
+ * <p>
+ * Usage: {@code FusedTickBenchmark [--scenario <file>] [--days <n>] [--segment-size <n>] [--rounds <n>]
+ * [--mode events|fused|both]}
+ * <p>
+ * The fused mode streams each country's population through the cache once per day instead of twice, which
+ * shows up as fewer cache misses. To count them, run a single mode under {@code perf stat -e cache-misses}.
+ */
+public class FusedTickBenchmark {
+    public static void main(String[] args) throws Exception {
+        Path scenarioFile = Path.of("src/main/resources/scenarios/nordic.txt");
+        int rounds = 5;
+        String mode = "both";
+        SimulationConfig.setSimulationTime(200);
+        SimulationConfig.setPopulationSegmentSize(1000);
+        SimulationConfig.setSimulationDelay(0);
+        SimulationConfig.setSeed(1);
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--scenario" -> scenarioFile = Path.of(args[++i]);
+                case "--days" -> SimulationConfig.setSimulationTime(Integer.parseInt(args[++i]));
+                case "--segment-size" -> SimulationConfig.setPopulationSegmentSize(Integer.parseInt(args[++i]));
+                case "--rounds" -> rounds = Integer.parseInt(args[++i]);
+                case "--mode" -> mode = args[++i];
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        Scenario scenario = ScenarioLoader.fromFile(scenarioFile);
+        String eventsState = null;
+        String fusedState = null;
+
+        for (int round = 1; round <= rounds; round++) {
+            if (!mode.equals("fused")) {
+                eventsState = run(scenario, false, round);
+            }
+            if (!mode.equals("events")) {
+                fusedState = run(scenario, true, round);
+            }
+        }
+
+        if (eventsState != null && fusedState != null) {
+            System.out.println(eventsState.equals(fusedState)
+                    ? "Both modes produced the same final state."
+                    : "Final states differ:\n  events: " + eventsState + "\n  fused:  " + fusedState);
+        }
+    }
+
+    /**
+     * Runs the scenario once and prints its throughput.
+     * @param scenario the scenario to run
+     * @param fusedTick whether the fused tick mode is used
+     * @param round the number of the round, for the output
+     * @return a summary of the final state of the countries
+     */
+    private static String run(Scenario scenario, boolean fusedTick, int round) {
+        SimulationConfig.setFusedTick(fusedTick);
+        SimulationContext context = scenario.createContext(SimulationParameters.fromConfig());
+        List<Country> countries = scenario.createCountries(context);
+        Simulator simulator = new Simulator(context, null, scenario.resources(), countries, false);
+
+        // The simulator reports every day, which would dominate the measurement
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        long startTime = System.nanoTime();
+        try {
+            simulator.runSimulation();
+        } finally {
+            System.setOut(out);
+        }
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+
+        int days = SimulationConfig.getSimulationTime();
+        System.out.printf("Round %d, %-6s: %.3f s (%.1f days/sec)%n",
+                round, fusedTick ? "fused" : "events", elapsedSeconds, days / elapsedSeconds);
+
+        StringBuilder state = new StringBuilder();
+        for (Country country : countries) {
+            state.append(country.getName()).append('=').append(country.getPopulation())
+                    .append('/').append(country.getMoney()).append(' ');
+        }
+        return state.toString();
+    }
+}
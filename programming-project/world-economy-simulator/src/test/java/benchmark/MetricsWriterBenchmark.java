@@ -0,0 +1,171 @@
+package benchmark;
+
+import dao.CountryDao;
+import dao.CountryMetricsDao;
+import dao.MetricsBatchWriter;
+import dao.ResourceDao;
+import dao.ResourceMetricsDao;
+import dao.ResourceNodeMetricsDao;
+import datasource.MariaDbConnection;
+import entity.CountryEntity;
+import entity.CountryMetricsEntity;
+import entity.ResourceEntity;
+import entity.ResourceMetricsEntity;
+import entity.ResourceNodeMetricsEntity;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the throughput of writing daily metrics row by row through the DAOs, with a transaction per row,
+ * and with {@link MetricsBatchWriter}, with a transaction per day or per several days.
+ * <p>
+ * Usage: {@code MetricsWriterBenchmark [--days <n>] [--countries <n>] [--resources <n>] [--batch-days <n>]}
+ * <p>
+ * Each day writes one country row, one resource row per resource and one resource node row per resource
+ * for every country. The benchmark needs the database and resets it first.
+ */
+public class MetricsWriterBenchmark {
+    public static void main(String[] args) throws SQLException {
+        int days = 20;
+        int countryCount = 5;
+        int resourceCount = 10;
+        int batchDays = 10;
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--days" -> days = Integer.parseInt(args[++i]);
+                case "--countries" -> countryCount = Integer.parseInt(args[++i]);
+                case "--resources" -> resourceCount = Integer.parseInt(args[++i]);
+                case "--batch-days" -> batchDays = Integer.parseInt(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        MariaDbConnection.resetDatabaseForTests();
+
+        List<CountryEntity> countries = new ArrayList<>();
+        CountryDao countryDao = new CountryDao();
+        for (int i = 0; i < countryCount; i++) {
+            CountryEntity country = new CountryEntity("Country" + i, 1_000_000.0, 1_000_000);
+            countryDao.persist(country);
+            countries.add(country);
+        }
+        List<ResourceEntity> resources = new ArrayList<>();
+        ResourceDao resourceDao = new ResourceDao();
+        for (int i = 0; i < resourceCount; i++) {
+            ResourceEntity resource = new ResourceEntity("Resource" + i, 0.5, 100, 10.0);
+            resourceDao.persist(resource);
+            resources.add(resource);
+        }
+
+        runPerRow(countries, resources, days);
+        runBatched(countries, resources, days, 1);
+        runBatched(countries, resources, days, batchDays);
+
+        MariaDbConnection.terminate();
+    }
+
+    /**
+     * Writes the metrics row by row through the DAOs and prints the throughput.
+     * @param countries the persisted countries
+     * @param resources the persisted resources
+     * @param days the number of days to write
+     */
+    private static void runPerRow(List<CountryEntity> countries, List<ResourceEntity> resources, int days) {
+        CountryMetricsDao countryMetricsDao = new CountryMetricsDao();
+        ResourceMetricsDao resourceMetricsDao = new ResourceMetricsDao();
+        ResourceNodeMetricsDao resourceNodeMetricsDao = new ResourceNodeMetricsDao();
+
+        long rows = 0;
+        long startTime = System.nanoTime();
+        for (int day = 1; day <= days; day++) {
+            for (CountryEntity country : countries) {
+                countryMetricsDao.persist(countryMetrics(day, country));
+                rows++;
+                for (ResourceEntity resource : resources) {
+                    resourceMetricsDao.persist(resourceMetrics(day, country, resource));
+                    resourceNodeMetricsDao.persist(resourceNodeMetrics(day, country, resource));
+                    rows += 2;
+                }
+            }
+        }
+        print("per row", rows, days, startTime);
+    }
+
+    /**
+     * Writes the metrics with a batch writer and prints the throughput.
+     * @param countries the persisted countries
+     * @param resources the persisted resources
+     * @param days the number of days to write
+     * @param batchDays the number of days per transaction
+     * @throws SQLException if the metrics cannot be written
+     */
+    private static void runBatched(List<CountryEntity> countries, List<ResourceEntity> resources, int days,
+                                   int batchDays) throws SQLException {
+        long startTime = System.nanoTime();
+        long rows;
+        try (MetricsBatchWriter writer = new MetricsBatchWriter(batchDays)) {
+            for (int day = 1; day <= days; day++) {
+                for (CountryEntity country : countries) {
+                    writer.add(countryMetrics(day, country));
+                    for (ResourceEntity resource : resources) {
+                        writer.add(resourceMetrics(day, country, resource));
+                        writer.add(resourceNodeMetrics(day, country, resource));
+                    }
+                }
+                writer.endDay();
+            }
+            writer.flush();
+            rows = writer.getRowsWritten();
+        }
+        print("batched, " + batchDays + " day(s)", rows, days, startTime);
+    }
+
+    /**
+     * Creates the metrics of a country.
+     * @param day the day of the metrics
+     * @param country the country
+     * @return the created metrics
+     */
+    private static CountryMetricsEntity countryMetrics(int day, CountryEntity country) {
+        return new CountryMetricsEntity(day, country, 1_000_000, 1_000_000.0, 0.5, 10.0);
+    }
+
+    /**
+     * Creates the metrics of a resource in a country's storage.
+     * @param day the day of the metrics
+     * @param country the country
+     * @param resource the resource
+     * @return the created metrics
+     */
+    private static ResourceMetricsEntity resourceMetrics(int day, CountryEntity country, ResourceEntity resource) {
+        return new ResourceMetricsEntity(day, country, resource, 100, 1_000.0);
+    }
+
+    /**
+     * Creates the metrics of a country's resource node.
+     * @param day the day of the metrics
+     * @param country the country
+     * @param resource the resource of the node
+     * @return the created metrics
+     */
+    private static ResourceNodeMetricsEntity resourceNodeMetrics(int day, CountryEntity country,
+                                                                 ResourceEntity resource) {
+        return new ResourceNodeMetricsEntity(day, country, resource, 100, 10.0, 1);
+    }
+
+    /**
+     * Prints the throughput of a run.
+     * @param name the name of the configuration, for the output
+     * @param rows the number of rows written
+     * @param days the number of days written
+     * @param startTime the start time of the run, from {@link System#nanoTime()}
+     */
+    private static void print(String name, long rows, int days, long startTime) {
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1_000_000_000.0;
+        System.out.printf("%-20s: %d rows in %.3f s (%.0f rows/sec, %.1f ms/day)%n",
+                name, rows, elapsedSeconds, rows / elapsedSeconds, elapsedSeconds * 1000 / days);
+    }
+}
@@ -0,0 +1,139 @@
+package dao;
+
+import entity.CountryEntity;
+import entity.CountryMetricsEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncMetricsWriterTest {
+
+	@Test
+	public void testBlockWritesEveryDayInOrder() throws Exception {
+		RecordingWriter batchWriter = new RecordingWriter();
+		AsyncMetricsWriter writer = new AsyncMetricsWriter(batchWriter, 2, OverflowPolicy.BLOCK);
+		for (int day = 1; day <= 20; day++) {
+			writer.submit(snapshot(day));
+		}
+		writer.close();
+
+		assertEquals(days(1, 20), batchWriter.committedDays);
+		assertEquals(20, writer.getWrittenDays());
+		assertEquals(0, writer.getDroppedDays());
+	}
+
+	@Test
+	public void testDropOldestKeepsNewestDays() throws Exception {
+		RecordingWriter batchWriter = new RecordingWriter();
+		batchWriter.holdFirstDay();
+		AsyncMetricsWriter writer = new AsyncMetricsWriter(batchWriter, 3, OverflowPolicy.DROP_OLDEST);
+		writer.submit(snapshot(1));
+		batchWriter.firstDayStarted.await();
+
+		for (int day = 2; day <= 10; day++) {
+			writer.submit(snapshot(day));
+		}
+		batchWriter.release.countDown();
+		writer.close();
+
+		assertEquals(List.of(1, 8, 9, 10), batchWriter.committedDays);
+		assertEquals(6, writer.getDroppedDays());
+	}
+
+	@Test
+	public void testSpillToDiskWritesEveryDay() throws Exception {
+		RecordingWriter batchWriter = new RecordingWriter();
+		batchWriter.holdFirstDay();
+		AsyncMetricsWriter writer = new AsyncMetricsWriter(batchWriter, 3, OverflowPolicy.SPILL_TO_DISK);
+		writer.submit(snapshot(1));
+		batchWriter.firstDayStarted.await();
+
+		for (int day = 2; day <= 10; day++) {
+			writer.submit(snapshot(day));
+		}
+		batchWriter.release.countDown();
+		writer.flush();
+
+		assertEquals(days(1, 10), batchWriter.committedDays.stream().sorted().toList());
+		assertEquals(6, writer.getSpilledDays());
+		writer.close();
+	}
+
+	@Test
+	public void testCloseWritesEveryDayWhenInterrupted() throws Exception {
+		RecordingWriter batchWriter = new RecordingWriter();
+		AsyncMetricsWriter writer = new AsyncMetricsWriter(batchWriter, 2, OverflowPolicy.BLOCK);
+		for (int day = 1; day <= 10; day++) {
+			writer.submit(snapshot(day));
+		}
+		Thread.currentThread().interrupt();
+		writer.close();
+
+		assertTrue(Thread.interrupted());
+		assertEquals(days(1, 10), batchWriter.committedDays);
+	}
+
+	private static MetricsSnapshot snapshot(int day) {
+		CountryEntity country = new CountryEntity("Finland", 100_000_000.0, 1_000_000);
+		country.setId(1L);
+		return new MetricsSnapshot(day, List.of(new CountryMetricsEntity(day, country, 1_000_000, 100_000_000.0, 0.5,
+				100.0)), List.of(), List.of());
+	}
+
+	private static List<Integer> days(int first, int last) {
+		return IntStream.rangeClosed(first, last).boxed().toList();
+	}
+
+	/**
+	 * Records the days it is given instead of writing them to the database.
+	 */
+	private static class RecordingWriter extends MetricsBatchWriter {
+		private final List<Integer> pendingDays = new CopyOnWriteArrayList<>();
+		private final List<Integer> committedDays = new CopyOnWriteArrayList<>();
+		private final CountDownLatch firstDayStarted = new CountDownLatch(1);
+		private CountDownLatch release = new CountDownLatch(0);
+
+		private RecordingWriter() {
+			super(1);
+		}
+
+		private void holdFirstDay() {
+			release = new CountDownLatch(1);
+		}
+
+		@Override
+		public void add(CountryMetricsEntity countryMetrics) {
+			if (firstDayStarted.getCount() > 0) {
+				firstDayStarted.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			pendingDays.add(countryMetrics.getDay());
+		}
+
+		@Override
+		public void flush() {
+			committedDays.addAll(pendingDays);
+			pendingDays.clear();
+		}
+
+		@Override
+		public void endDay() {
+			flush();
+		}
+
+		@Override
+		public void close() {
+			flush();
+		}
+	}
+}
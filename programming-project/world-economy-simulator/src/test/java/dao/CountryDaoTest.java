@@ -2,7 +2,6 @@ package dao;
 
 import datasource.MariaDbConnection;
 import entity.CountryEntity;
-import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
@@ -10,6 +9,7 @@ import java.sql.SQLException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class CountryDaoTest {
 
@@ -20,16 +20,14 @@ public class CountryDaoTest {
 
 	@AfterAll
 	public static void tearDownDatabase() throws SQLException {
-		Connection conn = MariaDbConnection.getConnection();
-		conn.createStatement().executeUpdate("DROP SCHEMA IF EXISTS `simulation`");
+		try (Connection conn = MariaDbConnection.getConnection()) {
+			conn.createStatement().executeUpdate("DROP SCHEMA IF EXISTS `simulation`");
+		}
 	}
 
 	@BeforeEach
 	public void setUp() {
-		EntityManager em = MariaDbConnection.getEntityManager();
-		em.getTransaction().begin();
-		em.createQuery("DELETE FROM CountryEntity").executeUpdate();
-		em.getTransaction().commit();
+		MariaDbConnection.runInTransaction(em -> em.createQuery("DELETE FROM CountryEntity").executeUpdate());
 	}
 
 	@Test
@@ -119,4 +117,16 @@ public class CountryDaoTest {
 			assertEquals("Error deleting country by name", e.getMessage());
 		}
 	}
+
+	@Test
+	public void testUnitOfWorkRollsBackNestedOperations() {
+		CountryDao countryDao = new CountryDao();
+		assertThrows(IllegalStateException.class, () -> MariaDbConnection.runInTransaction(em -> {
+			countryDao.persist(new CountryEntity("TestCountry1", 100_000_000.0, 1_000_000));
+			assertEquals("TestCountry1", countryDao.findByName("TestCountry1").getName());
+			throw new IllegalStateException("Rolled back");
+		}));
+
+		assertNull(countryDao.findByName("TestCountry1"));
+	}
 }
@@ -3,7 +3,6 @@ package dao;
 import datasource.MariaDbConnection;
 import entity.CountryEntity;
 import entity.CountryMetricsEntity;
-import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,16 +23,14 @@ public class CountryMetricsDaoTest {
 
 	@AfterAll
 	public static void tearDown() throws SQLException {
-		Connection conn = MariaDbConnection.getConnection();
-		conn.createStatement().executeUpdate("DROP SCHEMA IF EXISTS `simulation`");
+		try (Connection conn = MariaDbConnection.getConnection()) {
+			conn.createStatement().executeUpdate("DROP SCHEMA IF EXISTS `simulation`");
+		}
 	}
 
 	@BeforeEach
 	public void setUp() {
-		EntityManager em = MariaDbConnection.getEntityManager();
-		em.getTransaction().begin();
-		em.createQuery("DELETE FROM CountryMetricsEntity").executeUpdate();
-		em.getTransaction().commit();
+		MariaDbConnection.runInTransaction(em -> em.createQuery("DELETE FROM CountryMetricsEntity").executeUpdate());
 	}
 
 	@Test
@@ -0,0 +1,82 @@
+package dao;
+
+import datasource.MariaDbConnection;
+import entity.CountryEntity;
+import entity.CountryMetricsEntity;
+import entity.ResourceEntity;
+import entity.ResourceMetricsEntity;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MetricsBatchWriterTest {
+
+	@BeforeAll
+	public static void setUpDatabase() throws SQLException {
+		MariaDbConnection.resetDatabaseForTests();
+	}
+
+	@AfterAll
+	public static void tearDown() throws SQLException {
+		try (Connection conn = MariaDbConnection.getConnection()) {
+			conn.createStatement().executeUpdate("DROP SCHEMA IF EXISTS `simulation`");
+		}
+	}
+
+	@BeforeEach
+	public void setUp() {
+		MariaDbConnection.runInTransaction(em -> {
+			em.createQuery("DELETE FROM CountryMetricsEntity").executeUpdate();
+			em.createQuery("DELETE FROM ResourceMetricsEntity").executeUpdate();
+		});
+	}
+
+	@Test
+	public void testRowsAreWrittenPerTransaction() throws SQLException {
+		CountryMetricsDao countryMetricsDao = new CountryMetricsDao();
+		CountryEntity country = new CountryDao().findByName("Finland");
+
+		try (MetricsBatchWriter writer = new MetricsBatchWriter(2)) {
+			writer.add(new CountryMetricsEntity(1, country, 1_000_000, 100_000_000.0, 0.5, 100.0));
+			writer.endDay();
+			assertEquals(0, countryMetricsDao.findByCountry(country).size());
+
+			writer.add(new CountryMetricsEntity(2, country, 1_000_000, 100_000_000.0, 0.5, 100.0));
+			writer.endDay();
+			assertEquals(2, countryMetricsDao.findByCountry(country).size());
+			assertEquals(2, writer.getRowsWritten());
+			assertEquals(1, writer.getTransactions());
+
+			writer.add(new CountryMetricsEntity(3, country, 1_000_000, 100_000_000.0, 0.5, 100.0));
+		}
+
+		assertEquals(3, countryMetricsDao.findByCountry(country).size());
+	}
+
+	@Test
+	public void testWrittenRowsMatchEntities() throws SQLException {
+		CountryEntity country = new CountryDao().findByName("Finland");
+		ResourceEntity resource = new ResourceDao().findByName("Wood");
+
+		try (MetricsBatchWriter writer = new MetricsBatchWriter(1)) {
+			writer.add(new ResourceMetricsEntity(7, country, resource, 42, 420.0));
+			writer.endDay();
+		}
+
+		ResourceMetricsEntity found = new ResourceMetricsDao().findByResourceAndDay(country, resource, 7);
+		assertEquals(42, found.getQuantity());
+		assertEquals(420.0, found.getValue());
+	}
+
+	@Test
+	public void testInvalidDaysPerTransaction() {
+		assertThrows(IllegalArgumentException.class, () -> new MetricsBatchWriter(0));
+	}
+}
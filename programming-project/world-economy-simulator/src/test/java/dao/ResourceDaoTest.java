@@ -2,7 +2,6 @@ package dao;
 
 import datasource.MariaDbConnection;
 import entity.ResourceEntity;
-import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
@@ -27,10 +26,7 @@ public class ResourceDaoTest {
 
 	@BeforeEach
 	public void setUp() {
-		EntityManager em = MariaDbConnection.getEntityManager();
-		em.getTransaction().begin();
-		em.createQuery("DELETE FROM ResourceEntity").executeUpdate();
-		em.getTransaction().commit();
+		MariaDbConnection.runInTransaction(em -> em.createQuery("DELETE FROM ResourceEntity").executeUpdate());
 	}
 
 	@Test
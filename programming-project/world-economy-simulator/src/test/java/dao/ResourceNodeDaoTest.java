@@ -4,7 +4,6 @@ import datasource.MariaDbConnection;
 import entity.CountryEntity;
 import entity.ResourceEntity;
 import entity.ResourceNodeEntity;
-import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
@@ -29,10 +28,7 @@ public class ResourceNodeDaoTest {
 
 	@BeforeEach
 	public void setUp() {
-		EntityManager em = MariaDbConnection.getEntityManager();
-		em.getTransaction().begin();
-		em.createQuery("DELETE FROM ResourceNodeEntity").executeUpdate();
-		em.getTransaction().commit();
+		MariaDbConnection.runInTransaction(em -> em.createQuery("DELETE FROM ResourceNodeEntity").executeUpdate());
 	}
 
 	@Test
@@ -4,7 +4,6 @@ import datasource.MariaDbConnection;
 import entity.CountryEntity;
 import entity.ResourceEntity;
 import entity.ResourceNodeMetricsEntity;
-import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.*;
 
 import java.sql.Connection;
@@ -28,10 +27,7 @@ public class ResourceNodeMetricsDaoTest {
 
 	@BeforeEach
 	public void setUp() {
-		EntityManager em = MariaDbConnection.getEntityManager();
-		em.getTransaction().begin();
-		em.createQuery("DELETE FROM ResourceNodeMetricsEntity").executeUpdate();
-		em.getTransaction().commit();
+		MariaDbConnection.runInTransaction(em -> em.createQuery("DELETE FROM ResourceNodeMetricsEntity").executeUpdate());
 	}
 
 	@Test
@@ -0,0 +1,186 @@
+package model.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AggregatePopulationTest {
+    private static final int SEGMENTS = 5_000;
+
+    private Country country;
+    private List<Resource> resources;
+
+    @BeforeEach
+    public void setUp() {
+        resources = new ArrayList<>();
+        Map<Resource, Integer> starterResources = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            Resource resource = new Resource("Resource" + i, 0.1 * (i + 1), 100, 1.0);
+            resources.add(resource);
+            starterResources.put(resource, 1_000_000);
+        }
+        country = new Country("TestCountry", 100_000_000.0, 1_000_000, starterResources, new HashMap<>());
+    }
+
+    @Test
+    public void testAddSegments() {
+        AggregatePopulation population = new AggregatePopulation(country, resources, new SplittableRandom(1));
+        population.addSegments(20, 0.5);
+        population.addSegments(30, -0.5);
+
+        assertEquals(50, population.size());
+        assertEquals(-0.1, population.getAverageHappiness(), 1e-9);
+        assertTrue(population.getPeople().isEmpty());
+    }
+
+    @Test
+    public void testTruncateRemovesDemand() {
+        AggregatePopulation population = new AggregatePopulation(country, resources, new SplittableRandom(1));
+        population.addSegments(SEGMENTS, 0);
+        int initialDemand = totalDemand(population);
+
+        population.truncate(SEGMENTS / 4);
+
+        assertEquals(SEGMENTS / 4, population.size());
+        assertEquals(initialDemand / 4.0, totalDemand(population), initialDemand * 0.01);
+    }
+
+    @Test
+    public void testDemandMatchesSegments() {
+        PopulationStore store = new PopulationStore(country, resources, new SplittableRandom(1));
+        AggregatePopulation population = new AggregatePopulation(country, resources, new SplittableRandom(1));
+        store.addSegments(SEGMENTS, 0);
+        population.addSegments(SEGMENTS, 0);
+
+        ResourceRegistry registry = country.getResourceRegistry();
+        int[] storeDemand = new int[registry.size()];
+        int[] aggregateDemand = new int[registry.size()];
+        store.addDemandTo(storeDemand);
+        population.addDemandTo(aggregateDemand);
+
+        for (Resource resource : resources) {
+            int ordinal = registry.ordinalOf(resource);
+            // Both demands are sampled, so they are allowed to differ by four standard deviations of the difference
+            double tolerance = 4 * Math.sqrt(2.0 * storeDemand[ordinal]);
+            assertEquals(storeDemand[ordinal], aggregateDemand[ordinal], tolerance, "Demand for " + resource.name());
+        }
+    }
+
+    @Test
+    public void testHappinessMatchesSegmentsWhenResourcesAreAmple() {
+        PopulationStore store = new PopulationStore(country, resources, new SplittableRandom(1));
+        AggregatePopulation population = new AggregatePopulation(country, resources, new SplittableRandom(1));
+        store.addSegments(SEGMENTS, 0);
+        population.addSegments(SEGMENTS, 0);
+
+        for (int day = 0; day < 5; day++) {
+            serve(country, store);
+            serve(country, population);
+        }
+
+        assertEquals(store.getAverageHappiness(), population.getAverageHappiness(), 1e-9);
+        assertEquals(0, totalDemand(population));
+    }
+
+    @Test
+    public void testShortageSpreadsHappiness() {
+        Map<Resource, Integer> starterResources = new HashMap<>();
+        for (Resource resource : resources) {
+            starterResources.put(resource, 100);
+        }
+        Country poorCountry = new Country("PoorCountry", 0.0, 1_000_000, starterResources, new HashMap<>());
+        PopulationStore store = new PopulationStore(poorCountry, resources, new SplittableRandom(1));
+        store.addSegments(SEGMENTS, 0);
+        serve(poorCountry, store);
+        double storeHappiness = store.getAverageHappiness();
+
+        poorCountry = new Country("PoorCountry", 0.0, 1_000_000, starterResources, new HashMap<>());
+        AggregatePopulation population = new AggregatePopulation(poorCountry, resources, new SplittableRandom(1));
+        population.addSegments(SEGMENTS, 0);
+        serve(poorCountry, population);
+
+        assertTrue(population.getAverageHappiness() < 0);
+        assertEquals(storeHappiness, population.getAverageHappiness(), 0.01);
+    }
+
+    @Test
+    public void testLastingShortageMatchesSegments() {
+        Country storeCountry = restockedCountry();
+        PopulationStore store = new PopulationStore(storeCountry, resources, new SplittableRandom(1));
+        Country aggregateCountry = restockedCountry();
+        AggregatePopulation population = new AggregatePopulation(aggregateCountry, resources, new SplittableRandom(1));
+        store.addSegments(SEGMENTS, 0);
+        population.addSegments(SEGMENTS, 0);
+
+        // Each day only enough of every resource for about a third of the demand is in stock
+        for (int day = 0; day < 30; day++) {
+            restock(storeCountry, 2_000);
+            serve(storeCountry, store);
+            restock(aggregateCountry, 2_000);
+            serve(aggregateCountry, population);
+        }
+
+        // The segments at the front stay served and the others stay short, which spreads the happiness
+        assertTrue(store.getHappinessVariance() > 0.3);
+        assertEquals(store.getAverageHappiness(), population.getAverageHappiness(), 0.05);
+        assertEquals(store.getHappinessVariance(), population.getHappinessVariance(), 0.1);
+        long storeGrowth = storeCountry.getPopulation() - 1_000_000;
+        long aggregateGrowth = aggregateCountry.getPopulation() - 1_000_000;
+        assertEquals(storeGrowth, aggregateGrowth, storeGrowth * 0.2);
+    }
+
+    @Test
+    public void testTruncateKeepsHappinessDistribution() {
+        AggregatePopulation population = new AggregatePopulation(country, resources, new SplittableRandom(1));
+        for (int i = 0; i < 100; i++) {
+            population.addSegments(1, i / 50.0 - 1);
+        }
+        double averageHappiness = population.getAverageHappiness();
+
+        population.truncate(99);
+
+        assertEquals(99, population.size());
+        assertEquals(averageHappiness, population.getAverageHappiness(), 0.01);
+    }
+
+    private Country restockedCountry() {
+        Map<Resource, Integer> starterResources = new HashMap<>();
+        for (Resource resource : resources) {
+            starterResources.put(resource, 0);
+        }
+        return new Country("ShortCountry", 0.0, 1_000_000, starterResources, new HashMap<>());
+    }
+
+    private void restock(Country restockedCountry, int quantity) {
+        for (Resource resource : resources) {
+            int leftOver = (int) restockedCountry.getResourceQuantity(resource);
+            if (leftOver > 0) {
+                restockedCountry.removeResources(resource, leftOver);
+            }
+            restockedCountry.addResources(resource, quantity);
+        }
+    }
+
+    private void serve(Country servingCountry, Population population) {
+        PriceTable prices = servingCountry.snapshotPrices();
+        population.updateAndServeSegments(Double.MAX_VALUE, prices);
+        prices.settle();
+    }
+
+    private int totalDemand(AggregatePopulation population) {
+        int[] demand = new int[country.getResourceRegistry().size()];
+        population.addDemandTo(demand);
+        int total = 0;
+        for (int quantity : demand) {
+            total += quantity;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,53 @@
+package model.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AliasTableTest {
+    @Test
+    public void testSamplesFollowWeights() {
+        double[] weights = {1.0, 2.0, 0.0, 5.0};
+        AliasTable table = new AliasTable(weights.length);
+        assertTrue(table.build(weights, weights.length));
+
+        int samples = 80_000;
+        int[] counts = new int[weights.length];
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < samples; i++) {
+            counts[table.sample(random)]++;
+        }
+
+        assertEquals(0, counts[2]);
+        assertEquals(1.0 / 8, (double) counts[0] / samples, 0.01);
+        assertEquals(2.0 / 8, (double) counts[1] / samples, 0.01);
+        assertEquals(5.0 / 8, (double) counts[3] / samples, 0.01);
+    }
+
+    @Test
+    public void testRebuildUsesNewWeights() {
+        AliasTable table = new AliasTable(3);
+        table.build(new double[]{1.0, 1.0, 1.0}, 3);
+        table.build(new double[]{0.0, 0.0, 4.0}, 3);
+
+        SplittableRandom random = new SplittableRandom(1);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(2, table.sample(random));
+        }
+    }
+
+    @Test
+    public void testZeroTotalWeight() {
+        AliasTable table = new AliasTable(2);
+        assertFalse(table.build(new double[]{0.0, 0.0}, 2));
+        assertThrows(IllegalStateException.class, () -> table.sample(new SplittableRandom(1)));
+    }
+
+    @Test
+    public void testCountExceedsCapacity() {
+        AliasTable table = new AliasTable(1);
+        assertThrows(IllegalArgumentException.class, () -> table.build(new double[]{1.0, 1.0}, 2));
+    }
+}
@@ -6,7 +6,6 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 public class CountryTest {
@@ -108,6 +107,13 @@ public class CountryTest {
         assertEquals(expectedBudget, country.getSegmentBudget());
     }
 
+    @Test
+    public void testSegmentBudgetFollowsNodeUpgrades() {
+        country.getResourceNodes().getFirst().upgradeNode();
+        double expectedBudget = 2 * 10 * (1 - 0.3) * 100_000;
+        assertEquals(expectedBudget, country.getSegmentBudget());
+    }
+
     @Test
     public void testGetAverageHappiness() {
         // Initial happiness of all people is 0
@@ -116,11 +122,20 @@ public class CountryTest {
     }
 
     @Test
-    public void testRequestTrade() {
-        Country otherCountry = new Country("OtherCountry", 2000.0, 2000, starterResources, ownedResources);
-        country.addAllCountries(List.of(otherCountry));
-        country.requestTrade(otherCountry, water, 50);
-        assertEquals(50, country.getResourceStorage().get(water).getQuantity());
-        assertEquals(150, otherCountry.getResourceStorage().get(water).getQuantity());
+    public void testRunDayMatchesSeparatePhases() {
+        Country phased = new Country("TestCountry", 100_000_000.0, 1_000_000, starterResources, ownedResources);
+        Country fused = new Country("TestCountry", 100_000_000.0, 1_000_000, starterResources, ownedResources);
+
+        for (int day = 0; day < 10; day++) {
+            phased.updatePeople();
+            phased.obtainResources();
+            phased.servePeople();
+            phased.requestResources();
+            fused.runDay();
+        }
+
+        assertEquals(phased.getMoney(), fused.getMoney());
+        assertEquals(phased.getPopulation(), fused.getPopulation());
+        assertEquals(phased.getAverageHappiness(), fused.getAverageHappiness());
     }
 }
\ No newline at end of file
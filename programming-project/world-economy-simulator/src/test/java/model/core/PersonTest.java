@@ -1,9 +1,12 @@
 package model.core;
 
+import model.simulation.SimulationContext;
+import model.simulation.SimulationParameters;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -12,6 +15,7 @@ public class PersonTest {
     private Country country;
     private Resource water;
     private Person person;
+    private SimulationContext context;
 
     @BeforeEach
     public void setUp() {
@@ -21,7 +25,10 @@ public class PersonTest {
         starterResources.put(water, 100);
         Map<Resource, ResourceNodeDTO> ownedResources = new HashMap<>();
         ownedResources.put(water, waterNodeDTO);
-        country = new Country("TestCountry", 100_000_000.0, 1_000_000, starterResources, ownedResources);
+        // An explicit seed keeps the draws of the people the same in every run, without changing the global config
+        context = new SimulationContext(new SimulationParameters(100, 0, 128, 100_000, 1, false, 42),
+                new ResourceRegistry(List.of(water)));
+        country = new Country("TestCountry", 100_000_000.0, 1_000_000, starterResources, ownedResources, context);
         person = country.getPeopleObjects().getFirst();
     }
 
@@ -53,4 +60,20 @@ public class PersonTest {
         assertTrue(person.getHappiness() >= -1.0 && person.getHappiness() <= 1.0);
         assertTrue(country.getMoney() > initialMoney);
     }
+
+    @Test
+    public void testSameSeedReproducesPerson() {
+        Country firstCountry = new Country("SeededCountry", 100_000_000.0, 1_000_000, Map.of(water, 100), Map.of(),
+                context);
+        Country secondCountry = new Country("SeededCountry", 100_000_000.0, 1_000_000, Map.of(water, 100), Map.of(),
+                context);
+
+        Person firstPerson = firstCountry.getPeopleObjects().getFirst();
+        Person secondPerson = secondCountry.getPeopleObjects().getFirst();
+        firstPerson.updatePerson();
+        secondPerson.updatePerson();
+
+        assertEquals(firstPerson.getPreferences(), secondPerson.getPreferences());
+        assertEquals(firstPerson.getDemand(), secondPerson.getDemand());
+    }
 }
\ No newline at end of file
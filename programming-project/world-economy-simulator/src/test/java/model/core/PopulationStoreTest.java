@@ -0,0 +1,204 @@
+package model.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PopulationStoreTest {
+    private Country country;
+    private Resource water;
+    private Resource wood;
+    private PopulationStore store;
+
+    @BeforeEach
+    public void setUp() {
+        water = new Resource("Water", 0.5, 100, 10.0);
+        wood = new Resource("Wood", 0.8, 100, 10.0);
+        Map<Resource, Integer> starterResources = new HashMap<>();
+        starterResources.put(water, 100);
+        starterResources.put(wood, 100);
+        country = new Country("TestCountry", 100_000_000.0, 1_000_000, starterResources, new HashMap<>());
+        store = new PopulationStore(country, List.of(water, wood), new SplittableRandom(1));
+    }
+
+    @Test
+    public void testAddSegments() {
+        store.addSegments(20, 0.5);
+        assertEquals(20, store.size());
+        assertEquals(0.5, store.getAverageHappiness(), 1e-9);
+    }
+
+    @Test
+    public void testTruncate() {
+        store.addSegments(20, 0);
+        store.truncate(5);
+        assertEquals(5, store.size());
+        assertEquals(5, store.getPeople().size());
+    }
+
+    @Test
+    public void testPreferencesWithinRange() {
+        store.addSegments(50, 0);
+        for (int i = 0; i < 10; i++) {
+            for (int segment = 0; segment < store.size(); segment++) {
+                store.updateSegment(segment);
+            }
+        }
+
+        for (int segment = 0; segment < store.size(); segment++) {
+            for (int resourceIndex = 0; resourceIndex < store.getResourceCount(); resourceIndex++) {
+                double preference = store.getPreference(segment, resourceIndex);
+                assertTrue(preference >= 0.0 && preference <= 1.0);
+            }
+        }
+    }
+
+    @Test
+    public void testDemandTotalsMatchPeople() {
+        store.addSegments(50, 0);
+
+        ResourceRegistry registry = country.getResourceRegistry();
+        int[] totalDemand = new int[registry.size()];
+        store.addDemandTo(totalDemand);
+
+        int[] expectedDemand = new int[registry.size()];
+        for (Person person : store.getPeople()) {
+            for (Map.Entry<Resource, Integer> entry : person.getDemand().entrySet()) {
+                expectedDemand[registry.ordinalOf(entry.getKey())] += entry.getValue();
+            }
+        }
+        assertArrayEquals(expectedDemand, totalDemand);
+    }
+
+    @Test
+    public void testServeSegmentSellsDemandedResources() {
+        store.addSegments(1, 1.0);
+        int demandedResources = store.getPeople().getFirst().getDemand().size();
+        double initialMoney = country.getMoney();
+
+        store.serveSegment(0, Double.MAX_VALUE);
+
+        assertTrue(store.getPeople().getFirst().getDemand().isEmpty());
+        assertEquals(200 - demandedResources,
+                country.getResourceStorage().get(water).getQuantity() + country.getResourceStorage().get(wood).getQuantity());
+        assertTrue(country.getMoney() > initialMoney);
+        assertEquals(store.getPeople().getFirst().getHappiness(), store.getAverageHappiness(), 1e-9);
+    }
+
+    @Test
+    public void testCohortsKeepSegmentsTogether() {
+        PopulationStore cohortStore = new PopulationStore(country, List.of(water, wood), new SplittableRandom(1), true);
+        cohortStore.addSegments(1000, 0.5);
+        assertEquals(1000, cohortStore.size());
+        assertEquals(1, cohortStore.getRowCount());
+        assertEquals(1000, cohortStore.getPeople().getFirst().getWeight());
+
+        // New segments get preferences of their own instead of joining a cohort with the same happiness
+        cohortStore.addSegments(10, 0.5);
+        assertEquals(1010, cohortStore.size());
+        assertEquals(2, cohortStore.getRowCount());
+        assertNotEquals(cohortStore.getPreference(0, 0), cohortStore.getPreference(1, 0));
+
+        cohortStore.truncate(600);
+        assertEquals(600, cohortStore.size());
+        assertEquals(1, cohortStore.getRowCount());
+        assertEquals(600, cohortStore.getWeight(0));
+    }
+
+    @Test
+    public void testCohortSplitsWhenResourceRunsOut() {
+        PopulationStore cohortStore = new PopulationStore(country, List.of(water), new SplittableRandom(1), true);
+        cohortStore.addSegments(500, 1.0);
+        double initialMoney = country.getMoney();
+        double price = country.getResourceSellPrice(water);
+
+        serve(cohortStore::serveSegments);
+
+        assertEquals(2, cohortStore.getRowCount());
+        assertEquals(100, cohortStore.getWeight(0));
+        assertEquals(400, cohortStore.getWeight(1));
+        assertEquals(1.0, cohortStore.getHappiness(0), 1e-9);
+        assertEquals(0.95, cohortStore.getHappiness(1), 1e-9);
+        assertEquals(0, country.getResourceStorage().get(water).getQuantity());
+        assertEquals(initialMoney + 100 * price, country.getMoney(), 1e-6);
+    }
+
+    @Test
+    public void testCohortsMergeWhenStatesConverge() {
+        PopulationStore cohortStore = new PopulationStore(country, List.of(water), new SplittableRandom(1), true);
+        cohortStore.addSegments(500, 1.0);
+        serve(cohortStore::serveSegments);
+        assertEquals(2, cohortStore.getRowCount());
+
+        country.addResources(water, 1000);
+        serve(cohortStore::serveSegments);
+
+        assertEquals(1, cohortStore.getRowCount());
+        assertEquals(500, cohortStore.getWeight(0));
+        assertEquals(1.0, cohortStore.getAverageHappiness(), 1e-9);
+    }
+
+    @Test
+    public void testAggregatesMatchSegments() {
+        for (boolean cohorts : new boolean[] {false, true}) {
+            PopulationStore aggregateStore = new PopulationStore(country, List.of(water, wood), new SplittableRandom(1),
+                    cohorts);
+            aggregateStore.addSegments(300, 0.2);
+            for (int day = 0; day < 5; day++) {
+                serve(aggregateStore::updateAndServeSegments);
+                aggregateStore.addSegments(10, 0);
+                aggregateStore.truncate(aggregateStore.size() - 5);
+            }
+
+            ResourceRegistry registry = country.getResourceRegistry();
+            int[] expectedDemand = new int[registry.size()];
+            double happinessSum = 0;
+            double happinessSquareSum = 0;
+            for (Person person : aggregateStore.getPeople()) {
+                happinessSum += person.getHappiness() * person.getWeight();
+                happinessSquareSum += person.getHappiness() * person.getHappiness() * person.getWeight();
+                for (Resource resource : person.getDemand().keySet()) {
+                    expectedDemand[registry.ordinalOf(resource)] += person.getWeight();
+                }
+            }
+            double mean = happinessSum / aggregateStore.size();
+
+            int[] totalDemand = new int[registry.size()];
+            aggregateStore.addDemandTo(totalDemand);
+            assertArrayEquals(expectedDemand, totalDemand);
+            assertEquals(mean, aggregateStore.getAverageHappiness(), 1e-9);
+            assertEquals(happinessSquareSum / aggregateStore.size() - mean * mean,
+                    aggregateStore.getHappinessVariance(), 1e-9);
+            // The stock ran out on the first days, so nothing was served on the last one
+            assertEquals(1.0, aggregateStore.getUnmetDemandRate(), 1e-9);
+        }
+    }
+
+    @Test
+    public void testAverageHappinessStaysWithinRange() {
+        for (int i = 0; i < 300; i++) {
+            store.addSegments(1, i / 300.0 - 0.3);
+        }
+        country.removeResources(water, 100);
+        country.removeResources(wood, 100);
+        for (int day = 0; day < 500; day++) {
+            serve(store::updateAndServeSegments);
+        }
+
+        assertEquals(-1.0, store.getAverageHappiness(), 0.0);
+        assertEquals(0.0, store.getHappinessVariance(), 0.0);
+    }
+
+    private void serve(BiConsumer<Double, PriceTable> serving) {
+        PriceTable prices = country.snapshotPrices();
+        serving.accept(Double.MAX_VALUE, prices);
+        prices.settle();
+    }
+}
@@ -0,0 +1,63 @@
+package model.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriceTableTest {
+    private Country country;
+    private Resource water;
+    private int ordinal;
+
+    @BeforeEach
+    public void setUp() {
+        water = new Resource("Water", 0.5, 100, 10.0);
+        Map<Resource, Integer> starterResources = new HashMap<>();
+        starterResources.put(water, 100);
+        country = new Country("TestCountry", 1_000.0, 1_000_000, starterResources, new HashMap<>());
+        ordinal = country.getResourceRegistry().ordinalOf(water);
+    }
+
+    @Test
+    public void testSnapshotMatchesStorage() {
+        PriceTable prices = country.snapshotPrices();
+        assertEquals(country.getResourceSellPrice(water), prices.getPrice(ordinal));
+        assertEquals(100, prices.getAvailable(ordinal));
+    }
+
+    @Test
+    public void testSalesAreSettledOnce() {
+        double price = country.getResourceSellPrice(water);
+        PriceTable prices = country.snapshotPrices();
+
+        prices.sell(ordinal, 30);
+        prices.sell(ordinal, 10);
+
+        assertEquals(60, prices.getAvailable(ordinal));
+        assertEquals(100, country.getResourceQuantity(water));
+        assertEquals(1_000.0, country.getMoney());
+
+        prices.settle();
+
+        assertEquals(60, country.getResourceQuantity(water));
+        assertEquals(1_000.0 + 40 * price, country.getMoney(), 1e-9);
+        assertEquals(price, country.getResourceSellPrice(water), 1e-9);
+    }
+
+    @Test
+    public void testSettleResetsSales() {
+        PriceTable prices = country.snapshotPrices();
+        prices.sell(ordinal, 10);
+        prices.settle();
+        double money = country.getMoney();
+
+        prices.settle();
+
+        assertEquals(90, country.getResourceQuantity(water));
+        assertEquals(money, country.getMoney());
+    }
+}
@@ -0,0 +1,33 @@
+package model.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourceRegistryTest {
+    private final Resource water = new Resource("Water", 0.5, 100, 10.0);
+    private final Resource wood = new Resource("Wood", 0.8, 100, 10.0);
+
+    @Test
+    public void testOrdinalsFollowIterationOrder() {
+        ResourceRegistry registry = new ResourceRegistry(List.of(water, wood));
+        assertEquals(2, registry.size());
+        assertEquals(0, registry.ordinalOf(water));
+        assertEquals(1, registry.ordinalOf(wood));
+        assertEquals(wood, registry.getResource(1));
+    }
+
+    @Test
+    public void testDuplicatesIgnored() {
+        ResourceRegistry registry = new ResourceRegistry(List.of(water, wood, water));
+        assertEquals(2, registry.size());
+    }
+
+    @Test
+    public void testUnregisteredResourceThrows() {
+        ResourceRegistry registry = new ResourceRegistry(List.of(water));
+        assertThrows(IllegalArgumentException.class, () -> registry.ordinalOf(wood));
+    }
+}
@@ -0,0 +1,84 @@
+package model.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SupplyArchiveTest {
+    @Test
+    public void testNewestAndOldestBeforeFull() {
+        SupplyArchive archive = new SupplyArchive(5);
+        archive.add(1);
+        archive.add(2);
+        archive.add(3);
+
+        assertEquals(3, archive.size());
+        assertEquals(3, archive.newest());
+        assertEquals(1, archive.oldest());
+        assertArrayEquals(new int[]{3, 2, 1}, archive.toArray());
+    }
+
+    @Test
+    public void testEvictsOldestWhenFull() {
+        SupplyArchive archive = new SupplyArchive(3);
+        for (int i = 1; i <= 5; i++) {
+            archive.add(i);
+        }
+
+        assertEquals(3, archive.size());
+        assertEquals(5, archive.newest());
+        assertEquals(3, archive.oldest());
+        assertEquals(12, archive.sum());
+        assertEquals(4.0, archive.average(), 1e-9);
+    }
+
+    @Test
+    public void testGetOutOfBounds() {
+        SupplyArchive archive = new SupplyArchive(3);
+        assertThrows(IndexOutOfBoundsException.class, archive::newest);
+        archive.add(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> archive.get(1));
+    }
+
+    @Test
+    public void testEwma() {
+        SupplyArchive archive = new SupplyArchive(10, 0.5, false);
+        archive.add(10);
+        archive.add(20);
+        assertEquals(15.0, archive.ewma(), 1e-9);
+    }
+
+    @Test
+    public void testExtremesMatchWindow() {
+        SupplyArchive archive = new SupplyArchive(7, 0.5, true);
+        SplittableRandom random = new SplittableRandom(3);
+
+        for (int i = 0; i < 200; i++) {
+            archive.add(random.nextInt(-50, 50));
+
+            int[] window = archive.toArray();
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int sample : window) {
+                min = Math.min(min, sample);
+                max = Math.max(max, sample);
+            }
+            assertEquals(min, archive.min());
+            assertEquals(max, archive.max());
+        }
+    }
+
+    @Test
+    public void testExtremesNotTracked() {
+        SupplyArchive archive = new SupplyArchive(3);
+        archive.add(1);
+        assertThrows(IllegalStateException.class, archive::min);
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SupplyArchive(0));
+    }
+}
@@ -0,0 +1,111 @@
+package model.core;
+
+import model.simulation.SimulationContext;
+import model.simulation.SimulationParameters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TradeMarketTest {
+    private Resource water;
+    private ResourceRegistry registry;
+    private SimulationContext context;
+
+    @BeforeEach
+    public void setUp() {
+        water = new Resource("Water", 0.5, 100, 10.0);
+        registry = new ResourceRegistry(List.of(water));
+        context = new SimulationContext(new SimulationParameters(100, 0, 128, 100_000, 1, false, 1), registry);
+    }
+
+    private Country createCountry(String name, double money, int water) {
+        Map<Resource, Integer> starterResources = new HashMap<>();
+        starterResources.put(this.water, water);
+        return new Country(name, money, 1_000_000, starterResources, new HashMap<>(), context);
+    }
+
+    @Test
+    public void testBidFilledFromCheapestAsk() {
+        Country buyer = createCountry("Buyer", 1_000_000.0, 0);
+        Country expensive = createCountry("Expensive", 0, 100);
+        Country cheap = createCountry("Cheap", 0, 100);
+        expensive.getResourceStorage().get(water).addValue(1000);
+        buyer.postTradeBid(registry.ordinalOf(water), 50);
+
+        new TradeMarket(List.of(buyer, expensive, cheap)).clear(null);
+
+        assertEquals(50, buyer.getResourceStorage().get(water).getQuantity());
+        assertEquals(50, cheap.getResourceStorage().get(water).getQuantity());
+        assertEquals(100, expensive.getResourceStorage().get(water).getQuantity());
+        assertTrue(cheap.getMoney() > 0);
+    }
+
+    @Test
+    public void testTradeMovesResourcesAndMoney() {
+        Country seller = createCountry("Seller", 0, 100);
+        Country buyer = createCountry("Buyer", 2000.0, 0);
+        double exportPrice = seller.getExportPrice(registry.ordinalOf(water));
+        buyer.postTradeBid(registry.ordinalOf(water), 50);
+
+        new TradeMarket(List.of(buyer, seller)).clear(null);
+
+        assertEquals(50, seller.getResourceStorage().get(water).getQuantity());
+        assertEquals(50, buyer.getResourceStorage().get(water).getQuantity());
+        assertEquals(exportPrice * 50, seller.getMoney(), 1e-6);
+        assertEquals(2000.0 - exportPrice * 50, buyer.getMoney(), 1e-6);
+    }
+
+    @Test
+    public void testBudgetLimitsTrade() {
+        Country seller = createCountry("Seller", 0, 100);
+        double exportPrice = seller.getExportPrice(registry.ordinalOf(water));
+        Country buyer = createCountry("Buyer", exportPrice * 10.5, 0);
+        buyer.postTradeBid(registry.ordinalOf(water), 50);
+
+        new TradeMarket(List.of(buyer, seller)).clear(null);
+
+        assertEquals(10, buyer.getResourceStorage().get(water).getQuantity());
+        assertEquals(exportPrice * 0.5, buyer.getMoney(), 1e-6);
+    }
+
+    @Test
+    public void testOutcomeIndependentOfListOrderAndParallelism() {
+        double[] sequentialMoney = runMarket(false, null);
+        double[] reversedMoney = runMarket(true, null);
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            double[] parallelMoney = runMarket(false, forkJoinPool);
+            assertArrayEquals(sequentialMoney, parallelMoney);
+        } finally {
+            forkJoinPool.shutdown();
+        }
+        assertArrayEquals(sequentialMoney, reversedMoney);
+    }
+
+    private double[] runMarket(boolean reversed, ForkJoinPool forkJoinPool) {
+        Country first = createCountry("A", 5000.0, 0);
+        Country second = createCountry("B", 5000.0, 0);
+        Country seller = createCountry("C", 0, 30);
+        first.postTradeBid(0, 20);
+        second.postTradeBid(0, 20);
+
+        List<Country> countries = reversed ? List.of(seller, second, first) : List.of(first, second, seller);
+        new TradeMarket(countries).clear(forkJoinPool);
+
+        return new double[]{first.getMoney(), second.getMoney(), seller.getMoney(),
+                first.getResourceQuantity(0), second.getResourceQuantity(0), seller.getResourceQuantity(0)};
+    }
+
+    @Test
+    public void testCountriesMustShareRegistry() {
+        Country country = createCountry("A", 0, 0);
+        Country other = new Country("B", 0, 1_000_000, Map.of(water, 0), Map.of());
+        assertThrows(IllegalArgumentException.class, () -> new TradeMarket(List.of(country, other)));
+    }
+}
@@ -0,0 +1,71 @@
+package model.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalendarEventListTest {
+    @Test
+    public void testEventsOrderedByTimeAndType() {
+        CalendarEventList eventList = new CalendarEventList();
+        eventList.addEvent(new Event(EventType.TRADE_RESOURCES, 2));
+        eventList.addEvent(new Event(EventType.UPDATE_PEOPLE, 2));
+        eventList.addEvent(new Event(EventType.SERVE_PEOPLE, 1));
+        eventList.addEvent(new Event(EventType.OBTAIN_RESOURCES, 1));
+
+        assertEquals(4, eventList.size());
+        assertEquals(EventType.OBTAIN_RESOURCES, eventList.peekNextEvent().getType());
+        assertEquals(EventType.OBTAIN_RESOURCES, eventList.getNextEvent().getType());
+        assertEquals(EventType.SERVE_PEOPLE, eventList.getNextEvent().getType());
+        assertEquals(EventType.UPDATE_PEOPLE, eventList.getNextEvent().getType());
+        assertEquals(EventType.TRADE_RESOURCES, eventList.getNextEvent().getType());
+        assertFalse(eventList.hasMoreEvents());
+        assertNull(eventList.getNextEvent());
+    }
+
+    @Test
+    public void testSparseEventsFoundAcrossBucketRounds() {
+        CalendarEventList eventList = new CalendarEventList();
+        eventList.addEvent(new Event(EventType.TRADE_RESOURCES, 10_000));
+        eventList.addEvent(new Event(EventType.TRADE_RESOURCES, 5));
+        eventList.addEvent(new Event(EventType.TRADE_RESOURCES, 16 + 5));
+
+        assertEquals(5, eventList.getNextEvent().getTime());
+        assertEquals(21, eventList.getNextEvent().getTime());
+        assertEquals(10_000, eventList.getNextEvent().getTime());
+    }
+
+    @Test
+    public void testMatchesPriorityEventList() {
+        CalendarEventList calendarEventList = new CalendarEventList();
+        PriorityEventList priorityEventList = new PriorityEventList();
+        SplittableRandom random = new SplittableRandom(1);
+        int[] periods = {1, 7, 30, 365};
+        EventType[] types = EventType.values();
+
+        for (int i = 0; i < 500; i++) {
+            EventType type = types[random.nextInt(types.length)];
+            int time = random.nextInt(400);
+            // Events of the same type share a period, so events that tie in order are interchangeable
+            int period = periods[type.ordinal() % periods.length];
+            calendarEventList.addEvent(new Event(type, time, period));
+            priorityEventList.addEvent(new Event(type, time, period));
+        }
+
+        // Reschedule every processed event, as the simulator does with recurring events
+        for (int i = 0; i < 20_000; i++) {
+            Event expected = priorityEventList.getNextEvent();
+            Event actual = calendarEventList.getNextEvent();
+            assertEquals(expected.getTime(), actual.getTime());
+            assertEquals(expected.getType(), actual.getType());
+
+            expected.reschedule(expected.getTime() + expected.getPeriod());
+            priorityEventList.addEvent(expected);
+            actual.reschedule(actual.getTime() + actual.getPeriod());
+            calendarEventList.addEvent(actual);
+        }
+        assertEquals(priorityEventList.size(), calendarEventList.size());
+    }
+}
@@ -0,0 +1,79 @@
+package model.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClockTest {
+    /**
+     * Starts a thread that advances the clock by one day every time it is allowed to run, like the simulator does.
+     */
+    private Thread startTicking(Clock clock, int lastDay) {
+        Thread thread = new Thread(() -> {
+            try {
+                while (clock.getTime() < lastDay) {
+                    clock.awaitRunning();
+                    clock.setTime(clock.getTime() + 1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Waits until a thread is parked waiting for the clock at a given day.
+     */
+    private void awaitParked(Thread thread, Clock clock, int day) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (clock.getTime() != day || thread.getState() != Thread.State.WAITING) {
+            assertTrue(System.nanoTime() < deadline, "Thread did not park");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void testPausedThreadParksUntilResumed() throws InterruptedException {
+        Clock clock = new Clock();
+        clock.pause();
+        Thread thread = startTicking(clock, 10);
+
+        awaitParked(thread, clock, 0);
+
+        clock.resume();
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+        assertEquals(10, clock.getTime());
+    }
+
+    @Test
+    public void testStepRunsDaysThenPauses() throws InterruptedException {
+        Clock clock = new Clock();
+        clock.pause();
+        Thread thread = startTicking(clock, 100);
+
+        clock.step(3);
+        awaitParked(thread, clock, 3);
+        assertTrue(clock.isPaused());
+        assertFalse(clock.isFastForwarding());
+
+        clock.runUntil(7);
+        awaitParked(thread, clock, 7);
+        assertTrue(clock.isPaused());
+
+        clock.resume();
+        thread.join(5000);
+        assertEquals(100, clock.getTime());
+    }
+
+    @Test
+    public void testInvalidTargetThrowsException() {
+        Clock clock = new Clock();
+        clock.setTime(5);
+        assertThrows(IllegalArgumentException.class, () -> clock.runUntil(5));
+        assertThrows(IllegalArgumentException.class, () -> clock.step(0));
+    }
+}
@@ -0,0 +1,41 @@
+package model.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnsembleResultTest {
+    @Test
+    public void testBandsOfSmallEnsembleAreExactPercentiles() {
+        EnsembleResult result = new EnsembleResult(List.of("Finland"), 10, 10);
+        SplittableRandom random = new SplittableRandom(5);
+        double[] money = new double[20];
+
+        for (int run = 0; run < money.length; run++) {
+            money[run] = 1_000_000 * random.nextDouble();
+            result.record(10, 0, money[run], 1_000, 0.0);
+        }
+
+        Arrays.sort(money);
+        EnsembleResult.Band band = result.getBand(10, "Finland", EnsembleResult.Metric.MONEY);
+        assertEquals(20, band.runs());
+        assertEquals(money[1], band.p5());
+        assertEquals(money[10], band.p50());
+        assertEquals(money[18], band.p95());
+    }
+
+    @Test
+    public void testUnrecordedDayHasNoRuns() {
+        EnsembleResult result = new EnsembleResult(List.of("Finland"), 20, 10);
+        result.record(10, 0, 1_000, 1_000, 0.0);
+
+        EnsembleResult.Band band = result.getBand(20, "Finland", EnsembleResult.Metric.POPULATION);
+        assertEquals(0, band.runs());
+        assertTrue(Double.isNaN(band.p50()));
+        assertEquals(1, result.getBand(10, "Finland", EnsembleResult.Metric.POPULATION).runs());
+    }
+}
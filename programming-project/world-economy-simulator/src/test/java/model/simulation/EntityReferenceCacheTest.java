@@ -0,0 +1,110 @@
+package model.simulation;
+
+import dao.CountryDao;
+import dao.ResourceDao;
+import entity.CountryEntity;
+import entity.ResourceEntity;
+import model.core.Country;
+import model.core.Resource;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityReferenceCacheTest {
+    @Test
+    public void testLookupsNeedNoQueriesAfterLoading() {
+        Resource water = new Resource("Water", 0.5, 100, 10.0);
+        Resource wood = new Resource("Wood", 0.8, 100, 10.0);
+        Map<Resource, Integer> starterResources = new HashMap<>();
+        starterResources.put(water, 100);
+        starterResources.put(wood, 100);
+        Country finland = new Country("Finland", 1_000_000.0, 1_000, starterResources, new HashMap<>());
+        Country sweden = new Country("Sweden", 1_000_000.0, 1_000, starterResources, new HashMap<>());
+
+        StubCountryDao countryDao = new StubCountryDao();
+        countryDao.stored.add(entity(new CountryEntity("Finland", 1_000_000.0, 1_000), 1L));
+        StubResourceDao resourceDao = new StubResourceDao();
+        resourceDao.stored.add(resource(water, 1L));
+
+        EntityReferenceCache cache = new EntityReferenceCache(countryDao, resourceDao);
+        cache.load(List.of(finland, sweden), List.of(water, wood));
+        int queries = countryDao.queries + resourceDao.queries;
+
+        for (int day = 0; day < 10; day++) {
+            assertEquals(1L, cache.getCountry(finland).getId());
+            assertEquals("Sweden", cache.getCountry(sweden).getName());
+            assertEquals(1L, cache.getResource(water).getId());
+            assertEquals(2L, cache.getResource(new Resource("Wood", 0.8, 100, 10.0)).getId());
+        }
+
+        assertEquals(queries, countryDao.queries + resourceDao.queries);
+        assertEquals(2, countryDao.stored.size());
+        assertEquals(2, resourceDao.stored.size());
+    }
+
+    private static CountryEntity entity(CountryEntity countryEntity, long id) {
+        countryEntity.setId(id);
+        return countryEntity;
+    }
+
+    private static ResourceEntity resource(Resource resource, long id) {
+        ResourceEntity resourceEntity = new ResourceEntity(resource.name(), resource.priority(),
+                resource.baseCapacity(), resource.productionCost());
+        resourceEntity.setId(id);
+        return resourceEntity;
+    }
+
+    private static class StubCountryDao extends CountryDao {
+        private final List<CountryEntity> stored = new ArrayList<>();
+        private int queries = 0;
+
+        @Override
+        public void persist(CountryEntity country) {
+            country.setId(stored.size() + 1L);
+            stored.add(country);
+        }
+
+        @Override
+        public CountryEntity findByName(String name) {
+            queries++;
+            return stored.stream().filter(c -> c.getName().equals(name)).findFirst().orElse(null);
+        }
+
+        @Override
+        public List<CountryEntity> findAll() {
+            queries++;
+            return List.copyOf(stored);
+        }
+    }
+
+    private static class StubResourceDao extends ResourceDao {
+        private final List<ResourceEntity> stored = new ArrayList<>();
+        private int queries = 0;
+
+        @Override
+        public void persist(ResourceEntity resourceEntity) {
+            // Like the merge of the real DAO, the id is only set on the stored copy
+            ResourceEntity copy = new ResourceEntity(resourceEntity.getName(), resourceEntity.getPriority(),
+                    resourceEntity.getBaseCapacity(), resourceEntity.getProductionCost());
+            copy.setId(stored.size() + 1L);
+            stored.add(copy);
+        }
+
+        @Override
+        public ResourceEntity findByName(String name) {
+            queries++;
+            return stored.stream().filter(r -> r.getName().equals(name)).findFirst().orElse(null);
+        }
+
+        @Override
+        public List<ResourceEntity> findAll() {
+            queries++;
+            return List.copyOf(stored);
+        }
+    }
+}
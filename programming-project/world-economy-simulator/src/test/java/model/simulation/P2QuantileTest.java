@@ -0,0 +1,43 @@
+package model.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class P2QuantileTest {
+    @Test
+    public void testEstimatesUniformQuantiles() {
+        P2Quantile p5 = new P2Quantile(0.05);
+        P2Quantile median = new P2Quantile(0.5);
+        P2Quantile p95 = new P2Quantile(0.95);
+        SplittableRandom random = new SplittableRandom(11);
+
+        for (int i = 0; i < 20_000; i++) {
+            double value = random.nextDouble();
+            p5.add(value);
+            median.add(value);
+            p95.add(value);
+        }
+
+        assertEquals(0.05, p5.getQuantile(), 0.01);
+        assertEquals(0.5, median.getQuantile(), 0.01);
+        assertEquals(0.95, p95.getQuantile(), 0.01);
+    }
+
+    @Test
+    public void testExactWithFewValues() {
+        P2Quantile median = new P2Quantile(0.5);
+        assertTrue(Double.isNaN(median.getQuantile()));
+        median.add(3);
+        median.add(1);
+        median.add(2);
+        assertEquals(2.0, median.getQuantile());
+    }
+
+    @Test
+    public void testInvalidProbability() {
+        assertThrows(IllegalArgumentException.class, () -> new P2Quantile(1.0));
+    }
+}
@@ -0,0 +1,91 @@
+package model.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParameterSweepTest {
+    @Test
+    public void testGridCoversEveryCombination() {
+        Map<SweepParameter, double[]> values = new EnumMap<>(SweepParameter.class);
+        values.put(SweepParameter.POPULATION_SEGMENT_SIZE, new double[]{100, 1000});
+        values.put(SweepParameter.COUNTRY_INDIVIDUAL_TAX, new double[]{0.1, 0.2, 0.3});
+
+        List<SweepPoint> points = ParameterSweep.grid(values);
+
+        assertEquals(6, points.size());
+        assertEquals(100, points.get(0).values().get(SweepParameter.POPULATION_SEGMENT_SIZE));
+        assertEquals(0.2, points.get(1).values().get(SweepParameter.COUNTRY_INDIVIDUAL_TAX));
+        assertEquals(1000, points.get(5).values().get(SweepParameter.POPULATION_SEGMENT_SIZE));
+        assertEquals(0.3, points.get(5).values().get(SweepParameter.COUNTRY_INDIVIDUAL_TAX));
+        assertEquals(5, points.get(5).index());
+    }
+
+    @Test
+    public void testLatinHypercubeSamplesEveryStratumOnce() {
+        Map<SweepParameter, double[]> ranges = new EnumMap<>(SweepParameter.class);
+        ranges.put(SweepParameter.BASE_EXPORT_TAX, new double[]{0.0, 1.0});
+        int samples = 50;
+
+        List<SweepPoint> points = ParameterSweep.latinHypercube(ranges, samples, 1);
+
+        boolean[] strataSampled = new boolean[samples];
+        for (SweepPoint point : points) {
+            int stratum = (int) (point.values().get(SweepParameter.BASE_EXPORT_TAX) * samples);
+            assertFalse(strataSampled[stratum]);
+            strataSampled[stratum] = true;
+        }
+        assertEquals(points, ParameterSweep.latinHypercube(ranges, samples, 1));
+    }
+
+    @Test
+    public void testLatinHypercubeRoundsIntegralParameters() {
+        Map<SweepParameter, double[]> ranges = new EnumMap<>(SweepParameter.class);
+        ranges.put(SweepParameter.SUPPLY_ARCHIVE_TIME, new double[]{2, 20});
+
+        for (SweepPoint point : ParameterSweep.latinHypercube(ranges, 10, 1)) {
+            double value = point.values().get(SweepParameter.SUPPLY_ARCHIVE_TIME);
+            assertEquals(Math.rint(value), value);
+        }
+    }
+
+    @Test
+    public void testPointAppliesValues() {
+        Map<SweepParameter, Double> values = new EnumMap<>(SweepParameter.class);
+        values.put(SweepParameter.POPULATION_SEGMENT_SIZE, 250.0);
+        values.put(SweepParameter.COUNTRY_PROFIT_MARGIN, 0.25);
+        SimulationParameters base = new SimulationParameters(100, 0, 10, 1000, 1, false, 1);
+
+        SimulationParameters parameters = new SweepPoint(0, values).applyTo(base);
+
+        assertEquals(250, parameters.populationSegmentSize());
+        assertEquals(0.25, parameters.economy().countryProfitMargin());
+        assertEquals(EconomyParameters.DEFAULT.countryIndividualTax(), parameters.economy().countryIndividualTax());
+        assertEquals(base.supplyArchiveTime(), parameters.supplyArchiveTime());
+    }
+
+    @Test
+    public void testEachEconomyParameterSetsItsOwnValue() {
+        SimulationParameters parameters = new SimulationParameters(100, 0, 10, 1000, 1, false, 1);
+        for (SweepParameter parameter : SweepParameter.values()) {
+            if (!parameter.isIntegral()) {
+                SimulationParameters applied = parameter.apply(parameters, 0.5);
+                assertNotEquals(parameters.economy(), applied.economy(), parameter.getKey());
+                parameters = applied;
+            }
+        }
+
+        assertEquals(new EconomyParameters(0.5, 0.5, 0.5, 0.5, 0.5, 0.5, 0.5, 0.5, 0.5, 0.5), parameters.economy());
+    }
+
+    @Test
+    public void testInvalidValueThrowsException() {
+        SimulationParameters base = new SimulationParameters(100, 0, 10, 1000, 1, false, 1);
+        assertThrows(IllegalArgumentException.class, () -> SweepParameter.COUNTRY_INDIVIDUAL_TAX.apply(base, 1.5));
+        assertThrows(IllegalArgumentException.class, () -> SweepParameter.fromKey("unknown"));
+    }
+}
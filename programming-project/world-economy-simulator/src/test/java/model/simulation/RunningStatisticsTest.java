@@ -0,0 +1,27 @@
+package model.simulation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RunningStatisticsTest {
+    @Test
+    public void testMeanAndVariance() {
+        RunningStatistics statistics = new RunningStatistics();
+        for (double value : new double[]{2, 4, 4, 4, 5, 5, 7, 9}) {
+            statistics.add(value);
+        }
+
+        assertEquals(8, statistics.getCount());
+        assertEquals(5.0, statistics.getMean(), 1e-12);
+        assertEquals(32.0 / 7, statistics.getVariance(), 1e-12);
+    }
+
+    @Test
+    public void testSingleValueHasNoVariance() {
+        RunningStatistics statistics = new RunningStatistics();
+        statistics.add(3.0);
+        assertEquals(3.0, statistics.getMean());
+        assertEquals(0.0, statistics.getVariance());
+    }
+}
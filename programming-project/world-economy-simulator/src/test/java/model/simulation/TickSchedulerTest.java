@@ -0,0 +1,64 @@
+package model.simulation;
+
+import model.core.ResourceRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickSchedulerTest {
+    private SimulationContext context;
+
+    @BeforeEach
+    public void setUp() {
+        context = new SimulationContext(new SimulationParameters(100, 0, 10, 1000, 1, false, 1),
+                new ResourceRegistry(List.of()));
+    }
+
+    @Test
+    public void testFixedRateAbsorbsComputeTime() throws InterruptedException {
+        context.setSimulationDelay(20);
+        long[] now = {0};
+        TickScheduler scheduler = new TickScheduler(context, TickScheduler.DEFAULT_UI_REFRESH_INTERVAL,
+                () -> now[0], nanos -> now[0] += nanos);
+
+        for (int tick = 0; tick < 10; tick++) {
+            // Simulates the time spent computing a day
+            now[0] += TimeUnit.MILLISECONDS.toNanos(10);
+            scheduler.awaitNextTick();
+        }
+
+        // Sleeping the delay after every day would take 300 ms
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(210), now[0]);
+    }
+
+    @Test
+    public void testMaxThroughputDoesNotWait() throws InterruptedException {
+        context.setSimulationDelay(1000);
+        context.setTickMode(TickMode.MAX_THROUGHPUT);
+        long[] now = {0};
+        TickScheduler scheduler = new TickScheduler(context, TickScheduler.DEFAULT_UI_REFRESH_INTERVAL,
+                () -> now[0], nanos -> now[0] += nanos);
+
+        for (int tick = 0; tick < 100; tick++) {
+            scheduler.awaitNextTick();
+        }
+        assertEquals(0, now[0]);
+        assertTrue(scheduler.shouldNotifyListener(false));
+        assertTrue(scheduler.shouldNotifyListener(false));
+    }
+
+    @Test
+    public void testUiRateThrottlesNotifications() {
+        context.setTickMode(TickMode.UI_RATE);
+        TickScheduler scheduler = new TickScheduler(context, 60_000);
+
+        assertTrue(scheduler.shouldNotifyListener(false));
+        assertFalse(scheduler.shouldNotifyListener(false));
+        assertFalse(scheduler.shouldNotifyListener(false));
+        assertTrue(scheduler.shouldNotifyListener(true));
+    }
+}